@@ -0,0 +1,96 @@
+package tech.yump.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.yump.core.BoardSnapshot;
+import tech.yump.core.GameCell;
+import tech.yump.core.GameMap;
+import tech.yump.model.CellState;
+import tech.yump.model.GridType;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board construction, forking from a snapshot, and random cell lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameMapBenchmark {
+
+    private static final int LOOKUPS = 1024; // power of two, used as a mask below
+
+    @Param({"4", "16", "64", "256", "1024"})
+    private int size;
+
+    private GameMap map;
+    private GameMap scratch;
+    private BoardSnapshot snapshot;
+    private final int[] xs = new int[LOOKUPS];
+    private final int[] ys = new int[LOOKUPS];
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        map = new GameMap(size, GridType.OCTAGONAL, 42L);
+        scratch = new GameMap(size, GridType.OCTAGONAL, 42L);
+        snapshot = map.snapshot();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < LOOKUPS; i++) {
+            xs[i] = random.nextInt(-size, size + 1);
+            ys[i] = random.nextInt(-size, size + 1);
+        }
+    }
+
+    @Benchmark
+    public GameMap construct() {
+        return new GameMap(size, GridType.OCTAGONAL, 42L);
+    }
+
+    @Benchmark
+    public GameMap fork() {
+        return new GameMap(snapshot);
+    }
+
+    @Benchmark
+    public GameMap restore() {
+        scratch.restoreFrom(snapshot);
+        return scratch;
+    }
+
+    @Benchmark
+    public GameCell getCell() {
+        int i = cursor++ & (LOOKUPS - 1);
+        return map.getCell(xs[i], ys[i]);
+    }
+
+    /**
+     * Counts the PLAYER_1 neighbors of one cell, the inner step of evaluations and flood-fills.
+     */
+    @Benchmark
+    public int ownedNeighbors() {
+        int i = cursor++ & (LOOKUPS - 1);
+        int index = map.indexOf(xs[i], ys[i]);
+        int count = 0;
+        for (int mask = map.getNeighborMask(index); mask != 0; mask &= mask - 1) {
+            int neighbor = map.getTopology().getNeighborIndex(index, Integer.numberOfTrailingZeros(mask));
+            if (map.getState(neighbor) == CellState.PLAYER_1) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,59 @@
+package tech.yump.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.GameConfig;
+import tech.yump.model.CellState;
+import tech.yump.model.GridType;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game-over check on a running game, for both win conditions. The turn limit is
+ * never reached, so every call evaluates the condition instead of returning the
+ * cached result.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IsGameOverBenchmark {
+
+    @Param({"4", "16", "64", "256", "1024"})
+    private int size;
+
+    @Param({"ELIMINATION", "TURN_LIMIT_MAJORITY"})
+    private WinCondition winCondition;
+
+    private OctaGameLogic logic;
+
+    @Setup
+    public void setUp() {
+        GameMap map = new GameMap(size, GridType.OCTAGONAL, 42L);
+        logic = new OctaGameLogic(map, Player.PLAYER_1, new GameConfig(winCondition, Integer.MAX_VALUE), true);
+        map.setState(map.indexOf(-size, -size), CellState.PLAYER_1);
+        map.setState(map.indexOf(size, size), CellState.PLAYER_2);
+        // One move so the elimination check is past its "no turns yet" guard
+        logic.makeMove(map.indexOf(-size, -size), Player.PLAYER_1);
+    }
+
+    @Benchmark
+    public boolean isGameOver() {
+        return logic.isGameOver();
+    }
+}
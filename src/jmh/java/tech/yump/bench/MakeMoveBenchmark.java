@@ -0,0 +1,87 @@
+package tech.yump.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.model.CellState;
+import tech.yump.model.Direction;
+import tech.yump.model.GridType;
+import tech.yump.model.Player;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single move with a chain of known length. The chain runs east along row 0 from
+ * the west edge: SHORT captures one cell that points straight back, LONG captures the
+ * whole row and ends on a PLAYER_2 cell at the east edge (where stopOnEnemy applies).
+ * <p>
+ * Each invocation first resets the cells the previous move changed, so the measured
+ * time includes O(chain length) of resetting on top of the move itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MakeMoveBenchmark {
+
+    public enum Chain { SHORT, LONG }
+
+    @Param({"4", "16", "64", "256", "1024"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean stopOnEnemy;
+
+    @Param({"SHORT", "LONG"})
+    private Chain chain;
+
+    private GameMap map;
+    private OctaGameLogic logic;
+    private int origin;
+
+    @Setup
+    public void setUp() {
+        map = new GameMap(size, GridType.OCTAGONAL, 42L);
+        logic = new OctaGameLogic(map, Player.PLAYER_1, stopOnEnemy);
+        origin = map.indexOf(-size, 0);
+        map.setState(origin, CellState.PLAYER_1);
+        map.setState(map.indexOf(size, 0), CellState.PLAYER_2);
+        resetChain();
+    }
+
+    @Benchmark
+    public int makeMove() {
+        resetChain();
+        logic.makeMove(origin, Player.PLAYER_1);
+        return logic.getTurnCount();
+    }
+
+    private void resetChain() {
+        map.setArrowDirection(origin, Direction.NORTHEAST); // Rotates to EAST
+        if (chain == Chain.SHORT) {
+            int first = origin + 1;
+            map.setState(first, CellState.NEUTRAL);
+            map.setArrowDirection(first, Direction.SOUTHWEST); // Rotates to WEST, back to the origin
+            return;
+        }
+        int last = map.indexOf(size, 0);
+        for (int i = origin + 1; i < last; i++) {
+            map.setState(i, CellState.NEUTRAL);
+            map.setArrowDirection(i, Direction.NORTHEAST); // Rotates to EAST
+        }
+        map.setState(last, CellState.PLAYER_2);
+        map.setArrowDirection(last, Direction.NORTHEAST); // Rotates to EAST, off the board
+    }
+}
@@ -0,0 +1,65 @@
+package tech.yump.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.yump.core.GameMap;
+import tech.yump.model.CellState;
+import tech.yump.model.GridType;
+import tech.yump.view.BoardRenderer;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of {@link BoardRenderer} after a typical small move (three changed cells),
+ * written to a discarding stream. With ANSI, on a terminal tall enough for every size,
+ * the frame is a diff and should cost about the same at every size; without it the whole
+ * board is redrawn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"10", "50", "200"})
+    private int size;
+
+    @Param({"true", "false"})
+    private boolean ansi;
+
+    private GameMap map;
+    private BoardRenderer renderer;
+    private int[] changed;
+    private int turn;
+
+    @Setup
+    public void setUp() {
+        map = new GameMap(size, GridType.OCTAGONAL, 42L);
+        renderer = new BoardRenderer(new PrintStream(OutputStream.nullOutputStream()), ansi, Integer.MAX_VALUE);
+        changed = new int[] {map.indexOf(0, 0), map.indexOf(1, 0), map.indexOf(1, 1)};
+        renderer.render(map);
+    }
+
+    @Benchmark
+    public GameMap renderFrame() {
+        CellState state = (turn++ & 1) == 0 ? CellState.PLAYER_1 : CellState.PLAYER_2;
+        for (int index : changed) {
+            map.setState(index, state);
+        }
+        renderer.render(map);
+        return map;
+    }
+}
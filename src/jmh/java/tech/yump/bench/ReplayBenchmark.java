@@ -0,0 +1,95 @@
+package tech.yump.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.yump.core.GameJournal;
+import tech.yump.core.GameMap;
+import tech.yump.core.GameReplay;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.model.CellState;
+import tech.yump.model.GridType;
+import tech.yump.model.Player;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a recorded random game of {@link #MOVES} moves one turn at a time from its
+ * first keyframe, with no rendering. Stepping onto a keyframe loads it instead of
+ * replaying the move, so the keyframe interval shows up in the score. Scores are per
+ * replayed turn, so throughput reads as millions of moves per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+
+    static final int MOVES = 100_000;
+
+    @Param({"16", "64"})
+    private int size;
+
+    @Param({"256", "4096"})
+    private int keyframeInterval;
+
+    private Path file;
+    private GameReplay replay;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        GameMap map = new GameMap(size, GridType.OCTAGONAL, 42L);
+        // stopOnEnemy keeps both players alive long enough to reach MOVES
+        OctaGameLogic game = new OctaGameLogic(map, Player.PLAYER_1, true);
+        map.setState(map.indexOf(-size, -size), CellState.PLAYER_1);
+        map.setState(map.indexOf(size, size), CellState.PLAYER_2);
+        file = Files.createTempFile("octa-replay", ".octj");
+        SplittableRandom random = new SplittableRandom(42);
+        try (GameJournal journal = new GameJournal(file, game, keyframeInterval)) {
+            for (int i = 0; i < MOVES; i++) {
+                Player player = game.getCurrentPlayer();
+                int move = game.getLegalMoves(player).sample(random);
+                if (move == GameMap.NO_CELL) {
+                    throw new IllegalStateException(player + " ran out of moves after " + i + " moves");
+                }
+                game.makeMove(move, player);
+                game.switchPlayer();
+                journal.recordMove(move, player);
+            }
+        }
+        replay = new GameReplay(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        replay.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public long replayGame() {
+        long hash = replay.seek(0).getGameMap().getHash();
+        for (int turn = 1; turn <= MOVES; turn++) {
+            hash ^= replay.seek(turn).getGameMap().getHash();
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,104 @@
+package tech.yump.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.GameConfig;
+import tech.yump.engine.GameEngine;
+import tech.yump.engine.MoveProvider;
+import tech.yump.model.CellState;
+import tech.yump.model.GridType;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+import tech.yump.sim.RandomMoveProvider;
+import tech.yump.util.Coordinate;
+import tech.yump.view.NullView;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A complete game of {@link #TURNS} turns driven through {@link GameEngine} by two
+ * random bots, including board construction. All output goes to a {@link NullView}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScriptedGameBenchmark {
+
+    private static final int TURNS = 100;
+
+    @Param({"4", "16", "64", "256", "1024"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean stopOnEnemy;
+
+    private long seed;
+
+    @Benchmark
+    public int playGame() {
+        GameMap map = new GameMap(size, GridType.OCTAGONAL, 42L);
+        map.setState(map.indexOf(1, 1), CellState.PLAYER_1);
+        map.setState(map.indexOf(-1, -1), CellState.PLAYER_2);
+        GameConfig config = new GameConfig(WinCondition.TURN_LIMIT_MAJORITY, TURNS);
+        OctaGameLogic logic = new StrandedPlayerLogic(map, config, stopOnEnemy);
+
+        GameEngine engine = new GameEngine();
+        engine.startGame(map, logic, NullView.INSTANCE, randomBots(map, logic, seed++));
+        engine.run();
+        return logic.getTurnCount();
+    }
+
+    /**
+     * Returns one provider for both sides, as {@link GameEngine} takes, that lets the
+     * {@link RandomMoveProvider} of the player to move choose.
+     */
+    static MoveProvider randomBots(GameMap map, OctaGameLogic logic, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        MoveProvider[] bots = {new RandomMoveProvider(map, Player.PLAYER_1, random),
+                new RandomMoveProvider(map, Player.PLAYER_2, random)};
+        return new MoveProvider() {
+            @Override
+            public Coordinate getNextMove() {
+                return bots[logic.getCurrentPlayer().ordinal()].getNextMove();
+            }
+
+            @Override
+            public long getNextPackedMove() {
+                return bots[logic.getCurrentPlayer().ordinal()].getNextPackedMove();
+            }
+        };
+    }
+
+    /**
+     * Also ends the game when the player to move owns no cells. Without captures
+     * protected by stopOnEnemy a bot can be wiped out before the turn limit, and the
+     * engine has no notion of passing, so it would otherwise wait forever.
+     */
+    static final class StrandedPlayerLogic extends OctaGameLogic {
+        private final GameMap map;
+
+        StrandedPlayerLogic(GameMap map, GameConfig config, boolean stopOnEnemy) {
+            super(map, Player.PLAYER_1, config, stopOnEnemy);
+            this.map = map;
+        }
+
+        @Override
+        public boolean isGameOver() {
+            return super.isGameOver() || map.getStateCount(getCurrentPlayer().getCellState()) == 0;
+        }
+    }
+}
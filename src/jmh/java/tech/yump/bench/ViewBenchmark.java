@@ -0,0 +1,86 @@
+package tech.yump.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.GameConfig;
+import tech.yump.engine.GameEngine;
+import tech.yump.model.CellState;
+import tech.yump.model.GridType;
+import tech.yump.model.WinCondition;
+import tech.yump.view.AsyncView;
+import tech.yump.view.CLIView;
+import tech.yump.view.GameView;
+import tech.yump.view.NullView;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same scripted game as {@link ScriptedGameBenchmark}, measuring what the view costs
+ * the game thread: a {@link NullView}, a {@link CLIView} printing every board and message
+ * to a discarded System.out, or an {@link AsyncView} in front of that console view.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ViewBenchmark {
+
+    private static final int TURNS = 100;
+
+    @Param({"8", "32"})
+    private int size;
+
+    @Param({"null", "console", "async"})
+    private String view;
+
+    private GameView gameView;
+    private PrintStream originalOut;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        gameView = switch (view) {
+            case "console" -> new CLIView();
+            case "async" -> new AsyncView(new CLIView());
+            default -> NullView.INSTANCE;
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        gameView.close();
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public int playGame() {
+        GameMap map = new GameMap(size, GridType.OCTAGONAL, 42L);
+        map.setState(map.indexOf(1, 1), CellState.PLAYER_1);
+        map.setState(map.indexOf(-1, -1), CellState.PLAYER_2);
+        GameConfig config = new GameConfig(WinCondition.TURN_LIMIT_MAJORITY, TURNS);
+        OctaGameLogic logic = new ScriptedGameBenchmark.StrandedPlayerLogic(map, config, true);
+
+        GameEngine engine = new GameEngine();
+        engine.startGame(map, logic, gameView, ScriptedGameBenchmark.randomBots(map, logic, seed++));
+        engine.run();
+        return logic.getTurnCount();
+    }
+}
@@ -5,14 +5,35 @@ import tech.yump.engine.MoveProvider;
 import tech.yump.core.GameMap;
 import tech.yump.core.OctaGameLogic;
 import tech.yump.core.GameLogic;
+import tech.yump.model.GridType;
 import tech.yump.model.Player;
 import tech.yump.model.CellState;
 import tech.yump.model.WinCondition;
 import tech.yump.engine.GameConfig;
+import tech.yump.server.GameServer;
+import tech.yump.server.NioGameServer;
 import tech.yump.view.CLIView;
 
+import java.io.IOException;
+
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        // "--server [port]" hosts games for network clients instead of playing on the console
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 7070;
+            GameServer server = GameServer.start(port);
+            System.out.println("Octa game server listening on 127.0.0.1:" + server.getPort());
+            Thread.currentThread().join(); // Serve until the process is stopped
+            return;
+        }
+        // "--nio-server [port]" does the same over the binary protocol on a single reactor thread
+        if (args.length > 0 && args[0].equals("--nio-server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 7071;
+            NioGameServer server = NioGameServer.start(port);
+            System.out.println("Octa binary game server listening on 127.0.0.1:" + server.getPort());
+            Thread.currentThread().join();
+            return;
+        }
         Main main = new Main();
         main.startGame();
     }
@@ -26,7 +47,8 @@ public class Main {
         GameConfig config = new GameConfig(WinCondition.ELIMINATION, 50); // 50 turns is irrelevant for elimination
 
         // Create game components
-        GameMap map = new GameMap(mapSize);
+        GameMap map = new GameMap(mapSize, GridType.OCTAGONAL, config.getSeed());
+        System.out.println("Board seed: " + config.getSeed());
         GameLogic logic = new OctaGameLogic(map, Player.PLAYER_1, config); // Pass config to the logic
         CLIView view = new CLIView(); // Create the view
         
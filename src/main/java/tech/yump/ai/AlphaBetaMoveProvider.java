@@ -0,0 +1,350 @@
+package tech.yump.ai;
+
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.core.OwnedCells;
+import tech.yump.core.Zobrist;
+import tech.yump.engine.GameResult;
+import tech.yump.engine.MoveProvider;
+import tech.yump.model.CellState;
+import tech.yump.model.Player;
+import tech.yump.util.Coordinate;
+
+/**
+ * Deterministic alpha-beta (negamax) player for {@link OctaGameLogic}.
+ * <p>
+ * Searches with iterative deepening up to a depth limit and/or a time limit per move.
+ * Moves are ordered by the transposition-table move, then two killer moves per ply,
+ * then the history heuristic. Positions are cached in a {@link TranspositionTable}
+ * keyed by the board's {@link Zobrist} hash and the side to move. The static
+ * evaluation is the difference in owned cells; won and lost games score
+ * {@link #WIN_SCORE} minus the distance to the end, so quicker wins are preferred.
+ * The tree is walked on a single working copy of the position, with
+ * {@link OctaGameLogic#unmakeMove()} taking each move back.
+ * <p>
+ * The turn count is not part of the hash, so under {@code TURN_LIMIT_MAJORITY} a cached
+ * score may come from the same position at a different distance to the turn limit.
+ */
+public class AlphaBetaMoveProvider implements MoveProvider {
+
+    public static final int WIN_SCORE = 4_000_000;
+    private static final int MAX_EVAL = 3_000_000;
+    private static final int INFINITY = WIN_SCORE + 1;
+    private static final int MAX_PLY = 128;
+    private static final int TT_MOVE_SCORE = Integer.MAX_VALUE;
+    private static final int KILLER_SCORE = Integer.MAX_VALUE - 2;
+    private static final long TIME_CHECK_MASK = 1023;
+
+    private final OctaGameLogic game;
+    private final int maxDepth;
+    private final long millisPerMove;
+    private final TranspositionTable table;
+
+    // Search state, reused between moves
+    // Working copy of the root position; moves are made and taken back on it in place
+    private OctaGameLogic board;
+    private final int[][] moves = new int[MAX_PLY][];
+    private final int[][] moveScores = new int[MAX_PLY][];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private int[][] history;
+    private long deadline;
+    private boolean aborted;
+    private int rootBestMove;
+
+    // Statistics of the last search
+    private long lastNodes;
+    private long lastNanos;
+    private int lastDepth;
+    private int lastScore;
+
+    /**
+     * Creates a searcher with a 2^18-bucket (8 MB) transposition table.
+     * @param game The game to play in.
+     * @param maxDepth Maximum search depth in plies (at most 127).
+     * @param millisPerMove Wall-clock time per move, or 0 to always finish {@code maxDepth}.
+     */
+    public AlphaBetaMoveProvider(OctaGameLogic game, int maxDepth, long millisPerMove) {
+        this(game, maxDepth, millisPerMove, new TranspositionTable(18));
+    }
+
+    public AlphaBetaMoveProvider(OctaGameLogic game, int maxDepth, long millisPerMove, TranspositionTable table) {
+        if (maxDepth < 1 || maxDepth >= MAX_PLY) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + (MAX_PLY - 1));
+        }
+        this.game = game;
+        this.maxDepth = maxDepth;
+        this.millisPerMove = millisPerMove;
+        this.table = table;
+    }
+
+    @Override
+    public Coordinate getNextMove() {
+        long move = getNextPackedMove();
+        return move == NO_MOVE ? null : Coordinate.unpack(move);
+    }
+
+    @Override
+    public long getNextPackedMove() {
+        int move = search(game);
+        if (move == GameMap.NO_CELL) {
+            return NO_MOVE;
+        }
+        return game.getGameMap().getPackedCoordinate(move);
+    }
+
+    /**
+     * Searches the given position for the player to move.
+     * @return the index of the best cell to play, or {@link GameMap#NO_CELL} if there is no move
+     */
+    public int search(OctaGameLogic position) {
+        long start = System.nanoTime();
+        prepare(position);
+        deadline = millisPerMove > 0 ? start + millisPerMove * 1_000_000L : Long.MAX_VALUE;
+        aborted = false;
+        lastNodes = 0;
+        lastDepth = 0;
+
+        int bestMove = GameMap.NO_CELL;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            rootBestMove = GameMap.NO_CELL;
+            int score = negamax(0, depth, -INFINITY, INFINITY);
+            if (aborted) {
+                break; // Keep the result of the last completed iteration
+            }
+            bestMove = rootBestMove;
+            lastDepth = depth;
+            lastScore = score;
+            if (Math.abs(score) >= WIN_SCORE - MAX_PLY) {
+                break; // Forced result found; deeper search cannot change it
+            }
+        }
+        if (bestMove == GameMap.NO_CELL && !position.isGameOver()) {
+            // Not even depth 1 finished in time: fall back to any owned cell
+            bestMove = firstOwnedCell(position);
+        }
+        lastNanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    private void prepare(OctaGameLogic position) {
+        int cells = position.getGameMap().getTotalCellCount();
+        if (board == null || board.getGameMap().getTotalCellCount() != cells
+                || board.getGameMap().getGridType() != position.getGameMap().getGridType()) {
+            board = position.copy();
+            board.setUndoEnabled(true);
+            history = new int[2][cells];
+        } else {
+            board.copyFrom(position);
+        }
+        for (int[] killer : killers) {
+            killer[0] = GameMap.NO_CELL;
+            killer[1] = GameMap.NO_CELL;
+        }
+        // Age the history so older searches weigh less
+        for (int[] table : history) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] >>= 1;
+            }
+        }
+        table.newSearch();
+    }
+
+    private int negamax(int ply, int depth, int alpha, int beta) {
+        if ((++lastNodes & TIME_CHECK_MASK) == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        OctaGameLogic position = board;
+        if (position.isGameOver()) {
+            return terminalScore(position, ply);
+        }
+        if (depth == 0) {
+            return evaluate(position);
+        }
+
+        Player player = position.getCurrentPlayer();
+        long key = position.getPositionHash();
+        int alphaOriginal = alpha;
+
+        // Transposition table: cutoff or at least a move to try first
+        int ttMove = GameMap.NO_CELL;
+        long entry = table.probe(key);
+        if (entry != 0) {
+            ttMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth && ply > 0) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                        || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int count = generateMoves(ply, position, player, ttMove);
+        if (count == 0) {
+            return evaluate(position); // The player to move is stranded
+        }
+
+        int bestScore = -INFINITY;
+        int bestMove = GameMap.NO_CELL;
+        for (int i = 0; i < count; i++) {
+            int move = pickNext(ply, i, count);
+            position.makeMove(move, player);
+            position.switchPlayer();
+            int score = -negamax(ply + 1, depth - 1, -beta, -alpha);
+            position.unmakeMove();
+            if (aborted) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        recordCutoff(ply, depth, player, move, ttMove);
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = bestScore <= alphaOriginal ? TranspositionTable.UPPER_BOUND
+                : bestScore >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        table.store(key, bestMove, toTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    /**
+     * Fills {@code moves[ply]} with the owned cells of {@code player} and scores them for ordering.
+     */
+    private int generateMoves(int ply, OctaGameLogic position, Player player, int ttMove) {
+        int owned = position.getLegalMoves(player).size();
+        if (moves[ply] == null || moves[ply].length < owned) {
+            moves[ply] = new int[Math.max(owned, 16)];
+            moveScores[ply] = new int[moves[ply].length];
+        }
+        int[] plyMoves = moves[ply];
+        int[] scores = moveScores[ply];
+        int[] playerHistory = history[player.ordinal()];
+        int count = position.collectValidMoves(player, plyMoves);
+        for (int i = 0; i < count; i++) {
+            int move = plyMoves[i];
+            if (move == ttMove) {
+                scores[i] = TT_MOVE_SCORE;
+            } else if (move == killers[ply][0] || move == killers[ply][1]) {
+                scores[i] = KILLER_SCORE;
+            } else {
+                scores[i] = playerHistory[move];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Selection-sort step: moves the best-scored remaining move to position {@code i}.
+     * Cheaper than a full sort because most nodes cut off after a few moves.
+     */
+    private int pickNext(int ply, int i, int count) {
+        int[] plyMoves = moves[ply];
+        int[] scores = moveScores[ply];
+        int best = i;
+        for (int j = i + 1; j < count; j++) {
+            if (scores[j] > scores[best]) {
+                best = j;
+            }
+        }
+        int move = plyMoves[best];
+        plyMoves[best] = plyMoves[i];
+        plyMoves[i] = move;
+        int score = scores[best];
+        scores[best] = scores[i];
+        scores[i] = score;
+        return move;
+    }
+
+    private void recordCutoff(int ply, int depth, Player player, int move, int ttMove) {
+        if (move == ttMove) {
+            return;
+        }
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int[] playerHistory = history[player.ordinal()];
+        playerHistory[move] = Math.min(playerHistory[move] + depth * depth, KILLER_SCORE - 1);
+    }
+
+    /**
+     * Scores a finished game for the player to move in {@code position}.
+     */
+    private static int terminalScore(OctaGameLogic position, int ply) {
+        GameResult result = position.getGameResult();
+        if (result.getWinner() == null) {
+            return 0;
+        }
+        return result.getWinner() == position.getCurrentPlayer() ? WIN_SCORE - ply : -WIN_SCORE + ply;
+    }
+
+    /**
+     * Static evaluation: owned cells of the player to move minus the opponent's.
+     */
+    private static int evaluate(OctaGameLogic position) {
+        GameMap map = position.getGameMap();
+        int player1 = map.getStateCount(CellState.PLAYER_1);
+        int player2 = map.getStateCount(CellState.PLAYER_2);
+        int score = position.getCurrentPlayer() == Player.PLAYER_1 ? player1 - player2 : player2 - player1;
+        return Math.max(-MAX_EVAL, Math.min(MAX_EVAL, score));
+    }
+
+    // Win scores depend on the distance from the root; the table stores them relative to the node
+    private static int toTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_PLY) return score + ply;
+        if (score <= -WIN_SCORE + MAX_PLY) return score - ply;
+        return score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score >= WIN_SCORE - MAX_PLY) return score - ply;
+        if (score <= -WIN_SCORE + MAX_PLY) return score + ply;
+        return score;
+    }
+
+    private static int firstOwnedCell(OctaGameLogic position) {
+        OwnedCells moves = position.getLegalMoves(position.getCurrentPlayer());
+        return moves.isEmpty() ? GameMap.NO_CELL : moves.get(0);
+    }
+
+    /** Nodes visited by the last search. */
+    public long getLastNodes() {
+        return lastNodes;
+    }
+
+    /** Wall-clock duration of the last search in nanoseconds. */
+    public long getLastNanos() {
+        return lastNanos;
+    }
+
+    /** Search throughput of the last search in nodes per second. */
+    public double getLastNodesPerSecond() {
+        return lastNanos == 0 ? 0.0 : lastNodes * 1e9 / lastNanos;
+    }
+
+    /** Deepest fully completed iteration of the last search. */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /** Score of the last completed iteration, from the point of view of the player to move. */
+    public int getLastScore() {
+        return lastScore;
+    }
+}
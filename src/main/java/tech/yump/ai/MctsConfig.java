@@ -0,0 +1,86 @@
+package tech.yump.ai;
+
+/**
+ * Search settings for {@link MctsMoveProvider}.
+ */
+public class MctsConfig {
+    private final long iterationsPerMove;
+    private final long millisPerMove;
+    private final int rootTrees;
+    private final int threadsPerTree;
+    private final double exploration;
+    private final int playoutDepth;
+    private final boolean reuseTree;
+    private final long seed;
+
+    /**
+     * Creates a configuration with the given budget that searches one shared tree with
+     * every available core, reusing the tree between turns.
+     * @param iterationsPerMove Playouts per move, or 0 for no iteration limit.
+     * @param millisPerMove Wall-clock time per move, or 0 for no time limit.
+     */
+    public MctsConfig(long iterationsPerMove, long millisPerMove) {
+        this(iterationsPerMove, millisPerMove, 1, Runtime.getRuntime().availableProcessors(),
+             Math.sqrt(2), 60, true, System.nanoTime());
+    }
+
+    /**
+     * @param iterationsPerMove Playouts per move (summed over all trees), or 0 for no iteration limit.
+     * @param millisPerMove Wall-clock time per move, or 0 for no time limit.
+     * @param rootTrees Number of independent trees (root parallelism); their root statistics are merged.
+     * @param threadsPerTree Threads searching each tree concurrently (tree parallelism with virtual loss).
+     * @param exploration UCT exploration constant.
+     * @param playoutDepth Maximum number of random moves per playout before the position is scored.
+     * @param reuseTree Whether to keep the matching subtree between turns.
+     * @param seed Seed for the random playouts.
+     */
+    public MctsConfig(long iterationsPerMove, long millisPerMove, int rootTrees, int threadsPerTree,
+                      double exploration, int playoutDepth, boolean reuseTree, long seed) {
+        if (iterationsPerMove <= 0 && millisPerMove <= 0) {
+            throw new IllegalArgumentException("An iteration or time budget is required");
+        }
+        if (rootTrees < 1 || threadsPerTree < 1) {
+            throw new IllegalArgumentException("At least one tree and one thread per tree are required");
+        }
+        this.iterationsPerMove = iterationsPerMove;
+        this.millisPerMove = millisPerMove;
+        this.rootTrees = rootTrees;
+        this.threadsPerTree = threadsPerTree;
+        this.exploration = exploration;
+        this.playoutDepth = playoutDepth;
+        this.reuseTree = reuseTree;
+        this.seed = seed;
+    }
+
+    public long getIterationsPerMove() {
+        return iterationsPerMove;
+    }
+
+    public long getMillisPerMove() {
+        return millisPerMove;
+    }
+
+    public int getRootTrees() {
+        return rootTrees;
+    }
+
+    public int getThreadsPerTree() {
+        return threadsPerTree;
+    }
+
+    public double getExploration() {
+        return exploration;
+    }
+
+    public int getPlayoutDepth() {
+        return playoutDepth;
+    }
+
+    public boolean isReuseTree() {
+        return reuseTree;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
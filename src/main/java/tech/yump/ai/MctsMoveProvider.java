@@ -0,0 +1,298 @@
+package tech.yump.ai;
+
+import tech.yump.core.GameMap;
+import tech.yump.core.GameSnapshot;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.GameResult;
+import tech.yump.engine.MoveProvider;
+import tech.yump.model.CellState;
+import tech.yump.model.Player;
+import tech.yump.util.Coordinate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Monte Carlo Tree Search player for {@link OctaGameLogic}.
+ * <p>
+ * Plays for whichever player is to move in the watched game. Each move runs
+ * {@link MctsConfig#getRootTrees()} independent trees (root parallelism), each searched
+ * by {@link MctsConfig#getThreadsPerTree()} threads sharing the tree with virtual loss
+ * (tree parallelism). The move with the most visits summed over all trees is played.
+ * <p>
+ * Every worker copies the position once per move and then re-copies it into the same
+ * storage at the start of each iteration, so playouts do not allocate per step. With
+ * tree reuse enabled the subtree below the moves actually played is kept for the next turn.
+ * <p>
+ * The provider owns a thread pool; {@link #close()} it when the game is over.
+ */
+public class MctsMoveProvider implements MoveProvider, AutoCloseable {
+
+    private final OctaGameLogic game;
+    private final MctsConfig config;
+    private final ExecutorService workers;
+    private final AtomicLong seedSequence;
+
+    // Tree reuse: one root per tree, all belonging to rootPosition
+    private final MctsNode[] roots;
+    private OctaGameLogic rootPosition;
+
+    private long lastIterations;
+    private long lastSearchNanos;
+    private int lastReusedVisits;
+
+    public MctsMoveProvider(OctaGameLogic game, MctsConfig config) {
+        this.game = game;
+        this.config = config;
+        this.roots = new MctsNode[config.getRootTrees()];
+        this.seedSequence = new AtomicLong(config.getSeed());
+        this.workers = Executors.newFixedThreadPool(config.getRootTrees() * config.getThreadsPerTree(), runnable -> {
+            Thread thread = new Thread(runnable, "mcts-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Coordinate getNextMove() {
+        long move = getNextPackedMove();
+        return move == NO_MOVE ? null : Coordinate.unpack(move);
+    }
+
+    @Override
+    public long getNextPackedMove() {
+        Player toMove = game.getCurrentPlayer();
+        if (game.isGameOver() || game.getGameMap().getStateCount(toMove.getCellState()) == 0) {
+            return NO_MOVE; // Nothing to play
+        }
+
+        OctaGameLogic position = game.copy();
+        prepareRoots(position);
+
+        long start = System.nanoTime();
+        lastIterations = search(position, start);
+        lastSearchNanos = System.nanoTime() - start;
+
+        int best = bestMove();
+        if (config.isReuseTree()) {
+            advanceRoots(position, best);
+        } else {
+            rootPosition = null;
+        }
+        return position.getGameMap().getPackedCoordinate(best);
+    }
+
+    /**
+     * Makes every tree root match {@code position}, keeping the previous subtree when
+     * the position is the last root itself (self-play) or one opponent move below it.
+     */
+    private void prepareRoots(OctaGameLogic position) {
+        boolean unchanged = rootPosition != null && samePosition(rootPosition, position);
+        int opponentMove = rootPosition == null || unchanged ? GameMap.NO_CELL : findPlayedMove(position);
+        lastReusedVisits = 0;
+        for (int t = 0; t < roots.length; t++) {
+            MctsNode reused = null;
+            if (roots[t] != null && unchanged) {
+                reused = roots[t];
+            } else if (roots[t] != null && opponentMove != GameMap.NO_CELL) {
+                reused = roots[t].findChild(opponentMove);
+            }
+            if (reused != null) {
+                reused.parent = null;
+                roots[t] = reused;
+                lastReusedVisits += reused.getVisits();
+            } else {
+                roots[t] = new MctsNode(null, GameMap.NO_CELL, null);
+            }
+        }
+        rootPosition = null;
+    }
+
+    /**
+     * Finds the expanded opponent move that turns {@link #rootPosition} into {@code position}.
+     * @return the move, or {@link GameMap#NO_CELL} if no tree contains it
+     */
+    private int findPlayedMove(OctaGameLogic position) {
+        OctaGameLogic scratch = rootPosition.copy();
+        for (MctsNode root : roots) {
+            if (root == null) {
+                continue;
+            }
+            for (int i = 0; i < root.getChildCount(); i++) {
+                int candidate = root.getChild(i).move;
+                scratch.copyFrom(rootPosition);
+                play(scratch, candidate);
+                if (samePosition(scratch, position)) {
+                    return candidate;
+                }
+            }
+        }
+        return GameMap.NO_CELL;
+    }
+
+    private static boolean samePosition(OctaGameLogic a, OctaGameLogic b) {
+        // The O(1) hash rejects almost every candidate; the full comparison guards against collisions
+        return a.getTurnCount() == b.getTurnCount()
+                && a.getPositionHash() == b.getPositionHash()
+                && a.getGameMap().contentEquals(b.getGameMap());
+    }
+
+    private void advanceRoots(OctaGameLogic position, int best) {
+        for (int t = 0; t < roots.length; t++) {
+            roots[t] = roots[t].findChild(best);
+        }
+        rootPosition = position;
+        play(rootPosition, best);
+    }
+
+    private long search(OctaGameLogic position, long start) {
+        long deadline = config.getMillisPerMove() > 0 ? start + config.getMillisPerMove() * 1_000_000L : Long.MAX_VALUE;
+        AtomicLong budget = config.getIterationsPerMove() > 0 ? new AtomicLong(config.getIterationsPerMove()) : null;
+
+        // Workers fork from an immutable snapshot instead of sharing the live position
+        GameSnapshot snapshot = position.snapshot();
+        List<Future<Long>> tasks = new ArrayList<>();
+        for (MctsNode root : roots) {
+            for (int k = 0; k < config.getThreadsPerTree(); k++) {
+                long seed = seedSequence.getAndIncrement();
+                tasks.add(workers.submit(() -> runWorker(root, snapshot, deadline, budget, seed)));
+            }
+        }
+        long iterations = 0;
+        try {
+            for (Future<Long> task : tasks) {
+                iterations += task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            tasks.forEach(task -> task.cancel(true));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("MCTS worker failed", e.getCause());
+        }
+        return iterations;
+    }
+
+    private long runWorker(MctsNode root, GameSnapshot snapshot, long deadline, AtomicLong budget, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        OctaGameLogic state = new OctaGameLogic(snapshot);
+        double exploration = config.getExploration();
+        long iterations = 0;
+
+        while ((budget == null || budget.getAndDecrement() > 0) && System.nanoTime() < deadline) {
+            state.restoreFrom(snapshot);
+
+            // Selection and expansion
+            MctsNode node = root;
+            node.addVirtualLoss();
+            while (!state.isGameOver()) {
+                MctsNode child = node.expand(state, random);
+                if (child == null) {
+                    child = node.selectChild(exploration);
+                    if (child == null) {
+                        break; // The player to move has no cells
+                    }
+                    child.addVirtualLoss();
+                    play(state, child.move);
+                    node = child;
+                    continue;
+                }
+                child.addVirtualLoss();
+                play(state, child.move);
+                node = child;
+                break;
+            }
+
+            // Simulation
+            double player1Score = playout(state, random);
+
+            // Backpropagation
+            for (MctsNode n = node; n != null; n = n.parent) {
+                double score = n.mover == Player.PLAYER_2 ? 1.0 - player1Score : player1Score;
+                n.update(Math.round(score * MctsNode.REWARD_SCALE));
+            }
+            iterations++;
+        }
+        return iterations;
+    }
+
+    /**
+     * Plays random moves from the current state and scores the outcome for PLAYER_1:
+     * 1 for a win, 0 for a loss, 0.5 for a tie, or the PLAYER_1 share of owned cells
+     * if the playout depth runs out first.
+     */
+    private double playout(OctaGameLogic state, RandomGenerator random) {
+        for (int step = 0; step < config.getPlayoutDepth() && !state.isGameOver(); step++) {
+            int move = state.getLegalMoves(state.getCurrentPlayer()).sample(random);
+            if (move == GameMap.NO_CELL) {
+                break;
+            }
+            play(state, move);
+        }
+
+        GameResult result = state.getGameResult();
+        if (result != null) {
+            return result.getWinner() == Player.PLAYER_1 ? 1.0 : result.getWinner() == Player.PLAYER_2 ? 0.0 : 0.5;
+        }
+        GameMap map = state.getGameMap();
+        int player1 = map.getStateCount(CellState.PLAYER_1);
+        int player2 = map.getStateCount(CellState.PLAYER_2);
+        return player1 + player2 == 0 ? 0.5 : (double) player1 / (player1 + player2);
+    }
+
+    private static void play(OctaGameLogic state, int move) {
+        state.makeMove(move, state.getCurrentPlayer());
+        state.switchPlayer();
+    }
+
+    private int bestMove() {
+        Map<Integer, Integer> visitsByMove = new HashMap<>();
+        for (MctsNode root : roots) {
+            for (int i = 0; i < root.getChildCount(); i++) {
+                MctsNode child = root.getChild(i);
+                visitsByMove.merge(child.move, child.getVisits(), Integer::sum);
+            }
+        }
+        int best = GameMap.NO_CELL;
+        int bestVisits = -1;
+        for (Map.Entry<Integer, Integer> entry : visitsByMove.entrySet()) {
+            if (entry.getValue() > bestVisits) {
+                bestVisits = entry.getValue();
+                best = entry.getKey();
+            }
+        }
+        if (best == GameMap.NO_CELL) {
+            // No iteration finished (tiny budget): play any owned cell
+            best = game.getLegalMoves(game.getCurrentPlayer()).sample(new SplittableRandom(config.getSeed()));
+        }
+        return best;
+    }
+
+    /** Number of playouts run for the last move, over all trees and threads. */
+    public long getLastIterations() {
+        return lastIterations;
+    }
+
+    /** Wall-clock duration of the last search in nanoseconds. */
+    public long getLastSearchNanos() {
+        return lastSearchNanos;
+    }
+
+    /** Visits inherited from the previous turn's tree by the last search, 0 if nothing was reused. */
+    public int getLastReusedVisits() {
+        return lastReusedVisits;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
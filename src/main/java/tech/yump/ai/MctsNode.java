@@ -0,0 +1,134 @@
+package tech.yump.ai;
+
+import tech.yump.core.OctaGameLogic;
+import tech.yump.core.OwnedCells;
+import tech.yump.model.Player;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * A node of the shared search tree. Statistics are updated with atomics so several
+ * threads can descend the same tree; expansion is the only synchronized step.
+ * <p>
+ * Rewards are stored as fixed-point longs ({@link #REWARD_SCALE} per won playout)
+ * from the point of view of {@link #mover}, the player whose move led here.
+ */
+final class MctsNode {
+
+    static final long REWARD_SCALE = 1000;
+    // Visits added while a thread is below this node, so other threads explore elsewhere
+    static final int VIRTUAL_LOSS = 3;
+
+    private static final MctsNode[] NO_CHILDREN = new MctsNode[0];
+
+    MctsNode parent;   // cleared when the node becomes the root of a reused tree
+    final int move;    // board index played to reach this node, NO_CELL for a fresh root
+    final Player mover;
+
+    private final AtomicInteger visits = new AtomicInteger();
+    private final AtomicLong reward = new AtomicLong();
+
+    // Expansion state; untried and untriedCount are guarded by this
+    private int[] untried;
+    private int untriedCount;
+    private MctsNode[] children = NO_CHILDREN;
+    private volatile int childCount;
+
+    MctsNode(MctsNode parent, int move, Player mover) {
+        this.parent = parent;
+        this.move = move;
+        this.mover = mover;
+    }
+
+    /**
+     * Adds one not-yet-tried child, if any are left.
+     * @param state The position of this node; used to list its moves on first expansion.
+     * @return the new child, or null if every move already has a child (or there are none)
+     */
+    synchronized MctsNode expand(OctaGameLogic state, RandomGenerator random) {
+        if (untried == null) {
+            listMoves(state);
+        }
+        if (untriedCount == 0) {
+            return null;
+        }
+        int pick = random.nextInt(untriedCount);
+        int childMove = untried[pick];
+        untried[pick] = untried[--untriedCount];
+
+        MctsNode child = new MctsNode(this, childMove, state.getCurrentPlayer());
+        int count = childCount;
+        children[count] = child;
+        childCount = count + 1; // volatile write publishes the slot to readers
+        return child;
+    }
+
+    private void listMoves(OctaGameLogic state) {
+        if (state.isGameOver()) {
+            untried = new int[0];
+            return;
+        }
+        OwnedCells moves = state.getLegalMoves(state.getCurrentPlayer());
+        untried = new int[moves.size()];
+        untriedCount = moves.copyTo(untried);
+        children = new MctsNode[untriedCount];
+    }
+
+    /**
+     * Picks the child with the highest UCT value. Must only be called once
+     * {@link #expand} has returned null, i.e. when every move has a child.
+     */
+    MctsNode selectChild(double exploration) {
+        int count = childCount;
+        MctsNode[] snapshot = children;
+        double logParent = Math.log(Math.max(1, visits.get()));
+        MctsNode best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            MctsNode child = snapshot[i];
+            int n = Math.max(1, child.visits.get());
+            double value = (double) child.reward.get() / (REWARD_SCALE * n)
+                    + exploration * Math.sqrt(logParent / n);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    MctsNode findChild(int childMove) {
+        int count = childCount;
+        for (int i = 0; i < count; i++) {
+            if (children[i].move == childMove) {
+                return children[i];
+            }
+        }
+        return null;
+    }
+
+    int getChildCount() {
+        return childCount;
+    }
+
+    MctsNode getChild(int i) {
+        return children[i];
+    }
+
+    int getVisits() {
+        return visits.get();
+    }
+
+    /** Called on the way down, before the playout. */
+    void addVirtualLoss() {
+        visits.addAndGet(VIRTUAL_LOSS);
+    }
+
+    /** Called on the way up: replaces the virtual loss with one real visit. */
+    void update(long scaledReward) {
+        reward.addAndGet(scaledReward);
+        visits.addAndGet(1 - VIRTUAL_LOSS);
+    }
+}
@@ -0,0 +1,109 @@
+package tech.yump.ai;
+
+/**
+ * Fixed-size, lock-free transposition table keyed by 64-bit position hashes.
+ * <p>
+ * Each entry is two longs: the packed data, and the key XORed with that data. A
+ * reader only accepts an entry whose {@code key ^ data} matches the probed key, so an
+ * entry torn by a concurrent writer is simply treated as a miss and no locking is
+ * needed. Entries come in buckets of two: the first slot keeps the deepest result
+ * (unless it is from an older search), the second is always replaced.
+ * <p>
+ * Data layout: move + 1 (26 bits), score + 2^23 (24 bits), depth (7 bits),
+ * bound (2 bits), search generation (5 bits).
+ */
+public class TranspositionTable {
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    /** Scores are stored in 24 bits; callers must stay within +/- this value. */
+    public static final int MAX_SCORE = (1 << 23) - 1;
+    /** Moves are stored in 26 bits; larger cell indices are stored as "no move". */
+    public static final int MAX_MOVE = (1 << 26) - 2;
+
+    private static final int MOVE_BITS = 26;
+    private static final int SCORE_SHIFT = 26;
+    private static final int DEPTH_SHIFT = 50;
+    private static final int BOUND_SHIFT = 57;
+    private static final int GENERATION_SHIFT = 59;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int bucketMask;
+    private int generation;
+
+    /**
+     * @param bucketBits log2 of the number of two-entry buckets (e.g. 20 for 32 MB).
+     */
+    public TranspositionTable(int bucketBits) {
+        if (bucketBits < 1 || bucketBits > 28) {
+            throw new IllegalArgumentException("Bucket bits must be between 1 and 28");
+        }
+        this.keys = new long[2 << bucketBits];
+        this.data = new long[2 << bucketBits];
+        this.bucketMask = (1 << bucketBits) - 1;
+    }
+
+    /**
+     * Marks the start of a new search; entries from earlier searches become preferred victims.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0x1F;
+    }
+
+    /**
+     * @return the packed entry data for {@code key}, or 0 if the table holds no entry for it
+     */
+    public long probe(long key) {
+        int slot = ((int) key & bucketMask) << 1;
+        long d0 = data[slot];
+        if ((keys[slot] ^ d0) == key && d0 != 0) {
+            return d0;
+        }
+        long d1 = data[slot + 1];
+        if ((keys[slot + 1] ^ d1) == key && d1 != 0) {
+            return d1;
+        }
+        return 0;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        long packed = ((long) (move >= 0 && move <= MAX_MOVE ? move + 1 : 0))
+                | ((long) (score + MAX_SCORE + 1) << SCORE_SHIFT)
+                | ((long) Math.min(depth, 127) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) generation << GENERATION_SHIFT);
+        int slot = ((int) key & bucketMask) << 1;
+        long current = data[slot];
+        boolean replaceDeep = current == 0
+                || (keys[slot] ^ current) == key
+                || generation(current) != generation
+                || depth >= depth(current);
+        int target = replaceDeep ? slot : slot + 1;
+        data[target] = packed;
+        keys[target] = key ^ packed;
+    }
+
+    /** @return the stored move, or -1 if none */
+    public static int move(long entry) {
+        return (int) (entry & ((1L << MOVE_BITS) - 1)) - 1;
+    }
+
+    public static int score(long entry) {
+        return (int) ((entry >>> SCORE_SHIFT) & 0xFFFFFF) - (MAX_SCORE + 1);
+    }
+
+    public static int depth(long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & 0x7F);
+    }
+
+    public static int bound(long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & 0x3);
+    }
+
+    private static int generation(long entry) {
+        return (int) ((entry >>> GENERATION_SHIFT) & 0x1F);
+    }
+}
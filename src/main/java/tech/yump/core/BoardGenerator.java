@@ -0,0 +1,77 @@
+package tech.yump.core;
+
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic arrow generator for new boards.
+ * <p>
+ * The arrow of cell {@code i} is a pure function of the seed and {@code i} (a SplitMix64
+ * mix of the pair, mapped onto the grid's directions), so cells can be generated in any order, in bulk or one
+ * at a time, and the result is the same. {@link #fill} uses that to fill large boards in
+ * parallel blocks: the board for a given (seed, size) is identical whatever the number of
+ * threads, and a sparse board of the same seed derives its untouched cells from the same
+ * function, so it starts identical to the dense one.
+ */
+public final class BoardGenerator {
+
+    // Below this many cells a parallel fill costs more in task setup than it saves
+    private static final int PARALLEL_THRESHOLD = 1 << 18;
+    private static final int BLOCK_CELLS = 1 << 16;
+
+    private BoardGenerator() {
+    }
+
+    /**
+     * Returns the arrow value of cell {@code index} on a board generated from {@code seed}.
+     */
+    public static int arrowOf(long seed, int index) {
+        return (int) (mix(seed, index) >>> 61);
+    }
+
+    /**
+     * Returns the arrow value of cell {@code index} on a board of the given shape generated
+     * from {@code seed}: one of the grid's directions, chosen uniformly.
+     */
+    public static int arrowOf(long seed, int index, Topology topology) {
+        int count = topology.getDirectionCount();
+        if (count == 8) {
+            return arrowOf(seed, index);
+        }
+        return topology.getDirection((int) (((mix(seed, index) >>> 32) * count) >>> 32));
+    }
+
+    private static long mix(long seed, int index) {
+        long z = seed + (index + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Overwrites every cell with a NEUTRAL cell carrying its generated arrow, in parallel
+     * for large boards.
+     * @return the {@link Zobrist} hash of the filled cells
+     */
+    static long fill(byte[] cells, long seed, Topology topology) {
+        int blocks = (cells.length + BLOCK_CELLS - 1) / BLOCK_CELLS;
+        IntStream stream = IntStream.range(0, blocks);
+        if (cells.length >= PARALLEL_THRESHOLD) {
+            stream = stream.parallel();
+        }
+        // XOR is associative and commutative, so the reduction order does not matter
+        return stream.mapToLong(block -> fillBlock(cells, seed, topology, block))
+                .reduce(0L, (a, b) -> a ^ b);
+    }
+
+    private static long fillBlock(byte[] cells, long seed, Topology topology, int block) {
+        int from = block * BLOCK_CELLS;
+        int to = Math.min(cells.length, from + BLOCK_CELLS);
+        long hash = 0;
+        for (int i = from; i < to; i++) {
+            int arrow = arrowOf(seed, i, topology);
+            cells[i] = (byte) arrow;
+            hash ^= Zobrist.cellKey(i, arrow);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,60 @@
+package tech.yump.core;
+
+import tech.yump.model.GridType;
+
+/**
+ * Immutable copy of a {@link GameMap}'s contents, taken with {@link GameMap#snapshot()}.
+ * <p>
+ * A snapshot is a single packed byte array plus the board's counters, hash and owned-cell
+ * lists, so taking one is a bulk array copy. It can be shared freely between threads and used to fork
+ * new boards ({@link GameMap#GameMap(BoardSnapshot)}) or to reset existing ones in place
+ * ({@link GameMap#restoreFrom(BoardSnapshot)}).
+ */
+public final class BoardSnapshot {
+    private final Topology topology;
+    private final byte[] cells;
+    private final int[] stateCounts;
+    private final long hash;
+    // Owned-cell lists per player, trimmed to their sizes
+    private final int[][] ownedCells;
+
+    BoardSnapshot(Topology topology, byte[] cells, int[] stateCounts, long hash, int[][] ownedCells) {
+        this.topology = topology;
+        this.cells = cells;
+        this.stateCounts = stateCounts;
+        this.hash = hash;
+        this.ownedCells = ownedCells;
+    }
+
+    public int getSize() {
+        return topology.getSize();
+    }
+
+    public GridType getGridType() {
+        return topology.getGridType();
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    /**
+     * Returns the {@link Zobrist} hash of the captured board.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    // Shared with GameMap, which only ever copies out of these arrays
+    byte[] cells() {
+        return cells;
+    }
+
+    int[] stateCounts() {
+        return stateCounts;
+    }
+
+    int[] ownedCells(int slot) {
+        return ownedCells[slot];
+    }
+}
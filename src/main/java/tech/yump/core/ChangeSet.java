@@ -0,0 +1,147 @@
+package tech.yump.core;
+
+import tech.yump.model.CellState;
+import tech.yump.model.Direction;
+import tech.yump.model.Player;
+
+import java.util.Arrays;
+
+/**
+ * The cells changed by one move, as returned by {@link OctaGameLogic#makeMove(int, Player)}.
+ * <p>
+ * Changes are listed in the order they were made: first the selected cell, whose arrow
+ * was rotated, then every cell the chain captured and rotated. Each entry holds the cell
+ * index and its state and arrow before and after the move, packed into one {@code long},
+ * so observers can update themselves in O(cells changed) instead of rescanning the board.
+ * <p>
+ * A game owns a single change set and refills it on every move, so recording costs one
+ * array store per changed cell and nothing is allocated once the buffer has grown to the
+ * longest chain. The contents are only valid until the game's next move or undo; copy what
+ * you need to keep.
+ */
+public final class ChangeSet {
+
+    /** Why the chain of a move stopped. */
+    public enum Termination {
+        /** The next arrow pointed off the board. */
+        EDGE,
+        /** The next cell was already owned by the moving player before the move. */
+        OWN_CELL,
+        /** The next cell was the selected cell or one captured earlier in the same chain. */
+        LOOP,
+        /** The next cell belonged to the opponent and the stop-on-enemy rule is on. */
+        ENEMY
+    }
+
+    private static final int INDEX_SHIFT = 16;
+    private static final int BEFORE_SHIFT = 8;
+    private static final int PACKED_MASK = 0xFF;
+    private static final CellState[] STATES = CellState.values();
+
+    // index << 16 | before << 8 | after, in the packed cell format of GameMap
+    private long[] changes = new long[16];
+    private int size;
+    private Player player;
+    private Termination termination;
+
+    ChangeSet() {
+    }
+
+    void begin(Player player) {
+        this.player = player;
+        this.size = 0;
+        this.termination = null;
+    }
+
+    void add(int index, int before, int after) {
+        if (size == changes.length) {
+            changes = Arrays.copyOf(changes, size * 2);
+        }
+        changes[size++] = (long) index << INDEX_SHIFT | (before & PACKED_MASK) << BEFORE_SHIFT | (after & PACKED_MASK);
+    }
+
+    void finish(Termination termination) {
+        this.termination = termination;
+    }
+
+    /**
+     * Returns true if {@code index} is one of the changed cells. This is O(changes).
+     */
+    public boolean contains(int index) {
+        for (int i = 0; i < size; i++) {
+            if ((int) (changes[i] >>> INDEX_SHIFT) == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of changed cells, including the selected cell.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of cells the chain captured, i.e. every change but the selected cell.
+     */
+    public int getChainLength() {
+        return Math.max(0, size - 1);
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns why the chain stopped, or null if no move has been made yet.
+     */
+    public Termination getTermination() {
+        return termination;
+    }
+
+    /**
+     * Returns the board index of the {@code i}-th changed cell; entry 0 is the selected cell.
+     */
+    public int getIndex(int i) {
+        return (int) (entry(i) >>> INDEX_SHIFT);
+    }
+
+    public CellState getStateBefore(int i) {
+        return STATES[packedBefore(i) >>> GameMap.STATE_SHIFT];
+    }
+
+    public CellState getStateAfter(int i) {
+        return STATES[packedAfter(i) >>> GameMap.STATE_SHIFT];
+    }
+
+    public Direction getArrowBefore(int i) {
+        return Direction.fromValue(packedBefore(i) & GameMap.ARROW_MASK);
+    }
+
+    public Direction getArrowAfter(int i) {
+        return Direction.fromValue(packedAfter(i) & GameMap.ARROW_MASK);
+    }
+
+    // Packed cell values, as stored by GameMap
+    int packedBefore(int i) {
+        return (int) (entry(i) >>> BEFORE_SHIFT) & PACKED_MASK;
+    }
+
+    int packedAfter(int i) {
+        return (int) entry(i) & PACKED_MASK;
+    }
+
+    private long entry(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Change " + i + " out of bounds for " + size + " changes");
+        }
+        return changes[i];
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeSet{player=" + player + ", changes=" + size + ", termination=" + termination + "}";
+    }
+}
@@ -0,0 +1,370 @@
+package tech.yump.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Sparse cell storage for very large boards, used by {@link GameMap#sparse}.
+ * <p>
+ * The board is cut into 64x64 tiles. A tile is only materialized when one of its cells
+ * is first written; until then every cell in it is NEUTRAL with the arrow that
+ * {@link BoardGenerator} derives from the board seed and the cell index, so untouched
+ * regions cost nothing. Materialized tiles hold the packed cell bytes and, once a player
+ * owns a cell in them, the cells' positions in the owned-cell lists. Resident tiles are kept in an LRU list; when more
+ * than {@code maxResidentTiles} are resident, the least recently used one is written to
+ * a spill file and dropped, and read back on its next access. The spill file is deleted
+ * by {@link #release()}, or at the latest once the storage becomes unreachable.
+ * <p>
+ * Cells are addressed by the same int index as dense boards, so neighbors and chains
+ * cross tile boundaries without the caller noticing. Tiles cut the index space as if it
+ * were {@code width} cells wide; on hex boards, whose rows are shorter, that keeps
+ * neighboring cells in the same or adjacent tiles, and indices past the last cell are
+ * never visited.
+ */
+final class ChunkedCells {
+
+    static final int TILE_SHIFT = 6;
+    static final int TILE_SIDE = 1 << TILE_SHIFT;
+    static final int TILE_CELLS = TILE_SIDE * TILE_SIDE;
+    private static final int TILE_MASK = TILE_SIDE - 1;
+    private static final int NO_SLOT = -1;
+    // A spilled tile: its cell bytes followed by its owned positions
+    private static final int SPILL_RECORD_BYTES = TILE_CELLS + TILE_CELLS * Integer.BYTES;
+    // Closes the spill files of boards that were dropped without release()
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /** Receives the index and packed value of every materialized cell. */
+    interface CellVisitor {
+        void visit(int index, int packed);
+    }
+
+    /** Closes a spill channel, which deletes its file; holds no reference to the storage itself. */
+    private record SpillCloser(FileChannel channel) implements Runnable {
+        @Override
+        public void run() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // The file is gone or the descriptor already closed; nothing left to release
+            }
+        }
+    }
+
+    private static final class Tile {
+        final int id;
+        final byte[] cells = new byte[TILE_CELLS];
+        int[] positions; // Allocated when the first cell of the tile becomes owned
+        Tile newer;
+        Tile older;
+
+        Tile(int id) {
+            this.id = id;
+        }
+    }
+
+    private final Topology topology;
+    private final int width;
+    private final int cellCount;
+    private final int tilesPerRow;
+    private final long seed;
+    private final int maxResidentTiles;
+    private final Path spillDirectory;
+
+    private final Tile[] resident;
+    private final int[] spillSlots;
+    private int residentCount;
+    private Tile newest;
+    private Tile oldest;
+
+    private FileChannel spill;
+    private Cleaner.Cleanable spillCleanup;
+    private boolean released;
+    private int spilledTiles;
+    private final ByteBuffer ioBuffer = ByteBuffer.allocate(SPILL_RECORD_BYTES);
+
+    ChunkedCells(Topology topology, long seed, int maxResidentTiles, Path spillDirectory) {
+        if (maxResidentTiles < 2) {
+            throw new IllegalArgumentException("At least two tiles must be allowed to stay resident");
+        }
+        this.topology = topology;
+        this.width = topology.getWidth();
+        this.cellCount = topology.getCellCount();
+        this.tilesPerRow = (width + TILE_MASK) >>> TILE_SHIFT;
+        this.seed = seed;
+        this.maxResidentTiles = maxResidentTiles;
+        this.spillDirectory = spillDirectory;
+        this.resident = new Tile[tilesPerRow * tilesPerRow];
+        this.spillSlots = new int[resident.length];
+        Arrays.fill(spillSlots, NO_SLOT);
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    int get(int index) {
+        int id = tileOf(index);
+        Tile tile = resident[id];
+        if (tile == null) {
+            if (spillSlots[id] == NO_SLOT) {
+                return BoardGenerator.arrowOf(seed, index, topology);
+            }
+            tile = load(id);
+        } else {
+            touch(tile);
+        }
+        return tile.cells[offsetOf(index)];
+    }
+
+    void set(int index, int packed) {
+        materialize(tileOf(index)).cells[offsetOf(index)] = (byte) packed;
+    }
+
+    int getPosition(int index) {
+        Tile tile = materialize(tileOf(index));
+        return tile.positions == null ? 0 : tile.positions[offsetOf(index)];
+    }
+
+    void setPosition(int index, int position) {
+        Tile tile = materialize(tileOf(index));
+        if (tile.positions == null) {
+            tile.positions = new int[TILE_CELLS];
+        }
+        tile.positions[offsetOf(index)] = position;
+    }
+
+    /**
+     * Visits every on-board cell of every materialized tile, resident or spilled.
+     * Cells of untouched tiles are skipped; they all hold
+     * NEUTRAL cells with {@link BoardGenerator#arrowOf} arrows.
+     */
+    void forEachMaterialized(CellVisitor visitor) {
+        byte[] buffer = new byte[TILE_CELLS];
+        for (int id = 0; id < resident.length; id++) {
+            byte[] cells;
+            if (resident[id] != null) {
+                cells = resident[id].cells;
+            } else if (spillSlots[id] != NO_SLOT) {
+                readSpilled(id);
+                ioBuffer.get(0, buffer);
+                cells = buffer;
+            } else {
+                continue;
+            }
+            int column0 = (id % tilesPerRow) << TILE_SHIFT;
+            int row0 = (id / tilesPerRow) << TILE_SHIFT;
+            for (int offset = 0; offset < TILE_CELLS; offset++) {
+                int x = column0 + (offset & TILE_MASK);
+                int y = row0 + (offset >>> TILE_SHIFT);
+                if (x < width && y * width + x < cellCount) {
+                    visitor.visit(y * width + x, cells[offset]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a deep copy with its own spill file. Spilled tiles are read back into the copy.
+     */
+    ChunkedCells copy() {
+        ChunkedCells copy = new ChunkedCells(topology, seed, maxResidentTiles, spillDirectory);
+        for (int id = 0; id < resident.length; id++) {
+            Tile source = resident[id];
+            if (source == null && spillSlots[id] != NO_SLOT) {
+                readSpilled(id);
+                source = new Tile(id);
+                fillFromBuffer(source);
+            }
+            if (source != null) {
+                Tile tile = copy.materialize(id);
+                System.arraycopy(source.cells, 0, tile.cells, 0, TILE_CELLS);
+                tile.positions = source.positions == null ? null : source.positions.clone();
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Closes and deletes the spill file now instead of when the storage is garbage
+     * collected. Spilled tiles are lost, so the storage must not be used afterwards.
+     */
+    void release() {
+        released = true;
+        if (spillCleanup != null) {
+            spillCleanup.clean();
+            spillCleanup = null;
+            spill = null;
+        }
+    }
+
+    int getResidentTileCount() {
+        return residentCount;
+    }
+
+    int getSpilledTileCount() {
+        return spilledTiles;
+    }
+
+    private int tileOf(int index) {
+        int x = index % width;
+        int y = index / width;
+        return (y >>> TILE_SHIFT) * tilesPerRow + (x >>> TILE_SHIFT);
+    }
+
+    private int offsetOf(int index) {
+        int x = index % width;
+        int y = index / width;
+        return ((y & TILE_MASK) << TILE_SHIFT) | (x & TILE_MASK);
+    }
+
+    private Tile materialize(int id) {
+        Tile tile = resident[id];
+        if (tile != null) {
+            touch(tile);
+            return tile;
+        }
+        if (spillSlots[id] != NO_SLOT) {
+            return load(id);
+        }
+        tile = new Tile(id);
+        int column0 = (id % tilesPerRow) << TILE_SHIFT;
+        int row0 = (id / tilesPerRow) << TILE_SHIFT;
+        for (int offset = 0; offset < TILE_CELLS; offset++) {
+            int x = column0 + (offset & TILE_MASK);
+            int y = row0 + (offset >>> TILE_SHIFT);
+            tile.cells[offset] = (byte) BoardGenerator.arrowOf(seed, y * width + x, topology);
+        }
+        makeResident(tile);
+        return tile;
+    }
+
+    private Tile load(int id) {
+        readSpilled(id);
+        Tile tile = new Tile(id);
+        fillFromBuffer(tile);
+        makeResident(tile);
+        return tile;
+    }
+
+    private void fillFromBuffer(Tile tile) {
+        ioBuffer.get(0, tile.cells);
+        boolean owned = false;
+        int[] positions = new int[TILE_CELLS];
+        for (int i = 0; i < TILE_CELLS; i++) {
+            positions[i] = ioBuffer.getInt(TILE_CELLS + i * Integer.BYTES);
+            owned |= positions[i] != 0;
+        }
+        tile.positions = owned ? positions : null;
+    }
+
+    private void makeResident(Tile tile) {
+        resident[tile.id] = tile;
+        residentCount++;
+        linkNewest(tile);
+        if (residentCount > maxResidentTiles) {
+            evict(oldest);
+        }
+    }
+
+    // Moves a tile to the most recently used end of the LRU list
+    private void touch(Tile tile) {
+        if (tile == newest) {
+            return;
+        }
+        unlink(tile);
+        linkNewest(tile);
+    }
+
+    private void linkNewest(Tile tile) {
+        tile.older = newest;
+        tile.newer = null;
+        if (newest != null) {
+            newest.newer = tile;
+        }
+        newest = tile;
+        if (oldest == null) {
+            oldest = tile;
+        }
+    }
+
+    private void unlink(Tile tile) {
+        if (tile.newer != null) {
+            tile.newer.older = tile.older;
+        } else {
+            newest = tile.older;
+        }
+        if (tile.older != null) {
+            tile.older.newer = tile.newer;
+        } else {
+            oldest = tile.newer;
+        }
+        tile.newer = null;
+        tile.older = null;
+    }
+
+    private void evict(Tile tile) {
+        unlink(tile);
+        resident[tile.id] = null;
+        residentCount--;
+        if (spillSlots[tile.id] == NO_SLOT) {
+            spillSlots[tile.id] = spilledTiles++;
+        }
+        ioBuffer.clear();
+        ioBuffer.put(tile.cells);
+        for (int i = 0; i < TILE_CELLS; i++) {
+            ioBuffer.putInt(tile.positions == null ? 0 : tile.positions[i]);
+        }
+        ioBuffer.flip();
+        try {
+            FileChannel channel = spillChannel();
+            long position = (long) spillSlots[tile.id] * SPILL_RECORD_BYTES;
+            while (ioBuffer.hasRemaining()) {
+                position += channel.write(ioBuffer, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill board tile " + tile.id, e);
+        }
+    }
+
+    // Reads the spilled record of a tile into ioBuffer
+    private void readSpilled(int id) {
+        if (released) {
+            throw new IllegalStateException("Board has been released");
+        }
+        ioBuffer.clear();
+        try {
+            long position = (long) spillSlots[id] * SPILL_RECORD_BYTES;
+            while (ioBuffer.hasRemaining()) {
+                int read = spill.read(ioBuffer, position);
+                if (read < 0) {
+                    throw new IOException("Spill file truncated");
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read board tile " + id, e);
+        }
+    }
+
+    private FileChannel spillChannel() throws IOException {
+        if (released) {
+            throw new IllegalStateException("Board has been released");
+        }
+        if (spill == null) {
+            Path file = spillDirectory == null
+                    ? Files.createTempFile("octa-tiles", ".bin")
+                    : Files.createTempFile(spillDirectory, "octa-tiles", ".bin");
+            spill = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            spillCleanup = CLEANER.register(this, new SpillCloser(spill));
+        }
+        return spill;
+    }
+}
@@ -3,81 +3,108 @@ package tech.yump.core;
 import tech.yump.model.CellState;
 import tech.yump.model.Direction;
 import tech.yump.util.Coordinate;
-import tech.yump.util.CellUtils;
-import java.util.Arrays;
+
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.IntConsumer;
 
+/**
+ * Lightweight view of a single cell of a {@link GameMap}. The cell data itself
+ * lives in the map's packed storage; a view only holds the map and the cell index,
+ * so two views of the same cell are equal and see each other's changes.
+ */
 public class GameCell {
-    private final Coordinate coordinate;
-    private final GameCell[] neighbors;
-    private CellState state;
-    private Direction arrowDirection;
-    
-    public GameCell(Coordinate coordinate) {
-        this.coordinate = coordinate;
-        this.neighbors = new GameCell[8]; // 8 directions for octagonal cells
-        this.state = CellState.NEUTRAL;
-        this.arrowDirection = CellUtils.randomizeDirection(); // Initialize with a random direction
-    }
-    
+    private final GameMap map;
+    private final int index;
+
+    GameCell(GameMap map, int index) {
+        this.map = map;
+        this.index = index;
+    }
+
     // Getters
     public Coordinate getCoordinate() {
-        return coordinate;
+        return Coordinate.of(map.getX(index), map.getY(index));
     }
-    
+
+    /**
+     * Returns the coordinate of this cell packed into a {@code long}, without creating an object.
+     */
+    public long getPackedCoordinate() {
+        return map.getPackedCoordinate(index);
+    }
+
+    /**
+     * Returns the index of this cell in its map's storage.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    GameMap getMap() {
+        return map;
+    }
+
     public CellState getState() {
-        return state;
+        return map.getState(index);
     }
-    
+
     public void setState(CellState state) {
-        this.state = state;
+        map.setState(index, state);
     }
-    
+
     public Direction getArrowDirection() {
-        return arrowDirection;
+        return map.getArrowDirection(index);
     }
 
     public void setArrowDirection(Direction arrowDirection) {
-        this.arrowDirection = arrowDirection;
+        map.setArrowDirection(index, arrowDirection);
     }
-    
+
     public GameCell getNeighbor(Direction direction) {
-        return neighbors[direction.getValue()];
-    }
-    
-    // Add validation for neighbor connections
-    public void setNeighbor(Direction direction, GameCell neighbor) {
-        if (direction == null || neighbor == null) {
-            throw new IllegalArgumentException("Direction and neighbor cannot be null");
-        }
-        this.neighbors[direction.getValue()] = neighbor;
-        // Ensure bidirectional connection
-        Direction opposite = getOppositeDirection(direction);
-        if (neighbor.getNeighbor(opposite) != this) {
-            neighbor.setNeighbor(opposite, this);
-        }
-    }
-    
-    // Add method to get opposite direction
-    private Direction getOppositeDirection(Direction direction) {
-        return switch (direction) {
-            case NORTH -> Direction.SOUTH;
-            case NORTHEAST -> Direction.SOUTHWEST;
-            case EAST -> Direction.WEST;
-            case SOUTHEAST -> Direction.NORTHWEST;
-            case SOUTH -> Direction.NORTH;
-            case SOUTHWEST -> Direction.NORTHEAST;
-            case WEST -> Direction.EAST;
-            case NORTHWEST -> Direction.SOUTHEAST;
-        };
-    }
-    
-    // Add method to get all valid neighbors
+        int neighbor = map.getNeighborIndex(index, direction);
+        return neighbor == GameMap.NO_CELL ? null : new GameCell(map, neighbor);
+    }
+
+    // Get all neighbors that exist on the board
     public List<GameCell> getValidNeighbors() {
-        return Arrays.stream(neighbors)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+        List<GameCell> neighbors = new ArrayList<>(Integer.bitCount(getNeighborMask()));
+        map.forEachNeighbor(index, neighbor -> neighbors.add(new GameCell(map, neighbor)));
+        return neighbors;
+    }
+
+    /**
+     * Returns a bit mask of the directions in which this cell has a neighbor (bit
+     * {@code d} for the Direction with value {@code d}).
+     */
+    public int getNeighborMask() {
+        return map.getNeighborMask(index);
+    }
+
+    /**
+     * Passes the board index of every neighbor to {@code action} without allocating;
+     * use {@link GameMap#getCellAt(int)} or the index-based GameMap methods to inspect them.
+     */
+    public void forEachNeighbor(IntConsumer action) {
+        map.forEachNeighbor(index, action);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        GameCell that = (GameCell) obj;
+        return map == that.map && index == that.index;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(map) + index;
+    }
+
+    @Override
+    public String toString() {
+        return "GameCell{x=" + map.getX(index) + ", y=" + map.getY(index)
+                + ", state=" + getState() + ", arrow=" + getArrowDirection() + "}";
     }
-}
\ No newline at end of file
+}
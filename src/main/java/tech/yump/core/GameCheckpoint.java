@@ -0,0 +1,380 @@
+package tech.yump.core;
+
+import tech.yump.engine.GameConfig;
+import tech.yump.engine.GameResult;
+import tech.yump.model.GridType;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32C;
+
+/**
+ * Saves and loads {@link OctaGameLogic} positions as memory-mapped binary checkpoints.
+ * <p>
+ * A checkpoint file is one 4 KB header page followed by the board's packed cells, one
+ * byte per cell, so the cell region maps directly onto the board's storage and saving
+ * or loading is a single bulk copy through a {@link MappedByteBuffer}. The header holds
+ * a magic number, the format version, the board shape, the {@link GameConfig}, the
+ * player to move, the turn count, the stop-on-enemy rule, the board hash and the game's
+ * result, if it has one, so a game lost on time or by resignation stays decided.
+ * The config's board seed is kept so a loaded game reports the seed it was generated from.
+ * <p>
+ * A full {@link #save} writes the new checkpoint to a sibling {@code .tmp} file, forces
+ * it to disk and moves it over the old one atomically, so a crash leaves either the old
+ * or the new checkpoint, never a mix. A board tracks which 4096-cell pages it has
+ * written since it was last checkpointed, and {@link #saveIncremental} rewrites only
+ * those pages when the file on disk is that last checkpoint (recognized by a random stamp
+ * in the header), falling back to a full save otherwise. Because it updates the file in
+ * place, it first writes the dirty pages and the new header to a sibling {@code .log}
+ * file, closed by a checksum, and forces that before touching the checkpoint. The next
+ * save or {@link #load} finishes an update whose log is complete and discards one whose
+ * log is torn, which leaves the checkpoint as it was. {@link #load} also checks the cells
+ * against the header's board hash. Only dense boards can be checkpointed; the undo
+ * journal and the positions counted for the repetition rule are not saved.
+ */
+public final class GameCheckpoint {
+
+    /** Current version of the file format. */
+    public static final int VERSION = 3; // 2 added the board seed, 3 the game result
+
+    private static final int MAGIC = 0x4F435443; // "OCTC"
+    private static final int HEADER_BYTES = 1 << GameMap.PAGE_SHIFT;
+    private static final int PAGE_BYTES = 1 << GameMap.PAGE_SHIFT;
+    // Bits a packed cell may use: the arrow and the two state bits
+    private static final int CELL_BITS = (1 << (GameMap.STATE_SHIFT + 2)) - 1;
+
+    // Header field offsets
+    private static final int OFFSET_MAGIC = 0;
+    private static final int OFFSET_VERSION = 4;
+    private static final int OFFSET_STAMP = 8;
+    private static final int OFFSET_SIZE = 16;
+    private static final int OFFSET_GRID_TYPE = 20;
+    private static final int OFFSET_WIN_CONDITION = 21;
+    private static final int OFFSET_STOP_ON_ENEMY = 22;
+    private static final int OFFSET_CURRENT_PLAYER = 23;
+    private static final int OFFSET_REPETITION_REACHED = 24;
+    private static final int OFFSET_TURN_LIMIT = 28;
+    private static final int OFFSET_REPETITION_LIMIT = 32;
+    private static final int OFFSET_TURN_COUNT = 36;
+    private static final int OFFSET_HASH = 40;
+    private static final int OFFSET_CELL_COUNT = 48;
+    private static final int OFFSET_SEED = 56;
+    private static final int OFFSET_RESULT = 64; // 0 undecided, 1 + winner ordinal, or RESULT_TIE
+    private static final int OFFSET_REASON_LENGTH = 66;
+    private static final int OFFSET_REASON = 68; // UTF-8, up to the end of the header page
+    private static final int RESULT_TIE = 3;
+
+    // Log record layout: magic, the stamp of the checkpoint it updates, the page count, the new
+    // header page, then per page its number, length and bytes, and finally a CRC32C of all that
+    private static final int LOG_MAGIC = 0x4F43544C; // "OCTL"
+    private static final int LOG_OFFSET_BASE_STAMP = 4;
+    private static final int LOG_OFFSET_PAGES = 12;
+    private static final int LOG_OFFSET_HEADER = 16;
+    private static final int LOG_OFFSET_ENTRIES = LOG_OFFSET_HEADER + HEADER_BYTES;
+
+    private static final GridType[] GRID_TYPES = GridType.values();
+    private static final WinCondition[] WIN_CONDITIONS = WinCondition.values();
+    private static final Player[] PLAYERS = Player.values();
+
+    private GameCheckpoint() {
+    }
+
+    /**
+     * Writes a full checkpoint of the game, replacing the file if it exists. The old
+     * checkpoint stays intact until the new one is complete on disk.
+     * @throws UnsupportedOperationException if the game's board is sparse
+     */
+    public static void save(OctaGameLogic game, Path file) throws IOException {
+        byte[] cells = game.getGameMap().rawCells();
+        Path temp = sibling(file, ".tmp");
+        long stamp;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) cells.length);
+            buffer.put(HEADER_BYTES, cells);
+            stamp = writeHeader(buffer, game);
+            buffer.force();
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // A log left for the replaced checkpoint no longer matches its stamp; drop it
+        Files.deleteIfExists(sibling(file, ".log"));
+        game.getGameMap().markCheckpointed(stamp);
+    }
+
+    /**
+     * Updates the checkpoint in {@code file}, rewriting only the board pages written since
+     * the game was last saved to it. Falls back to {@link #save} if the file does not hold
+     * this game's last checkpoint.
+     * @return the number of 4 KB board pages written
+     * @throws UnsupportedOperationException if the game's board is sparse
+     */
+    public static int saveIncremental(OctaGameLogic game, Path file) throws IOException {
+        GameMap map = game.getGameMap();
+        int pages = (map.rawCells().length + PAGE_BYTES - 1) / PAGE_BYTES;
+        recover(file);
+        if (!isLastCheckpoint(map, file)) {
+            save(game, file);
+            return pages;
+        }
+        ByteBuffer record = writeLog(game, file);
+        apply(record, file);
+        Files.delete(sibling(file, ".log"));
+        map.markCheckpointed(record.getLong(LOG_OFFSET_HEADER + OFFSET_STAMP));
+        return record.getInt(LOG_OFFSET_PAGES);
+    }
+
+    /**
+     * Writes the board's dirty pages and the game's new header to the log of {@code file}
+     * and forces it to disk, without touching the checkpoint itself.
+     * @return the log record
+     */
+    static ByteBuffer writeLog(OctaGameLogic game, Path file) throws IOException {
+        GameMap map = game.getGameMap();
+        byte[] cells = map.rawCells();
+        int pages = (cells.length + PAGE_BYTES - 1) / PAGE_BYTES;
+        int dirty = 0;
+        int length = LOG_OFFSET_ENTRIES + Integer.BYTES;
+        for (int page = 0; page < pages; page++) {
+            if (map.isPageDirty(page)) {
+                dirty++;
+                length += 2 * Integer.BYTES + Math.min(PAGE_BYTES, cells.length - page * PAGE_BYTES);
+            }
+        }
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(LOG_MAGIC).putLong(map.getCheckpointStamp()).putInt(dirty);
+        writeHeader(record.slice(LOG_OFFSET_HEADER, HEADER_BYTES), game);
+        record.position(LOG_OFFSET_ENTRIES);
+        for (int page = 0; page < pages; page++) {
+            if (map.isPageDirty(page)) {
+                int offset = page * PAGE_BYTES;
+                int pageLength = Math.min(PAGE_BYTES, cells.length - offset);
+                record.putInt(page).putInt(pageLength).put(cells, offset, pageLength);
+            }
+        }
+        record.putInt(checksum(record, record.position()));
+        record.flip();
+        try (FileChannel channel = FileChannel.open(sibling(file, ".log"), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channel.force(true);
+        }
+        return record.rewind();
+    }
+
+    // Copies a log record's pages and then its header into the checkpoint. Applying a record
+    // twice gives the same file, so an interrupted apply is simply repeated
+    private static void apply(ByteBuffer record, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            int position = LOG_OFFSET_ENTRIES;
+            for (int entry = record.getInt(LOG_OFFSET_PAGES); entry > 0; entry--) {
+                int page = record.getInt(position);
+                int length = record.getInt(position + Integer.BYTES);
+                buffer.put(HEADER_BYTES + page * PAGE_BYTES, record, position + 2 * Integer.BYTES, length);
+                position += 2 * Integer.BYTES + length;
+            }
+            buffer.force();
+            buffer.put(0, record, LOG_OFFSET_HEADER, HEADER_BYTES);
+            buffer.force();
+        }
+    }
+
+    // Finishes an incremental save interrupted after its log was complete, then deletes the log
+    private static void recover(Path file) throws IOException {
+        Path log = sibling(file, ".log");
+        if (!Files.exists(log)) {
+            return;
+        }
+        ByteBuffer record = ByteBuffer.wrap(Files.readAllBytes(log));
+        if (Files.exists(file) && isComplete(record, file)) {
+            apply(record, file);
+        }
+        Files.delete(log);
+    }
+
+    // True if the record is whole and updates the checkpoint in the file, applied or not
+    private static boolean isComplete(ByteBuffer record, Path file) throws IOException {
+        int end = record.limit() - Integer.BYTES;
+        if (end < LOG_OFFSET_ENTRIES || record.getInt(0) != LOG_MAGIC || record.getInt(end) != checksum(record, end)) {
+            return false;
+        }
+        long cellBytes = Files.size(file) - HEADER_BYTES;
+        int position = LOG_OFFSET_ENTRIES;
+        for (int entry = record.getInt(LOG_OFFSET_PAGES); entry > 0; entry--) {
+            if (position + 2 * Integer.BYTES > end) {
+                return false;
+            }
+            int page = record.getInt(position);
+            int length = record.getInt(position + Integer.BYTES);
+            if (page < 0 || length <= 0 || length > PAGE_BYTES || (long) page * PAGE_BYTES + length > cellBytes
+                    || position + 2 * Integer.BYTES + length > end) {
+                return false;
+            }
+            position += 2 * Integer.BYTES + length;
+        }
+        long stamp = readHeader(file).getLong(OFFSET_STAMP);
+        return position == end && (stamp == record.getLong(LOG_OFFSET_BASE_STAMP)
+                || stamp == record.getLong(LOG_OFFSET_HEADER + OFFSET_STAMP));
+    }
+
+    private static int checksum(ByteBuffer record, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static Path sibling(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    // Reads the start of the header, up to and including the cell count
+    private static ByteBuffer readHeader(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(OFFSET_CELL_COUNT + Integer.BYTES);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Keep reading until the header prefix is complete
+            }
+            return header;
+        }
+    }
+
+    // True if the file holds a current-version checkpoint of this board's shape carrying the board's last stamp
+    private static boolean isLastCheckpoint(GameMap map, Path file) throws IOException {
+        if (map.getCheckpointStamp() == 0 || !Files.exists(file)
+                || Files.size(file) != HEADER_BYTES + (long) map.getTotalCellCount()) {
+            return false;
+        }
+        ByteBuffer header = readHeader(file);
+        return header.getInt(OFFSET_MAGIC) == MAGIC
+                && header.getInt(OFFSET_VERSION) == VERSION
+                && header.getLong(OFFSET_STAMP) == map.getCheckpointStamp()
+                && header.getInt(OFFSET_SIZE) == map.getSize()
+                && header.get(OFFSET_GRID_TYPE) == map.getGridType().ordinal();
+    }
+
+    /**
+     * Loads a checkpoint into a new game with its own board, first finishing or discarding
+     * an incremental save that was interrupted.
+     * @throws IOException if the file cannot be read, is not a checkpoint of a supported
+     *         version, or is corrupt (including cells that do not match the header's hash)
+     */
+    public static OctaGameLogic load(Path file) throws IOException {
+        recover(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a game checkpoint: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(OFFSET_MAGIC) != MAGIC) {
+                throw new IOException("Not a game checkpoint: " + file);
+            }
+            int version = buffer.getInt(OFFSET_VERSION);
+            if (version != VERSION) {
+                throw new IOException("Unsupported checkpoint version " + version + " in " + file);
+            }
+            Topology topology;
+            try {
+                topology = Topology.of(buffer.getInt(OFFSET_SIZE), decode(GRID_TYPES, buffer, OFFSET_GRID_TYPE, file));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Checkpoint " + file + " has an invalid board size", e);
+            }
+            int cellCount = buffer.getInt(OFFSET_CELL_COUNT);
+            if (cellCount != topology.getCellCount() || channel.size() != HEADER_BYTES + (long) cellCount) {
+                throw new IOException("Checkpoint " + file + " is truncated or inconsistent");
+            }
+            byte[] cells = new byte[cellCount];
+            buffer.get(HEADER_BYTES, cells);
+            for (byte cell : cells) {
+                if ((cell & ~CELL_BITS) != 0) {
+                    throw new IOException("Checkpoint " + file + " holds an invalid cell");
+                }
+            }
+
+            GameMap map = new GameMap(topology, cells, buffer.getLong(OFFSET_HASH));
+            if (map.computeHash() != map.getHash()) {
+                throw new IOException("Checkpoint " + file + " does not match its header; a save was interrupted");
+            }
+            int repetitionLimit = buffer.getInt(OFFSET_REPETITION_LIMIT);
+            if (repetitionLimit < 0) {
+                throw new IOException("Checkpoint " + file + " has a negative repetition limit");
+            }
+            GameConfig config = new GameConfig(decode(WIN_CONDITIONS, buffer, OFFSET_WIN_CONDITION, file),
+                    buffer.getInt(OFFSET_TURN_LIMIT), repetitionLimit, buffer.getLong(OFFSET_SEED));
+            OctaGameLogic game = new OctaGameLogic(map, decode(PLAYERS, buffer, OFFSET_CURRENT_PLAYER, file), config,
+                    buffer.get(OFFSET_STOP_ON_ENEMY) != 0);
+            game.restoreProgress(buffer.getInt(OFFSET_TURN_COUNT), buffer.get(OFFSET_REPETITION_REACHED) != 0,
+                    readResult(buffer, file));
+            map.markCheckpointed(buffer.getLong(OFFSET_STAMP));
+            return game;
+        }
+    }
+
+    // Reads an enum stored as an ordinal byte, rejecting values no constant has
+    private static <E> E decode(E[] values, ByteBuffer buffer, int offset, Path file) throws IOException {
+        int ordinal = buffer.get(offset);
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Checkpoint " + file + " has an invalid value " + ordinal + " at header offset " + offset);
+        }
+        return values[ordinal];
+    }
+
+    private static GameResult readResult(ByteBuffer buffer, Path file) throws IOException {
+        int result = buffer.get(OFFSET_RESULT);
+        if (result == 0) {
+            return null;
+        }
+        int length = buffer.getShort(OFFSET_REASON_LENGTH);
+        if (result < 0 || result > RESULT_TIE || length < 0 || OFFSET_REASON + length > HEADER_BYTES) {
+            throw new IOException("Checkpoint " + file + " has an invalid game result");
+        }
+        byte[] reason = new byte[length];
+        buffer.get(OFFSET_REASON, reason);
+        return new GameResult(result == RESULT_TIE ? null : PLAYERS[result - 1], new String(reason, StandardCharsets.UTF_8));
+    }
+
+    private static long writeHeader(ByteBuffer buffer, OctaGameLogic game) {
+        GameMap map = game.getGameMap();
+        GameConfig config = game.getConfig();
+        long stamp = ThreadLocalRandom.current().nextLong() | 1; // Never 0, which means "no checkpoint"
+        buffer.putInt(OFFSET_MAGIC, MAGIC);
+        buffer.putInt(OFFSET_VERSION, VERSION);
+        buffer.putLong(OFFSET_STAMP, stamp);
+        buffer.putInt(OFFSET_SIZE, map.getSize());
+        buffer.put(OFFSET_GRID_TYPE, (byte) map.getGridType().ordinal());
+        buffer.put(OFFSET_WIN_CONDITION, (byte) config.getWinCondition().ordinal());
+        buffer.put(OFFSET_STOP_ON_ENEMY, (byte) (game.isStopOnEnemy() ? 1 : 0));
+        buffer.put(OFFSET_CURRENT_PLAYER, (byte) game.getCurrentPlayer().ordinal());
+        buffer.put(OFFSET_REPETITION_REACHED, (byte) (game.isRepetitionLimitReached() ? 1 : 0));
+        buffer.putInt(OFFSET_TURN_LIMIT, config.getTurnLimit());
+        buffer.putInt(OFFSET_REPETITION_LIMIT, config.getRepetitionLimit());
+        buffer.putInt(OFFSET_TURN_COUNT, game.getTurnCount());
+        buffer.putLong(OFFSET_HASH, map.getHash());
+        buffer.putInt(OFFSET_CELL_COUNT, map.getTotalCellCount());
+        buffer.putLong(OFFSET_SEED, config.getSeed());
+        GameResult result = game.getGameResult();
+        if (result == null) {
+            buffer.put(OFFSET_RESULT, (byte) 0);
+        } else {
+            byte[] reason = result.getReason().getBytes(StandardCharsets.UTF_8);
+            if (OFFSET_REASON + reason.length > HEADER_BYTES) {
+                throw new IllegalArgumentException("Result reason is too long to checkpoint");
+            }
+            buffer.put(OFFSET_RESULT, (byte) (result.getWinner() == null ? RESULT_TIE : 1 + result.getWinner().ordinal()));
+            buffer.putShort(OFFSET_REASON_LENGTH, (short) reason.length);
+            buffer.put(OFFSET_REASON, reason);
+        }
+        return stamp;
+    }
+}
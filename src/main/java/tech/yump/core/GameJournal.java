@@ -0,0 +1,118 @@
+package tech.yump.core;
+
+import tech.yump.engine.GameConfig;
+import tech.yump.model.Player;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Append-only binary record of a game, read back with {@link GameReplay}.
+ * <p>
+ * The file starts with a header (magic, version, board shape, {@link GameConfig} including
+ * its board seed, stop-on-enemy rule and keyframe interval) and a keyframe of the starting position.
+ * After that it is a stream of records, each starting with a tag byte:
+ * <ul>
+ *   <li>{@code MOVE}: one varint holding {@code (cellIndex << 1) | playerOrdinal}, usually 1-3 bytes;</li>
+ *   <li>{@code KEYFRAME}: written after every {@code keyframeInterval} moves: the turn count
+ *       (varint), the player to move, the board hash and the packed cells, one byte each.</li>
+ * </ul>
+ * Keyframes let a replayer jump close to any turn instead of replaying from the start.
+ * Records are only appended, so a journal of an interrupted game stays readable up to
+ * its last complete record.
+ */
+public final class GameJournal implements Closeable {
+
+    static final int MAGIC = 0x4F43544A; // "OCTJ"
+    static final int VERSION = 2; // 2 added the board seed
+    static final int TAG_MOVE = 1;
+    static final int TAG_KEYFRAME = 2;
+
+    private final DataOutputStream out;
+    private final OctaGameLogic game;
+    private final int keyframeInterval;
+    private int movesSinceKeyframe;
+    private Player lastMover;
+
+    /**
+     * Creates (or replaces) a journal file and records the current position of {@code game}
+     * as its starting keyframe.
+     * @param game The game being recorded; its board must be dense.
+     * @param keyframeInterval Moves between keyframes; smaller values seek faster but grow the file.
+     */
+    public GameJournal(Path file, OctaGameLogic game, int keyframeInterval) throws IOException {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("Keyframe interval must be positive");
+        }
+        this.game = game;
+        this.keyframeInterval = keyframeInterval;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+
+        GameMap map = game.getGameMap();
+        GameConfig config = game.getConfig();
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(map.getSize());
+        out.writeByte(map.getGridType().ordinal());
+        out.writeByte(config.getWinCondition().ordinal());
+        out.writeInt(config.getTurnLimit());
+        out.writeInt(config.getRepetitionLimit());
+        out.writeLong(config.getSeed());
+        out.writeBoolean(game.isStopOnEnemy());
+        out.writeInt(keyframeInterval);
+        writeKeyframe();
+    }
+
+    /**
+     * Records a move that has just been made on the recorded game, whose turn count must
+     * already include it. Writes a keyframe of
+     * the resulting position every {@code keyframeInterval} moves.
+     * @param index The board index of the cell that was played.
+     * @param player The player who made the move.
+     */
+    public void recordMove(int index, Player player) throws IOException {
+        out.writeByte(TAG_MOVE);
+        writeVarint(out, ((long) index << 1) | player.ordinal());
+        lastMover = player;
+        if (++movesSinceKeyframe == keyframeInterval) {
+            writeKeyframe();
+        }
+    }
+
+    /**
+     * Pushes buffered records to the file.
+     */
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeKeyframe() throws IOException {
+        GameMap map = game.getGameMap();
+        out.writeByte(TAG_KEYFRAME);
+        writeVarint(out, game.getTurnCount());
+        // The turn passes after every move, whether or not the caller has switched players yet
+        Player toMove = lastMover == null ? game.getCurrentPlayer() : OctaGameLogic.opponentOf(lastMover);
+        out.writeByte(toMove.ordinal());
+        out.writeLong(map.getHash());
+        out.write(map.rawCells());
+        movesSinceKeyframe = 0;
+    }
+
+    // Unsigned LEB128: seven bits per byte, high bit set on all but the last byte
+    static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
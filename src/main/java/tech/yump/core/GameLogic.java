@@ -6,7 +6,7 @@ import tech.yump.engine.GameResult;
 
 public interface GameLogic {
     boolean isValidMove(GameCell cell, Player player);
-    void makeMove(GameCell cell, Player player);
+    ChangeSet makeMove(GameCell cell, Player player);
     boolean isGameOver();
     GameResult getGameResult();
 }
\ No newline at end of file
@@ -3,24 +3,239 @@ package tech.yump.core;
 import tech.yump.model.CellState;
 import tech.yump.model.Direction;
 import tech.yump.model.GridType;
+import tech.yump.model.Player;
 import tech.yump.util.Coordinate;
 
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
 
+/**
+ * The game board. Cells are stored packed in a flat {@code byte[]} in row order (for
+ * square grids the index is {@code (y + size) * width + (x + size)}; hex boards store
+ * only the cells of the hexagon, see {@link Topology}); each byte holds the arrow
+ * direction in bits 0-2 and the cell state in bits 3-4. Neighbors are found by index
+ * arithmetic, so no per-cell objects exist unless a caller asks for a {@link GameCell} view.
+ * <p>
+ * The board also keeps a {@link Zobrist} hash of its contents that every write updates
+ * with a single XOR, so {@link #getHash()} is O(1), and an index of the cells each
+ * player owns (see {@link #getOwnedCells(Player)}).
+ * <p>
+ * Boards created with {@link #sparse} use the same indices but store their cells in
+ * tiles that are only materialized when written, so boards far larger than memory
+ * allows for a dense array can be played as long as the touched region stays small.
+ */
 public class GameMap {
-    private final Map<Coordinate, GameCell> gameMap;
+
+    /** Index returned when a coordinate or neighbor lies outside the board. */
+    public static final int NO_CELL = -1;
+
+    static final int ARROW_MASK = 0x07;
+    static final int STATE_SHIFT = 3;
+
+    private static final CellState[] STATES = CellState.values();
+    // Owned-cell list per CellState ordinal: 0 for PLAYER_1, 1 for PLAYER_2, -1 for unowned states
+    private static final int[] OWNER_SLOT = {-1, 0, 1, -1};
+    private static final int MIN_OWNED_CAPACITY = 16;
+    /** Cells per page for dirty tracking (4096, one file page in a checkpoint). */
+    static final int PAGE_SHIFT = 12;
+
+    // Dense storage, or null for a sparse board
+    private final byte[] cells;
+    // Sparse storage, or null for a dense board
+    private final ChunkedCells chunks;
+    private final int cellCount;
+    // Live number of cells per CellState ordinal, maintained by every state write
+    private final int[] stateCounts = new int[STATES.length];
+    // Zobrist hash of the cells, maintained by every write
+    private long hash;
+    // Dense lists of the cells each player owns, and every owned cell's position in its list.
+    // Positions of unowned cells are stale and never read.
+    private final int[][] owned = new int[2][];
+    private final int[] ownedSize = new int[2];
+    private final int[] ownedPosition; // null for a sparse board, whose tiles hold the positions
+    // Pages written since the last checkpoint (bit per page), and that checkpoint's stamp (0 = none)
+    private final long[] dirtyPages;
+    private long checkpointStamp;
+    // Views of the owned-cell lists, created on first use so the constructors do not leak 'this'
+    private final OwnedCells[] ownedViews = new OwnedCells[2];
+    // Shared neighbor table of every board of this shape
+    private final Topology topology;
     private final int size;
+    private final int width;
     private final GridType gridType;
-    
+
+    /**
+     * Creates a board whose arrows come from a random seed, so no two boards are alike.
+     * Use {@link #GameMap(int, GridType, long)} for a reproducible board.
+     */
     public GameMap(int size, GridType gridType) {
-        this.gameMap = new HashMap<>();
+        this(size, gridType, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a board with every cell NEUTRAL and arrows generated from {@code seed} by
+     * {@link BoardGenerator}: the same seed, size and grid type always give the same board,
+     * and the same board as {@link #sparse} with that seed. Large boards are filled in parallel.
+     */
+    public GameMap(int size, GridType gridType, long seed) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative");
+        }
+        this.topology = Topology.of(size, gridType);
         this.size = size;
+        this.width = 2 * size + 1;
         this.gridType = gridType;
-        initializeGameMap();
+        this.cells = new byte[topology.getCellCount()];
+        this.chunks = null;
+        this.cellCount = cells.length;
+        this.stateCounts[CellState.NEUTRAL.ordinal()] = cells.length;
+        this.ownedPosition = new int[cells.length];
+        this.dirtyPages = newPageBits(cells.length);
+        this.owned[0] = new int[MIN_OWNED_CAPACITY];
+        this.owned[1] = new int[MIN_OWNED_CAPACITY];
+        this.hash = BoardGenerator.fill(cells, seed, topology);
+    }
+
+    private GameMap(Topology topology, ChunkedCells chunks) {
+        this.topology = topology;
+        this.size = topology.getSize();
+        this.width = topology.getWidth();
+        this.gridType = topology.getGridType();
+        this.cells = null;
+        this.chunks = chunks;
+        this.cellCount = topology.getCellCount();
+        this.stateCounts[CellState.NEUTRAL.ordinal()] = cellCount;
+        this.ownedPosition = null;
+        this.dirtyPages = null;
+        this.owned[0] = new int[MIN_OWNED_CAPACITY];
+        this.owned[1] = new int[MIN_OWNED_CAPACITY];
+        // An untouched sparse board hashes to 0; see computeHash()
+    }
+
+    /**
+     * Adopts {@code cells} (not copied) as the storage of a new dense board and rebuilds the
+     * counters and owned-cell lists in one pass. Used when loading a {@link GameCheckpoint}.
+     */
+    GameMap(Topology topology, byte[] cells, long hash) {
+        this.topology = topology;
+        this.size = topology.getSize();
+        this.width = topology.getWidth();
+        this.gridType = topology.getGridType();
+        this.cells = cells;
+        this.chunks = null;
+        this.cellCount = cells.length;
+        this.ownedPosition = new int[cells.length];
+        this.dirtyPages = newPageBits(cells.length);
+        this.owned[0] = new int[MIN_OWNED_CAPACITY];
+        this.owned[1] = new int[MIN_OWNED_CAPACITY];
+        rebuildIndexes();
+        this.hash = hash;
+    }
+
+    /**
+     * Overwrites every cell with {@code cells.length} packed bytes read from {@code source} at
+     * {@code offset}, then rebuilds the counters and owned-cell lists in one pass. The caller
+     * supplies the hash of the new contents. Used to jump to a keyframe of a {@link GameJournal}.
+     */
+    void loadCells(ByteBuffer source, int offset, long hash) {
+        requireDense();
+        source.get(offset, cells);
+        rebuildIndexes();
+        this.hash = hash;
+        checkpointStamp = 0; // Every page changed
+    }
+
+    // Recomputes stateCounts and the owned-cell lists from the dense cells
+    private void rebuildIndexes() {
+        Arrays.fill(stateCounts, 0);
+        ownedSize[0] = 0;
+        ownedSize[1] = 0;
+        stateCounts[CellState.NEUTRAL.ordinal()] = cells.length;
+        for (int i = 0; i < cells.length; i++) {
+            int state = cells[i] >>> STATE_SHIFT;
+            if (state != CellState.NEUTRAL.ordinal()) {
+                stateCounts[CellState.NEUTRAL.ordinal()]--;
+                stateCounts[state]++;
+                changeOwner(i, CellState.NEUTRAL.ordinal(), state);
+            }
+        }
+    }
+
+    private static long[] newPageBits(int cellCount) {
+        int pages = (cellCount + (1 << PAGE_SHIFT) - 1) >>> PAGE_SHIFT;
+        return new long[(pages + 63) >>> 6];
+    }
+
+    /**
+     * Creates a sparse board that keeps at most 4096 tiles (about 80 MB) in memory and
+     * spills the rest to a temporary file. Every cell starts NEUTRAL with an arrow derived
+     * from {@code seed}, so two sparse boards with the same seed start identical.
+     */
+    public static GameMap sparse(int size, GridType gridType, long seed) {
+        return sparse(size, gridType, seed, 4096, null);
+    }
+
+    /**
+     * Creates a sparse board: cells are stored in 64x64 tiles that are materialized on first
+     * write, and untouched cells are NEUTRAL with an arrow derived from {@code seed}.
+     * @param maxResidentTiles Tiles kept in memory before the least recently used one is spilled to disk (at least 2).
+     * @param spillDirectory Directory for the spill file, or null for the system temporary directory.
+     */
+    public static GameMap sparse(int size, GridType gridType, long seed, int maxResidentTiles, Path spillDirectory) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative");
+        }
+        Topology topology = Topology.of(size, gridType);
+        return new GameMap(topology, new ChunkedCells(topology, seed, maxResidentTiles, spillDirectory));
     }
+    /**
+     * Copy constructor: duplicates the packed cells and counters of {@code other}.
+     */
+    private GameMap(GameMap other) {
+        this.topology = other.topology;
+        this.size = other.size;
+        this.width = other.width;
+        this.gridType = other.gridType;
+        this.cells = other.cells == null ? null : other.cells.clone();
+        this.chunks = other.chunks == null ? null : other.chunks.copy();
+        this.cellCount = other.cellCount;
+        System.arraycopy(other.stateCounts, 0, this.stateCounts, 0, stateCounts.length);
+        this.hash = other.hash;
+        this.ownedPosition = other.ownedPosition == null ? null : other.ownedPosition.clone();
+        this.dirtyPages = other.dirtyPages == null ? null : newPageBits(cellCount);
+        for (int slot = 0; slot < owned.length; slot++) {
+            owned[slot] = Arrays.copyOf(other.owned[slot], Math.max(MIN_OWNED_CAPACITY, other.ownedSize[slot]));
+            ownedSize[slot] = other.ownedSize[slot];
+        }
+    }
+
+    /**
+     * Creates a board holding the position captured in {@code snapshot}. Unlike the
+     * regular constructors this does not generate arrows; it is a bulk array copy.
+     */
+    public GameMap(BoardSnapshot snapshot) {
+        this.topology = snapshot.getTopology();
+        this.size = topology.getSize();
+        this.width = topology.getWidth();
+        this.gridType = topology.getGridType();
+        this.cells = snapshot.cells().clone();
+        this.chunks = null;
+        this.cellCount = cells.length;
+        this.dirtyPages = newPageBits(cells.length);
+        System.arraycopy(snapshot.stateCounts(), 0, this.stateCounts, 0, stateCounts.length);
+        this.hash = snapshot.getHash();
+        this.ownedPosition = new int[cells.length];
+        for (int slot = 0; slot < owned.length; slot++) {
+            owned[slot] = new int[MIN_OWNED_CAPACITY];
+            restoreOwned(slot, snapshot.ownedCells(slot));
+        }
+    }
+
     /**
      * Convenience constructor defaulting to OCTAGONAL grid type.
      * @param size Ring size for octagonal grid
@@ -29,87 +244,497 @@ public class GameMap {
         this(size, GridType.OCTAGONAL);
     }
 
-    private void initializeGameMap() {
-        // First pass: Create all cells in a square area based on size
-        for (int y = -size; y <= size; y++) {
-            for (int x = -size; x <= size; x++) {
-                Coordinate coord = new Coordinate(x, y);
-                gameMap.put(coord, new GameCell(coord));
+    /**
+     * Returns an independent copy of this board. This is a bulk array copy; no cells
+     * are re-created or re-linked. Copying a sparse board copies its materialized tiles.
+     */
+    public GameMap copy() {
+        return new GameMap(this);
+    }
+
+    /**
+     * Overwrites this board with the contents of {@code other}, reusing this board's storage.
+     * @throws IllegalArgumentException if the boards have different dimensions
+     * @throws UnsupportedOperationException if either board is sparse
+     */
+    public void copyFrom(GameMap other) {
+        requireDense();
+        other.requireDense();
+        if (other.topology != topology) {
+            throw new IllegalArgumentException("Cannot copy between boards of different shape");
+        }
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        checkpointStamp = 0; // Every page changed
+        System.arraycopy(other.stateCounts, 0, stateCounts, 0, stateCounts.length);
+        hash = other.hash;
+        for (int slot = 0; slot < owned.length; slot++) {
+            restoreOwned(slot, other.owned[slot], other.ownedSize[slot]);
+        }
+    }
+
+    /**
+     * Captures the current contents of this board in an immutable snapshot.
+     * @throws UnsupportedOperationException if this board is sparse
+     */
+    public BoardSnapshot snapshot() {
+        requireDense();
+        int[][] ownedCopy = {Arrays.copyOf(owned[0], ownedSize[0]), Arrays.copyOf(owned[1], ownedSize[1])};
+        return new BoardSnapshot(topology, cells.clone(), stateCounts.clone(), hash, ownedCopy);
+    }
+
+    /**
+     * Overwrites this board with the position captured in {@code snapshot}, reusing this board's storage.
+     * @throws IllegalArgumentException if the snapshot was taken from a board of a different shape
+     * @throws UnsupportedOperationException if this board is sparse
+     */
+    public void restoreFrom(BoardSnapshot snapshot) {
+        requireDense();
+        if (snapshot.getTopology() != topology) {
+            throw new IllegalArgumentException("Cannot restore a snapshot of a board of different shape");
+        }
+        System.arraycopy(snapshot.cells(), 0, cells, 0, cells.length);
+        checkpointStamp = 0; // Every page changed
+        System.arraycopy(snapshot.stateCounts(), 0, stateCounts, 0, stateCounts.length);
+        hash = snapshot.getHash();
+        for (int slot = 0; slot < owned.length; slot++) {
+            restoreOwned(slot, snapshot.ownedCells(slot));
+        }
+    }
+
+    private void restoreOwned(int slot, int[] source) {
+        restoreOwned(slot, source, source.length);
+    }
+
+    // Copies an owned-cell list and rebuilds the positions of its cells: O(owned cells), not O(board)
+    private void restoreOwned(int slot, int[] source, int count) {
+        if (owned[slot].length < count) {
+            owned[slot] = new int[Math.max(count, owned[slot].length * 2)];
+        }
+        int[] list = owned[slot];
+        System.arraycopy(source, 0, list, 0, count);
+        for (int i = 0; i < count; i++) {
+            ownedPosition[list[i]] = i;
+        }
+        ownedSize[slot] = count;
+    }
+
+    private void requireDense() {
+        if (cells == null) {
+            throw new UnsupportedOperationException("Not supported for sparse boards");
+        }
+    }
+
+    /**
+     * Copies the packed cells (arrow in bits 0-2, state in bits 3-4, in index order) into
+     * {@code target}, which must hold at least {@link #getTotalCellCount()} bytes. This is
+     * a bulk copy meant for callers that diff whole boards, such as renderers.
+     * @throws UnsupportedOperationException if the board is sparse
+     */
+    public void copyPackedCells(byte[] target) {
+        requireDense();
+        System.arraycopy(cells, 0, target, 0, cells.length);
+    }
+
+    // --- Checkpoint support (see GameCheckpoint) ---
+
+    byte[] rawCells() {
+        requireDense();
+        return cells;
+    }
+
+    /**
+     * Returns true if page {@code page} has been written since the last checkpoint.
+     */
+    boolean isPageDirty(int page) {
+        return (dirtyPages[page >>> 6] & 1L << page) != 0;
+    }
+
+    long getCheckpointStamp() {
+        return checkpointStamp;
+    }
+
+    /**
+     * Records that the board was fully written to the checkpoint with the given stamp.
+     */
+    void markCheckpointed(long stamp) {
+        Arrays.fill(dirtyPages, 0L);
+        checkpointStamp = stamp;
+    }
+
+    /**
+     * Deletes the spill file of a sparse board right away; otherwise it is deleted once the
+     * board is garbage collected. The board must not be used afterwards. Does nothing for
+     * dense boards.
+     */
+    public void release() {
+        if (chunks != null) {
+            chunks.release();
+        }
+    }
+
+    /**
+     * Returns true if this board was created with {@link #sparse} and stores its cells in tiles.
+     */
+    public boolean isSparse() {
+        return chunks != null;
+    }
+
+    /**
+     * Returns the {@link Zobrist} hash of the board contents. The hash is maintained
+     * incrementally, so this is O(1); it does not include the side to move
+     * (see {@link OctaGameLogic#getPositionHash()}).
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Computes the {@link Zobrist} hash of the board contents from scratch. This is O(board)
+     * and intended for cross-checking {@link #getHash()}. A sparse board hashes each cell
+     * relative to its untouched value, so only materialized tiles are visited.
+     */
+    public long computeHash() {
+        if (chunks != null) {
+            long seed = chunks.getSeed();
+            long[] hash = {0};
+            chunks.forEachMaterialized((index, packed) ->
+                    hash[0] ^= Zobrist.cellKey(index, packed ^ BoardGenerator.arrowOf(seed, index, topology)));
+            return hash[0];
+        }
+        long hash = 0;
+        for (int i = 0; i < cells.length; i++) {
+            hash ^= Zobrist.cellKey(i, cells[i]);
+        }
+        return hash;
+    }
+
+    /**
+     * Collects the indices of all cells in the given state.
+     * @param state The state to look for.
+     * @param out Receives the indices; must hold at least {@link #getStateCount(CellState)} entries.
+     * @return the number of indices written
+     */
+    public int collectCells(CellState state, int[] out) {
+        int slot = OWNER_SLOT[state.ordinal()];
+        if (slot >= 0) {
+            System.arraycopy(owned[slot], 0, out, 0, ownedSize[slot]);
+            return ownedSize[slot];
+        }
+        int wanted = stateCounts[state.ordinal()];
+        int count = 0;
+        for (int i = 0; i < cellCount && count < wanted; i++) {
+            if (read(i) >>> STATE_SHIFT == state.ordinal()) {
+                out[count++] = i;
             }
         }
-        
-        // Second pass: Link all neighbors
-        for (GameCell cell : gameMap.values()) {
-            linkCellNeighbors(cell);
+        return count;
+    }
+
+    /**
+     * Returns true if both boards have the same shape and every cell has the same state and arrow.
+     */
+    public boolean contentEquals(GameMap other) {
+        if (cells != null && other.cells != null) {
+            return other.gridType == gridType && Arrays.equals(cells, other.cells);
+        }
+        if (other.topology != topology) {
+            return false;
+        }
+        for (int i = 0; i < cellCount; i++) {
+            if (read(i) != other.read(i)) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    // --- Storage access: every cell read and write goes through these ---
+
+    private int read(int index) {
+        return cells != null ? cells[index] : chunks.get(index);
+    }
+
+    private void write(int index, int packed) {
+        if (cells != null) {
+            cells[index] = (byte) packed;
+            dirtyPages[index >>> (PAGE_SHIFT + 6)] |= 1L << (index >>> PAGE_SHIFT);
+        } else {
+            chunks.set(index, packed);
+        }
+    }
+
+    private int positionOf(int index) {
+        return ownedPosition != null ? ownedPosition[index] : chunks.getPosition(index);
+    }
+
+    private void setPositionOf(int index, int position) {
+        if (ownedPosition != null) {
+            ownedPosition[index] = position;
+        } else {
+            chunks.setPosition(index, position);
+        }
+    }
+
+    // --- Index-based access (the fast path used by the game logic) ---
+
+    /**
+     * Returns the board index of the given coordinate.
+     * @return the index, or {@link #NO_CELL} if the coordinate is off the board
+     */
+    public int indexOf(int x, int y) {
+        return topology.indexOf(x, y);
     }
 
     /**
-     * Link a cell with its 8 neighbors using coordinate offsets.
+     * Returns the board index of a packed coordinate (see {@link Coordinate#pack(int, int)}).
+     * @return the index, or {@link #NO_CELL} if the coordinate is off the board
      */
-    private void linkCellNeighbors(GameCell cell) {
-        Coordinate centerCoord = cell.getCoordinate();
-        int x = centerCoord.getX();
-        int y = centerCoord.getY();
+    public int indexOfPacked(long packedCoordinate) {
+        return topology.indexOf(Coordinate.packedX(packedCoordinate), Coordinate.packedY(packedCoordinate));
+    }
+
+    /**
+     * Returns the coordinate of a cell packed into a {@code long} (see {@link Coordinate#pack(int, int)}).
+     */
+    public long getPackedCoordinate(int index) {
+        return Coordinate.pack(topology.getX(index), topology.getY(index));
+    }
 
-        for (Direction dir : Direction.values()) {
-            Coordinate neighborCoord = getNeighborCoordinate(x, y, dir);
-            
-            GameCell neighbor = gameMap.get(neighborCoord);
-            if (neighbor != null) {
-                cell.setNeighbor(dir, neighbor);
+    public boolean contains(int x, int y) {
+        return topology.contains(x, y);
+    }
+
+    public int getX(int index) {
+        return topology.getX(index);
+    }
+
+    public int getY(int index) {
+        return topology.getY(index);
+    }
+
+    /**
+     * Returns the index of the neighbor in the given direction.
+     * @return the neighbor index, or {@link #NO_CELL} at the edge of the board
+     */
+    public int getNeighborIndex(int index, Direction direction) {
+        return topology.getNeighborIndex(index, direction.getValue());
+    }
+
+    /**
+     * Returns a bit mask of the directions in which the cell has a neighbor (bit {@code d}
+     * for the Direction with value {@code d}). The mask is precomputed per board shape.
+     */
+    public int getNeighborMask(int index) {
+        return topology.getNeighborMask(index);
+    }
+
+    /**
+     * Passes the index of every neighbor of a cell to {@code action}, in direction order,
+     * without allocating.
+     */
+    public void forEachNeighbor(int index, IntConsumer action) {
+        for (int mask = topology.getNeighborMask(index); mask != 0; mask &= mask - 1) {
+            action.accept(topology.getNeighborIndex(index, Integer.numberOfTrailingZeros(mask)));
+        }
+    }
+
+    public CellState getState(int index) {
+        return STATES[read(index) >>> STATE_SHIFT];
+    }
+
+    public void setState(int index, CellState state) {
+        int packed = read(index);
+        int updated = (state.ordinal() << STATE_SHIFT) | (packed & ARROW_MASK);
+        stateCounts[packed >>> STATE_SHIFT]--;
+        stateCounts[state.ordinal()]++;
+        changeOwner(index, packed >>> STATE_SHIFT, state.ordinal());
+        hash ^= Zobrist.cellKey(index, packed ^ updated);
+        write(index, updated);
+    }
+
+    // Moves a cell between the owned-cell lists when its state changes owner
+    private void changeOwner(int index, int oldState, int newState) {
+        int oldSlot = OWNER_SLOT[oldState];
+        int newSlot = OWNER_SLOT[newState];
+        if (oldSlot == newSlot) {
+            return;
+        }
+        if (oldSlot >= 0) {
+            // Swap-remove: the last entry takes the removed cell's position
+            int position = positionOf(index);
+            int last = owned[oldSlot][--ownedSize[oldSlot]];
+            owned[oldSlot][position] = last;
+            setPositionOf(last, position);
+        }
+        if (newSlot >= 0) {
+            if (ownedSize[newSlot] == owned[newSlot].length) {
+                owned[newSlot] = Arrays.copyOf(owned[newSlot], owned[newSlot].length * 2);
             }
+            setPositionOf(index, ownedSize[newSlot]);
+            owned[newSlot][ownedSize[newSlot]++] = index;
         }
     }
 
     /**
-     * Calculates the coordinate of a neighbor in a given direction.
-     * This effectively implements the "relative direction" logic.
+     * Returns a live view of the cells the given player owns, i.e. its legal moves.
+     * The view is maintained on every state change; see {@link OwnedCells}.
      */
-    private Coordinate getNeighborCoordinate(int x, int y, Direction dir) {
-        return switch (dir) {
-            case NORTH     -> new Coordinate(x, y + 1);
-            case NORTHEAST -> new Coordinate(x + 1, y + 1);
-            case EAST      -> new Coordinate(x + 1, y);
-            case SOUTHEAST -> new Coordinate(x + 1, y - 1);
-            case SOUTH     -> new Coordinate(x, y - 1);
-            case SOUTHWEST -> new Coordinate(x - 1, y - 1);
-            case WEST      -> new Coordinate(x - 1, y);
-            case NORTHWEST -> new Coordinate(x - 1, y + 1);
-        };
+    public OwnedCells getOwnedCells(Player player) {
+        int slot = player.ordinal();
+        OwnedCells view = ownedViews[slot];
+        if (view == null) {
+            // A racing thread may create a second view; both read the same lists
+            view = new OwnedCells(this, slot);
+            ownedViews[slot] = view;
+        }
+        return view;
+    }
+
+    int[] ownedArray(int slot) {
+        return owned[slot];
+    }
+
+    int ownedSize(int slot) {
+        return ownedSize[slot];
+    }
+
+    boolean isOwnedBy(int index, int slot) {
+        return index >= 0 && index < cellCount && OWNER_SLOT[read(index) >>> STATE_SHIFT] == slot;
     }
 
-    // Updated helper methods to use new coordinate system
-    public void addCell(int x, int y, GameCell cell) {
-        if (x < -size || x > size || y < -size || y > size) {
-            throw new IllegalArgumentException("Coordinates out of bounds");
+    /**
+     * Returns the number of cells currently in the given state. The counts are kept
+     * up to date on every state change, so this is O(1).
+     */
+    public int getStateCount(CellState state) {
+        return stateCounts[state.ordinal()];
+    }
+
+    /**
+     * Recounts every cell and compares the result with the live counters and owned-cell lists.
+     * Intended for debug assertions; this is O(board), or O(materialized tiles) for a sparse board.
+     * @return true if the live counters and lists match a full recount
+     */
+    boolean verifyStateCounts() {
+        int[] recount = new int[STATES.length];
+        if (chunks != null) {
+            // Untouched cells are all NEUTRAL, so only materialized cells need counting
+            recount[CellState.NEUTRAL.ordinal()] = cellCount;
+            chunks.forEachMaterialized((index, packed) -> {
+                recount[CellState.NEUTRAL.ordinal()]--;
+                recount[packed >>> STATE_SHIFT]++;
+            });
+        } else {
+            for (byte cell : cells) {
+                recount[cell >>> STATE_SHIFT]++;
+            }
         }
-        Coordinate coordinate = new Coordinate(x, y);
-        if (gameMap.containsKey(coordinate)) {
-            throw new IllegalStateException("Cell already exists at this position");
+        if (!Arrays.equals(recount, stateCounts)) {
+            return false;
         }
-        gameMap.put(coordinate, cell);
+        for (int slot = 0; slot < owned.length; slot++) {
+            if (ownedSize[slot] != recount[slot + 1]) {
+                return false;
+            }
+            for (int i = 0; i < ownedSize[slot]; i++) {
+                int index = owned[slot][i];
+                if (!isOwnedBy(index, slot) || positionOf(index) != i) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public Direction getArrowDirection(int index) {
+        return Direction.fromValue(read(index) & ARROW_MASK);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the direction does not exist on this grid (NORTH or SOUTH on a hex board)
+     */
+    public void setArrowDirection(int index, Direction direction) {
+        if (!topology.hasDirection(direction.getValue())) {
+            throw new IllegalArgumentException(gridType + " cells cannot point " + direction);
+        }
+        int packed = read(index);
+        int updated = (packed & ~ARROW_MASK) | direction.getValue();
+        hash ^= Zobrist.cellKey(index, packed ^ updated);
+        write(index, updated);
     }
-    
+
+    /**
+     * Rotates the arrow of a cell one step clockwise in place, to the next direction this
+     * grid has.
+     * @return the new arrow direction
+     */
+    public Direction rotateArrow(int index) {
+        int packed = read(index);
+        int arrow = topology.rotateClockwise(packed & ARROW_MASK);
+        int updated = (packed & ~ARROW_MASK) | arrow;
+        hash ^= Zobrist.cellKey(index, packed ^ updated);
+        write(index, updated);
+        return Direction.fromValue(arrow);
+    }
+
+    /**
+     * Returns the raw packed byte of a cell (arrow in bits 0-2, state in bits 3-4).
+     */
+    int getPacked(int index) {
+        return read(index);
+    }
+
+    /**
+     * Overwrites the raw packed byte of a cell, keeping the counters and hash in step.
+     * Used to restore journaled cells.
+     */
+    void setPacked(int index, int packed) {
+        int old = read(index);
+        stateCounts[old >>> STATE_SHIFT]--;
+        stateCounts[packed >>> STATE_SHIFT]++;
+        changeOwner(index, old >>> STATE_SHIFT, packed >>> STATE_SHIFT);
+        hash ^= Zobrist.cellKey(index, old ^ packed);
+        write(index, packed);
+    }
+
+    // --- Object views ---
+
     public GameCell getCell(int x, int y) {
-        Coordinate coordinate = new Coordinate(x, y);
-        return gameMap.get(coordinate);
+        int index = indexOf(x, y);
+        return index == NO_CELL ? null : new GameCell(this, index);
     }
-    
+
     public GameCell getCell(Coordinate coordinate) {
-        return gameMap.get(coordinate);
+        if (coordinate == null) {
+            return null;
+        }
+        return getCell(coordinate.getX(), coordinate.getY());
+    }
+
+    /**
+     * Returns a view of the cell at the given index.
+     */
+    public GameCell getCellAt(int index) {
+        if (index < 0 || index >= cellCount) {
+            throw new IndexOutOfBoundsException("Cell index out of bounds: " + index);
+        }
+        return new GameCell(this, index);
     }
-    
+
     // Get all cells in the map
     public List<GameCell> getAllCells() {
-        return gameMap.values().stream().collect(Collectors.toList());
+        List<GameCell> all = new ArrayList<>(cellCount);
+        for (int i = 0; i < cellCount; i++) {
+            all.add(new GameCell(this, i));
+        }
+        return all;
     }
 
     /**
      * Returns the total number of cells in the map.
      */
     public int getTotalCellCount() {
-        return gameMap.size();
+        return cellCount;
     }
 
     /**
@@ -120,6 +745,24 @@ public class GameMap {
         return size;
     }
 
+    /**
+     * Returns the number of cells along the widest row or column of the board ({@code 2 * size + 1}).
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    public GridType getGridType() {
+        return gridType;
+    }
+
+    /**
+     * Returns the shared topology (neighbor table) of this board's shape.
+     */
+    public Topology getTopology() {
+        return topology;
+    }
+
     /**
      * Prints a textual representation of the game map to the console.
      * Uses a 2D grid layout instead of the old ring-based printout.
@@ -130,12 +773,8 @@ public class GameMap {
         System.out.println("--- Game Map (Size: " + size + ", GridType: " + gridType + ") ---");
         for (int y = size; y >= -size; y--) {
             for (int x = -size; x <= size; x++) {
-                GameCell cell = gameMap.get(new Coordinate(x, y));
-                if (cell != null) {
-                    System.out.print(getCellStateRepresentation(cell.getState()) + " ");
-                } else {
-                    System.out.print(" .  "); // Should not happen with new generator
-                }
+                int index = indexOf(x, y);
+                System.out.print(index == NO_CELL ? "    " : getCellStateRepresentation(getState(index)) + " ");
             }
             System.out.println(); // Newline after each row
         }
@@ -155,4 +794,4 @@ public class GameMap {
             case BLOCKED    -> "[B]";
         };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,229 @@
+package tech.yump.core;
+
+import tech.yump.engine.GameConfig;
+import tech.yump.model.GridType;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads a {@link GameJournal} back and reconstructs the position after any recorded turn.
+ * <p>
+ * The file is memory-mapped and scanned once on open to find its keyframes. {@link #seek}
+ * loads the last keyframe at or before the requested turn straight from the mapping and
+ * replays the moves after it with the index-based {@link OctaGameLogic#makeMove(int, Player)},
+ * so no cell views or rendering are involved. A truncated final record, as left by an
+ * interrupted game, is ignored.
+ */
+public final class GameReplay implements Closeable {
+
+    private static final GridType[] GRID_TYPES = GridType.values();
+    private static final WinCondition[] WIN_CONDITIONS = WinCondition.values();
+    private static final Player[] PLAYERS = Player.values();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final OctaGameLogic game;
+    private final int cellCount;
+    private final int end;
+
+    // Turn and file offset (just after the tag) of every keyframe, in file order
+    private int[] keyframeTurns = new int[16];
+    private int[] keyframeOffsets = new int[16];
+    private int keyframeCount;
+    private int lastTurn;
+
+    private int position; // File offset of the next record to replay into game
+
+    /**
+     * Opens a journal and positions the replay at its first keyframe.
+     * @throws IOException if the file cannot be read, is not a journal of a supported
+     *         version, or is corrupt
+     */
+    public GameReplay(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Journal " + file + " is too large to map");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            this.end = buffer.limit();
+            if (end < 32 || buffer.getInt() != GameJournal.MAGIC) {
+                throw new IOException("Not a game journal: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != GameJournal.VERSION) {
+                throw new IOException("Unsupported journal version " + version + " in " + file);
+            }
+            Topology topology;
+            GameConfig config;
+            try {
+                topology = Topology.of(buffer.getInt(), decode(GRID_TYPES, file));
+                config = new GameConfig(decode(WIN_CONDITIONS, file), buffer.getInt(), buffer.getInt(), buffer.getLong());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Journal " + file + " has an invalid board size or repetition limit", e);
+            }
+            boolean stopOnEnemy = buffer.get() != 0;
+            buffer.getInt(); // Keyframe interval; keyframes are found by scanning
+
+            this.cellCount = topology.getCellCount();
+            this.game = new OctaGameLogic(new GameMap(topology, new byte[cellCount], 0L), Player.PLAYER_1,
+                    config, stopOnEnemy);
+            scan(buffer.position(), file);
+            if (keyframeCount == 0) {
+                throw new IOException("Journal " + file + " has no starting keyframe");
+            }
+            loadKeyframe(0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Indexes the keyframes and counts the turns of every complete record
+    private void scan(int offset, Path file) throws IOException {
+        int turn = 0;
+        try {
+            while (offset < end) {
+                buffer.position(offset);
+                int tag = buffer.get();
+                if (tag == GameJournal.TAG_MOVE) {
+                    readVarint();
+                    turn++;
+                } else if (tag == GameJournal.TAG_KEYFRAME) {
+                    int recordStart = buffer.position();
+                    turn = (int) readVarint();
+                    decode(PLAYERS, file); // Checked here so loadKeyframe can trust it
+                    buffer.position(buffer.position() + Long.BYTES + cellCount);
+                    addKeyframe(turn, recordStart);
+                } else {
+                    break;
+                }
+                lastTurn = turn;
+                offset = buffer.position();
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // Truncated last record: everything before it is usable
+        }
+    }
+
+    // Reads an enum stored as an ordinal byte, rejecting values no constant has
+    private <E> E decode(E[] values, Path file) throws IOException {
+        int offset = buffer.position();
+        int ordinal = buffer.get();
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("Journal " + file + " has an invalid value " + ordinal + " at offset " + offset);
+        }
+        return values[ordinal];
+    }
+
+    private void addKeyframe(int turn, int offset) {
+        if (keyframeCount == keyframeTurns.length) {
+            keyframeTurns = Arrays.copyOf(keyframeTurns, keyframeCount * 2);
+            keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+        }
+        keyframeTurns[keyframeCount] = turn;
+        keyframeOffsets[keyframeCount] = offset;
+        keyframeCount++;
+    }
+
+    /**
+     * Returns the game positioned at the given turn. The returned game is owned by this
+     * replay and is overwritten by the next seek; copy or snapshot it to keep a position.
+     * Seeking forward from the current turn replays only the moves in between; seeking
+     * backward, or past a keyframe, restarts from the nearest keyframe.
+     * @param turn A turn between the journal's first keyframe and {@link #getLastTurn()}.
+     * @throws IllegalArgumentException if the journal does not cover the turn
+     */
+    public OctaGameLogic seek(int turn) {
+        if (turn < keyframeTurns[0] || turn > lastTurn) {
+            throw new IllegalArgumentException("Turn " + turn + " is not in the journal (covers "
+                    + keyframeTurns[0] + "-" + lastTurn + ")");
+        }
+        int keyframe = keyframeAtOrBefore(turn);
+        if (turn < game.getTurnCount() || keyframeTurns[keyframe] > game.getTurnCount()) {
+            loadKeyframe(keyframe);
+        }
+        buffer.position(position);
+        while (game.getTurnCount() < turn) {
+            int tag = buffer.get();
+            if (tag == GameJournal.TAG_MOVE) {
+                long move = readVarint();
+                Player player = PLAYERS[(int) (move & 1)];
+                game.makeMove((int) (move >>> 1), player);
+                if (game.getCurrentPlayer() == player) {
+                    game.switchPlayer();
+                }
+            } else {
+                // A keyframe of the position we have already reached by replaying
+                readVarint();
+                buffer.position(buffer.position() + 1 + Long.BYTES + cellCount);
+            }
+        }
+        position = buffer.position();
+        return game;
+    }
+
+    private int keyframeAtOrBefore(int turn) {
+        int found = Arrays.binarySearch(keyframeTurns, 0, keyframeCount, turn);
+        if (found < 0) {
+            return -found - 2;
+        }
+        // Equal turns can repeat if a keyframe was written at an unchanged turn count; take the last
+        while (found + 1 < keyframeCount && keyframeTurns[found + 1] == turn) {
+            found++;
+        }
+        return found;
+    }
+
+    private void loadKeyframe(int keyframe) {
+        buffer.position(keyframeOffsets[keyframe]);
+        int turn = (int) readVarint();
+        Player toMove = PLAYERS[buffer.get()];
+        long hash = buffer.getLong();
+        game.getGameMap().loadCells(buffer, buffer.position(), hash);
+        game.resetProgress(toMove, turn);
+        position = buffer.position() + cellCount;
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+            if (shift > 56) {
+                throw new IllegalArgumentException("Malformed varint in journal");
+            }
+        }
+    }
+
+    /**
+     * Returns the last turn the journal covers.
+     */
+    public int getLastTurn() {
+        return lastTurn;
+    }
+
+    /**
+     * Returns the number of keyframes in the journal, including the starting one.
+     */
+    public int getKeyframeCount() {
+        return keyframeCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,70 @@
+package tech.yump.core;
+
+import tech.yump.engine.GameConfig;
+import tech.yump.engine.GameResult;
+import tech.yump.model.Player;
+
+/**
+ * Immutable copy of an {@link OctaGameLogic} position, taken with {@link OctaGameLogic#snapshot()}:
+ * the board plus the player to move, turn count, result, rules and repetition history.
+ * <p>
+ * Snapshots are safe to share between threads. A parallel worker forks its own game
+ * from one with {@link OctaGameLogic#OctaGameLogic(GameSnapshot)} and can later reset
+ * that game in place with {@link OctaGameLogic#restoreFrom(GameSnapshot)}.
+ */
+public final class GameSnapshot {
+    private final BoardSnapshot board;
+    private final GameConfig config;
+    private final Player currentPlayer;
+    private final int turnCount;
+    private final GameResult gameResult;
+    private final boolean stopOnEnemy;
+    private final boolean repetitionLimitReached;
+    // Private copy, never mutated after construction; null when the repetition rule is off
+    private final RepetitionTable repetitions;
+
+    GameSnapshot(BoardSnapshot board, GameConfig config, Player currentPlayer, int turnCount,
+                 GameResult gameResult, boolean stopOnEnemy, boolean repetitionLimitReached,
+                 RepetitionTable repetitions) {
+        this.board = board;
+        this.config = config;
+        this.currentPlayer = currentPlayer;
+        this.turnCount = turnCount;
+        this.gameResult = gameResult;
+        this.stopOnEnemy = stopOnEnemy;
+        this.repetitionLimitReached = repetitionLimitReached;
+        this.repetitions = repetitions;
+    }
+
+    public BoardSnapshot getBoard() {
+        return board;
+    }
+
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public int getTurnCount() {
+        return turnCount;
+    }
+
+    public GameResult getGameResult() {
+        return gameResult;
+    }
+
+    public boolean isStopOnEnemy() {
+        return stopOnEnemy;
+    }
+
+    boolean isRepetitionLimitReached() {
+        return repetitionLimitReached;
+    }
+
+    RepetitionTable getRepetitions() {
+        return repetitions;
+    }
+}
@@ -7,9 +7,6 @@ import tech.yump.model.WinCondition;
 import tech.yump.engine.GameConfig;
 import tech.yump.engine.GameResult;
 
-import java.util.HashSet;
-import java.util.Set;
-
 public class OctaGameLogic implements GameLogic {
 
     private final GameMap gameMap;
@@ -21,6 +18,13 @@ public class OctaGameLogic implements GameLogic {
     private final GameConfig config;
     private int turnCount = 0;
     private GameResult gameResult = null; // To store the result once the game is over
+    // Occurrences of each position reached by a move; null when the repetition rule is off
+    private final RepetitionTable repetitions;
+    private boolean repetitionLimitReached = false;
+    // Undo log for unmakeMove(); null unless undo has been enabled
+    private UndoJournal journal;
+    // Cells changed by the last move, refilled by every move
+    private final ChangeSet changes = new ChangeSet();
 
     public OctaGameLogic(GameMap gameMap, Player startingPlayer) {
         this(gameMap, startingPlayer, new GameConfig(WinCondition.ELIMINATION, 50));
@@ -58,93 +62,331 @@ public class OctaGameLogic implements GameLogic {
         this.currentPlayer = startingPlayer;
         this.config = config;
         this.stopOnEnemy = stopOnEnemy;
+        this.repetitions = config.getRepetitionLimit() > 0 ? new RepetitionTable() : null;
+    }
+
+    /**
+     * Returns an independent copy of this game: the board is copied and the turn count,
+     * current player, rules and result are carried over.
+     */
+    public OctaGameLogic copy() {
+        OctaGameLogic copy = new OctaGameLogic(gameMap.copy(), currentPlayer, config, stopOnEnemy);
+        copy.turnCount = turnCount;
+        copy.gameResult = gameResult;
+        copy.repetitionLimitReached = repetitionLimitReached;
+        if (repetitions != null) {
+            copy.repetitions.copyFrom(repetitions);
+        }
+        return copy;
+    }
+
+    /**
+     * Overwrites this game with the position of {@code other}, reusing this game's board storage.
+     * Both games must have boards of the same shape; this game's {@link GameConfig} is kept.
+     * Any moves recorded for {@link #unmakeMove()} are discarded.
+     */
+    public void copyFrom(OctaGameLogic other) {
+        gameMap.copyFrom(other.gameMap);
+        currentPlayer = other.currentPlayer;
+        turnCount = other.turnCount;
+        gameResult = other.gameResult;
+        stopOnEnemy = other.stopOnEnemy;
+        repetitionLimitReached = other.repetitionLimitReached;
+        restoreHistory(other.repetitions);
+    }
+
+    /**
+     * Creates a game holding the position captured in {@code snapshot}, with the snapshot's rules.
+     * The board is a bulk copy of the snapshot; no arrows are generated.
+     */
+    public OctaGameLogic(GameSnapshot snapshot) {
+        this(new GameMap(snapshot.getBoard()), snapshot.getCurrentPlayer(), snapshot.getConfig(), snapshot.isStopOnEnemy());
+        turnCount = snapshot.getTurnCount();
+        gameResult = snapshot.getGameResult();
+        repetitionLimitReached = snapshot.isRepetitionLimitReached();
+        restoreHistory(snapshot.getRepetitions());
+    }
+
+    /**
+     * Captures the current position in an immutable snapshot that can be shared between threads.
+     */
+    public GameSnapshot snapshot() {
+        RepetitionTable history = null;
+        if (repetitions != null) {
+            history = new RepetitionTable();
+            history.copyFrom(repetitions);
+        }
+        return new GameSnapshot(gameMap.snapshot(), config, currentPlayer, turnCount, gameResult,
+                stopOnEnemy, repetitionLimitReached, history);
+    }
+
+    /**
+     * Overwrites this game with the position captured in {@code snapshot}, reusing this game's
+     * board storage. As with {@link #copyFrom(OctaGameLogic)}, this game's {@link GameConfig}
+     * is kept and any moves recorded for {@link #unmakeMove()} are discarded.
+     * @throws IllegalArgumentException if the snapshot was taken from a board of a different shape
+     */
+    public void restoreFrom(GameSnapshot snapshot) {
+        gameMap.restoreFrom(snapshot.getBoard());
+        currentPlayer = snapshot.getCurrentPlayer();
+        turnCount = snapshot.getTurnCount();
+        gameResult = snapshot.getGameResult();
+        stopOnEnemy = snapshot.isStopOnEnemy();
+        repetitionLimitReached = snapshot.isRepetitionLimitReached();
+        restoreHistory(snapshot.getRepetitions());
+    }
+
+    boolean isRepetitionLimitReached() {
+        return repetitionLimitReached;
+    }
+
+    /**
+     * Restores the progress fields of a game loaded from a {@link GameCheckpoint}.
+     */
+    void restoreProgress(int turnCount, boolean repetitionLimitReached, GameResult gameResult) {
+        this.turnCount = turnCount;
+        this.repetitionLimitReached = repetitionLimitReached;
+        this.gameResult = gameResult;
+    }
+
+    /**
+     * Puts the game at a keyframe of a {@link GameJournal} whose cells have already been
+     * loaded into the board: sets the player to move and turn count, and forgets the result,
+     * undo journal and repetition history.
+     */
+    void resetProgress(Player currentPlayer, int turnCount) {
+        this.currentPlayer = currentPlayer;
+        this.turnCount = turnCount;
+        this.gameResult = null;
+        this.repetitionLimitReached = false;
+        restoreHistory(null);
+    }
+
+    // Resets the undo journal and replaces the repetition counts with a copy of the given ones
+    private void restoreHistory(RepetitionTable source) {
+        if (journal != null) {
+            journal.clear();
+        }
+        if (repetitions != null) {
+            if (source != null) {
+                repetitions.copyFrom(source);
+            } else {
+                repetitions.clear();
+            }
+        }
     }
 
     @Override
     public boolean isValidMove(GameCell cell, Player player) {
-        if (cell == null) {
+        if (cell == null || cell.getMap() != gameMap) {
+            return false;
+        }
+        return isValidMove(cell.getIndex(), player);
+    }
+
+    /**
+     * Index-based variant of {@link #isValidMove(GameCell, Player)}.
+     * @param index The board index of the selected cell.
+     * @param player The player attempting the move.
+     * @return true if the player owns the cell
+     */
+    public boolean isValidMove(int index, Player player) {
+        if (index < 0 || index >= gameMap.getTotalCellCount()) {
             return false;
         }
         // A move is valid if the cell's state matches the player's state.
-        return cell.getState() == player.getCellState();
+        return gameMap.getState(index) == player.getCellState();
+    }
+
+    /**
+     * Returns the legal moves of a player, i.e. the cells it owns, as a live zero-copy view
+     * with O(1) size, indexed access and random sampling.
+     */
+    public OwnedCells getLegalMoves(Player player) {
+        return gameMap.getOwnedCells(player);
+    }
+
+    /**
+     * Lists every valid move of a player, i.e. the indices of the cells it owns. This is O(moves).
+     * @param player The player to list moves for.
+     * @param moves Receives the cell indices; must hold at least as many entries as the player owns cells.
+     * @return the number of moves written
+     */
+    public int collectValidMoves(Player player, int[] moves) {
+        return gameMap.collectCells(player.getCellState(), moves);
     }
 
     @Override
-    public void makeMove(GameCell cell, Player player) {
+    public ChangeSet makeMove(GameCell cell, Player player) {
+        if (cell == null || cell.getMap() != gameMap) {
+            throw new IllegalArgumentException("Invalid move: cell does not belong to this game map.");
+        }
+        return makeMove(cell.getIndex(), player);
+    }
+
+    /**
+     * Index-based variant of {@link #makeMove(GameCell, Player)} that works directly
+     * on the packed board without creating cell views.
+     * @param index The board index of the selected cell.
+     * @param player The player making the move.
+     * @return the cells the move changed and why its chain stopped; the same instance is
+     *         refilled by every move, see {@link ChangeSet}
+     */
+    public ChangeSet makeMove(int index, Player player) {
         // 1. Validate the move
-        if (!isValidMove(cell, player)) {
+        if (!isValidMove(index, player)) {
             throw new IllegalArgumentException("Invalid move: Player " + player + " cannot move on this cell.");
         }
 
-        // 2. Rotate the initially selected cell's arrow
-        Direction originalDirection = cell.getArrowDirection();
-        Direction newDirection = originalDirection.rotateClockwise();
-        cell.setArrowDirection(newDirection);
+        int before = gameMap.getPacked(index);
+        if (journal != null) {
+            journal.beginFrame(turnCount, currentPlayer, gameResult, repetitionLimitReached);
+            journal.recordCell(index, before);
+        }
+        changes.begin(player);
 
-        // 3. Prepare for the chain reaction
-        // This set prevents infinite loops if arrows form a cycle.
-        Set<GameCell> capturedThisTurn = new HashSet<>();
-        capturedThisTurn.add(cell); // The first cell is already "captured" this turn.
+        // 2. Rotate the initially selected cell's arrow
+        Direction newDirection = gameMap.rotateArrow(index);
+        changes.add(index, before, gameMap.getPacked(index));
 
-        // 4. Start the propagation from the first cell's NEW arrow direction
-        GameCell nextCellInChain = cell.getNeighbor(newDirection);
-        propagate(nextCellInChain, player, capturedThisTurn);
+        // 3. Start the propagation from the first cell's NEW arrow direction
+        int nextCellInChain = gameMap.getNeighborIndex(index, newDirection);
+        changes.finish(propagate(nextCellInChain, player));
 
-        // 5. Increment turn count
+        // 4. Increment turn count
         this.turnCount++;
+
+        // 5. Record the resulting position, with the opponent to move, for the repetition rule
+        if (repetitions != null) {
+            long position = gameMap.getHash() ^ sideToMoveKey(opponentOf(player));
+            if (journal != null) {
+                journal.recordPosition(position);
+            }
+            if (repetitions.increment(position) >= config.getRepetitionLimit()) {
+                repetitionLimitReached = true;
+            }
+        }
+        return changes;
     }
 
     /**
-     * Handles the recursive chain reaction of capturing cells.
+     * Returns the change set of the most recent move; see {@link #makeMove(int, Player)}.
      */
-    private void propagate(GameCell currentCell, Player player, Set<GameCell> capturedThisTurn) {
-        GameCell cellToProcess = currentCell;
+    public ChangeSet getLastChanges() {
+        return changes;
+    }
+
+    /**
+     * Takes back the most recent move made since undo was enabled, restoring the board,
+     * turn count, player to move and result to what they were before it. Runs in
+     * O(cells changed by the move); calls nest to any depth.
+     * @throws IllegalStateException if undo is disabled or there is no move to take back
+     */
+    public void unmakeMove() {
+        if (journal == null || journal.isEmpty()) {
+            throw new IllegalStateException("No move to undo");
+        }
+        turnCount = journal.topTurnCount();
+        currentPlayer = journal.topPlayer();
+        gameResult = journal.topResult();
+        repetitionLimitReached = journal.topRepetitionReached();
+        if (journal.topRecorded()) {
+            repetitions.decrement(journal.topRecordedPosition());
+        }
+        journal.pop(gameMap);
+    }
+
+    /**
+     * Enables or disables recording of moves for {@link #unmakeMove()}. Recording is off by
+     * default so that long games do not accumulate an undo log; toggling it discards any
+     * recorded moves.
+     */
+    public void setUndoEnabled(boolean enabled) {
+        if (!enabled) {
+            journal = null;
+        } else if (journal == null) {
+            journal = new UndoJournal();
+        } else {
+            journal.clear();
+        }
+    }
+
+    public boolean isUndoEnabled() {
+        return journal != null;
+    }
+
+    /**
+     * Returns the number of moves that {@link #unmakeMove()} can currently take back.
+     */
+    public int getUndoDepth() {
+        return journal == null ? 0 : journal.depth();
+    }
+
+    /**
+     * Handles the chain reaction of capturing cells.
+     * <p>
+     * No visited set is needed to stop cycles: the selected cell is owned by the player
+     * and every captured cell becomes owned by the player, so a chain that loops back
+     * always ends on the "already owned" check. A move therefore allocates nothing.
+     * Every captured cell is added to the change set.
+     * @return why the chain stopped
+     */
+    private ChangeSet.Termination propagate(int startIndex, Player player) {
+        CellState playerState = player.getCellState();
+        int cellToProcess = startIndex;
 
         // Use a loop for tail-recursion-like behavior to avoid stack overflow on long chains.
-        while (cellToProcess != null) {
+        while (cellToProcess != GameMap.NO_CELL) {
             // --- CHECK STOPPING CONDITIONS ---
+            CellState state = gameMap.getState(cellToProcess);
 
-            // 1. Stop if the cell is already owned by the current player
-            if (cellToProcess.getState() == player.getCellState()) {
-                return; // End of chain
+            // 1. Stop if the cell is already owned by the current player.
+            //    This also covers cells captured earlier in this chain (loops).
+            if (state == playerState) {
+                // End of chain; only a chain that looped can meet a cell it changed
+                return changes.contains(cellToProcess) ? ChangeSet.Termination.LOOP : ChangeSet.Termination.OWN_CELL;
             }
 
-            // 2. Stop if we have already captured this cell in the current turn (prevents loops)
-            if (capturedThisTurn.contains(cellToProcess)) {
-                return; // End of chain
-            }
-            
-            // 3. (Optional Rule) Stop if we hit an enemy cell
-            if (stopOnEnemy && cellToProcess.getState().isPlayerOwned()) {
-                return; // End of chain
+            // 2. (Optional Rule) Stop if we hit an enemy cell
+            if (stopOnEnemy && state.isPlayerOwned()) {
+                return ChangeSet.Termination.ENEMY; // End of chain
             }
 
             // --- PROCESS THE CELL ---
 
+            int before = gameMap.getPacked(cellToProcess);
+            if (journal != null) {
+                journal.recordCell(cellToProcess, before);
+            }
+
             // Capture the cell for the current player
-            cellToProcess.setState(player.getCellState());
-            capturedThisTurn.add(cellToProcess); // Mark as captured for loop prevention
+            gameMap.setState(cellToProcess, playerState);
 
             // Rotate the newly captured cell's arrow
-            Direction nextArrowDirection = cellToProcess.getArrowDirection().rotateClockwise();
-            cellToProcess.setArrowDirection(nextArrowDirection);
+            Direction nextArrowDirection = gameMap.rotateArrow(cellToProcess);
+            changes.add(cellToProcess, before, gameMap.getPacked(cellToProcess));
             
             // --- ADVANCE TO THE NEXT CELL IN THE CHAIN ---
-            cellToProcess = cellToProcess.getNeighbor(nextArrowDirection);
+            cellToProcess = gameMap.getNeighborIndex(cellToProcess, nextArrowDirection);
         }
+        return ChangeSet.Termination.EDGE;
     }
     
     @Override
     public boolean isGameOver() {
         if (gameResult != null) return true; // Game is already decided
 
-        if (config.getWinCondition() == WinCondition.ELIMINATION) {
-            return checkEliminationCondition();
+        // Debug cross-checks (enabled with -ea): the live counters and hash must match a full recount
+        assert gameMap.verifyStateCounts() : "Cell state counters out of sync with the board";
+        assert gameMap.getHash() == gameMap.computeHash() : "Incremental hash out of sync with the board";
+
+        if (config.getWinCondition() == WinCondition.ELIMINATION && checkEliminationCondition()) {
+            return true;
         }
-        if (config.getWinCondition() == WinCondition.TURN_LIMIT_MAJORITY) {
-            return checkTurnLimitCondition();
+        if (config.getWinCondition() == WinCondition.TURN_LIMIT_MAJORITY && checkTurnLimitCondition()) {
+            return true;
         }
-        return false;
+        return checkRepetitionCondition();
     }
 
     /**
@@ -152,16 +394,8 @@ public class OctaGameLogic implements GameLogic {
      * @return true if one player has eliminated the other
      */
     private boolean checkEliminationCondition() {
-        int player1Count = 0;
-        int player2Count = 0;
-
-        for (GameCell cell : gameMap.getAllCells()) {
-            if (cell.getState() == CellState.PLAYER_1) {
-                player1Count++;
-            } else if (cell.getState() == CellState.PLAYER_2) {
-                player2Count++;
-            }
-        }
+        int player1Count = gameMap.getStateCount(CellState.PLAYER_1);
+        int player2Count = gameMap.getStateCount(CellState.PLAYER_2);
 
         // Only declare elimination if some turns have passed to avoid immediate wins
         if (turnCount > 0) {
@@ -184,29 +418,61 @@ public class OctaGameLogic implements GameLogic {
      */
     private boolean checkTurnLimitCondition() {
         if (turnCount >= config.getTurnLimit()) {
-            int player1Count = 0;
-            int player2Count = 0;
-
-            for (GameCell cell : gameMap.getAllCells()) {
-                if (cell.getState() == CellState.PLAYER_1) {
-                    player1Count++;
-                } else if (cell.getState() == CellState.PLAYER_2) {
-                    player2Count++;
-                }
-            }
+            decideByMajority("");
+            return true;
+        }
+        return false;
+    }
 
-            if (player1Count > player2Count) {
-                gameResult = new GameResult(Player.PLAYER_1, "by having the majority of cells (" + player1Count + " vs " + player2Count + ")");
-            } else if (player2Count > player1Count) {
-                gameResult = new GameResult(Player.PLAYER_2, "by having the majority of cells (" + player2Count + " vs " + player1Count + ")");
-            } else {
-                gameResult = new GameResult(null, "- it's a tie with " + player1Count + " cells each");
-            }
+    /**
+     * Checks if a position has occurred as often as the configured repetition limit.
+     * Arrows cycle with period 8, so without this rule two players can repeat the same
+     * moves until the turn limit. Positions are counted after each move, with the
+     * opponent to move.
+     * @return true if the repetition limit has been reached
+     */
+    private boolean checkRepetitionCondition() {
+        if (repetitionLimitReached) {
+            decideByMajority(" after a position repeated " + config.getRepetitionLimit() + " times");
             return true;
         }
         return false;
     }
 
+    /**
+     * Ends an undecided game by cell majority, as the turn limit does, for callers that stop
+     * a game before the rules end it. Does nothing if the game is already decided.
+     */
+    public void decideByMajority() {
+        if (gameResult == null) {
+            decideByMajority("");
+        }
+    }
+
+    private void decideByMajority(String suffix) {
+        int player1Count = gameMap.getStateCount(CellState.PLAYER_1);
+        int player2Count = gameMap.getStateCount(CellState.PLAYER_2);
+
+        if (player1Count > player2Count) {
+            gameResult = new GameResult(Player.PLAYER_1, "by having the majority of cells (" + player1Count + " vs " + player2Count + ")" + suffix);
+        } else if (player2Count > player1Count) {
+            gameResult = new GameResult(Player.PLAYER_2, "by having the majority of cells (" + player2Count + " vs " + player1Count + ")" + suffix);
+        } else {
+            gameResult = new GameResult(null, "- it's a tie with " + player1Count + " cells each" + suffix);
+        }
+    }
+
+    /**
+     * Ends an undecided game with a loss for {@code player}, for reasons outside the board
+     * such as running out of time or resigning. Does nothing if the game is already decided.
+     * @param reason Completes "PLAYER_x wins ...", e.g. "on time".
+     */
+    public void forfeit(Player player, String reason) {
+        if (gameResult == null) {
+            gameResult = new GameResult(player == Player.PLAYER_1 ? Player.PLAYER_2 : Player.PLAYER_1, reason);
+        }
+    }
+
     @Override
     public GameResult getGameResult() {
         return gameResult;
@@ -222,11 +488,35 @@ public class OctaGameLogic implements GameLogic {
         currentPlayer = (currentPlayer == Player.PLAYER_1) ? Player.PLAYER_2 : Player.PLAYER_1;
     }
 
+    /**
+     * Returns the {@link Zobrist} hash of the current position: the board hash combined
+     * with the side to move. This is O(1) and suitable as a cache or transposition key.
+     */
+    public long getPositionHash() {
+        return gameMap.getHash() ^ sideToMoveKey(currentPlayer);
+    }
+
+    private static long sideToMoveKey(Player player) {
+        return player == Player.PLAYER_2 ? Zobrist.SIDE_TO_MOVE : 0L;
+    }
+
+    static Player opponentOf(Player player) {
+        return player == Player.PLAYER_1 ? Player.PLAYER_2 : Player.PLAYER_1;
+    }
+
     // Getter for turn count (useful for debugging/testing)
     public int getTurnCount() {
         return turnCount;
     }
 
+    public GameMap getGameMap() {
+        return gameMap;
+    }
+
+    public boolean isStopOnEnemy() {
+        return stopOnEnemy;
+    }
+
     // Getter for config (useful for testing)
     public GameConfig getConfig() {
         return config;
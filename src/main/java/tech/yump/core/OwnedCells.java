@@ -0,0 +1,72 @@
+package tech.yump.core;
+
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Live, read-only view of the indices of the cells one player owns on a {@link GameMap}.
+ * <p>
+ * The board keeps the indices in a dense array with a reverse position table, so a cell
+ * is added or removed in O(1) whenever it changes owner, and this view reads that array
+ * directly: {@link #size()}, {@link #get(int)} and {@link #sample(RandomGenerator)} are O(1)
+ * and nothing is copied. The order of the indices is unspecified and changes as cells
+ * are captured, so do not modify the board while iterating.
+ */
+public final class OwnedCells {
+    private final GameMap map;
+    private final int slot;
+
+    OwnedCells(GameMap map, int slot) {
+        this.map = map;
+        this.slot = slot;
+    }
+
+    public int size() {
+        return map.ownedSize(slot);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the {@code i}-th owned cell index.
+     * @throws IndexOutOfBoundsException if {@code i} is not below {@link #size()}
+     */
+    public int get(int i) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException("Owned cell " + i + " out of bounds for size " + size());
+        }
+        return map.ownedArray(slot)[i];
+    }
+
+    /**
+     * Returns a uniformly chosen owned cell index.
+     * @return the index, or {@link GameMap#NO_CELL} if the player owns no cells
+     */
+    public int sample(RandomGenerator random) {
+        int size = size();
+        return size == 0 ? GameMap.NO_CELL : map.ownedArray(slot)[random.nextInt(size)];
+    }
+
+    public boolean contains(int index) {
+        return map.isOwnedBy(index, slot);
+    }
+
+    /**
+     * Copies the owned cell indices into {@code out}, which must hold at least {@link #size()} entries.
+     * @return the number of indices written
+     */
+    public int copyTo(int[] out) {
+        int size = size();
+        System.arraycopy(map.ownedArray(slot), 0, out, 0, size);
+        return size;
+    }
+
+    public void forEach(IntConsumer action) {
+        int[] cells = map.ownedArray(slot);
+        for (int i = 0, size = size(); i < size; i++) {
+            action.accept(cells[i]);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package tech.yump.core;
+
+import java.util.Arrays;
+
+/**
+ * Counts how often each position hash has occurred in a game. An open-addressing
+ * table of primitive {@code long} keys, so recording a position allocates nothing
+ * until the table has to grow.
+ */
+final class RepetitionTable {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Records one more occurrence of a position.
+     * @return the number of times the position has now occurred
+     */
+    int increment(long hash) {
+        if (2 * (size + 1) > keys.length) {
+            grow();
+        }
+        int slot = slotOf(hash);
+        if (!used[slot]) {
+            used[slot] = true;
+            keys[slot] = hash;
+            size++;
+        }
+        return ++counts[slot];
+    }
+
+    /**
+     * Removes one occurrence of a position recorded by {@link #increment(long)}.
+     */
+    void decrement(long hash) {
+        int slot = slotOf(hash);
+        if (used[slot] && counts[slot] > 0) {
+            counts[slot]--;
+        }
+    }
+
+    int count(long hash) {
+        int slot = slotOf(hash);
+        return used[slot] ? counts[slot] : 0;
+    }
+
+    void copyFrom(RepetitionTable other) {
+        if (keys.length != other.keys.length) {
+            keys = new long[other.keys.length];
+            counts = new int[other.keys.length];
+            used = new boolean[other.keys.length];
+        }
+        System.arraycopy(other.keys, 0, keys, 0, keys.length);
+        System.arraycopy(other.counts, 0, counts, 0, counts.length);
+        System.arraycopy(other.used, 0, used, 0, used.length);
+        size = other.size;
+    }
+
+    void clear() {
+        Arrays.fill(used, false);
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    // Linear probing; returns the slot holding the hash or the empty slot where it belongs
+    private int slotOf(long hash) {
+        int mask = keys.length - 1;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (used[slot] && keys[slot] != hash) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotOf(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
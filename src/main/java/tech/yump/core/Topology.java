@@ -0,0 +1,317 @@
+package tech.yump.core;
+
+import tech.yump.model.GridType;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The immutable shape of a board: which cells exist, how coordinates map to indices,
+ * and which neighbors every cell has.
+ * <p>
+ * OCTAGONAL and SQUARE boards are {@code width x width} squares stored row by row, with
+ * eight directions. The index step to a neighbor in a given direction is then the same
+ * for every cell, so the table is just eight offsets plus one byte per cell whose bit
+ * {@code d} says whether the neighbor in direction {@code d} exists. A neighbor lookup is
+ * a mask test and an addition, with no division.
+ * <p>
+ * HEXAGONAL boards are hexagons of radius {@code size} in axial coordinates: {@code x}
+ * is the column q and {@code y} the row r, and a cell exists where |q|, |r| and |q + r|
+ * are all at most {@code size} ({@code 3 * size * (size + 1) + 1} cells, about 25% fewer
+ * than the bounding square). Only existing cells are stored, row by row, so rows have
+ * different lengths and the step to a neighbor depends on the row. The table then also
+ * keeps the row of every cell and the eight steps per row, and a lookup is a mask test,
+ * a row load and an addition. Hex cells have six directions: EAST, WEST and the four
+ * diagonals; NORTH and SOUTH never have a neighbor and are not valid arrows.
+ * <p>
+ * Topologies are built once per (size, {@link GridType}) and shared by every board of
+ * that shape, so creating a board only allocates its own state arrays. Above
+ * {@link #MAX_TABLE_CELLS} cells the per-cell tables would cost more memory than they
+ * save time, so huge (typically sparse) boards test the edges arithmetically instead.
+ */
+public final class Topology {
+
+    /** Largest board, in cells, that gets a per-cell neighbor table. */
+    public static final int MAX_TABLE_CELLS = 1 << 24;
+    /** Largest supported size: the cell count must fit an int index. */
+    public static final int MAX_SIZE = 23_169;
+
+    private static final ConcurrentMap<Long, Topology> CACHE = new ConcurrentHashMap<>();
+
+    // Coordinate offsets per Direction value (N, NE, E, SE, S, SW, W, NW)
+    private static final int[] SQUARE_DX = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final int[] SQUARE_DY = {1, 1, 0, -1, -1, -1, 0, 1};
+    // Axial offsets per Direction value; NORTH and SOUTH are unused
+    private static final int[] HEX_DX = {0, 0, 1, 1, 0, 0, -1, -1};
+    private static final int[] HEX_DY = {0, 1, 0, -1, 0, -1, 0, 1};
+    private static final int SQUARE_DIRECTIONS = 0xFF;
+    private static final int HEX_DIRECTIONS = 0b1110_1110;
+
+    private final int size;
+    private final int width;
+    private final GridType gridType;
+    private final boolean hex;
+    private final int cellCount;
+    private final int[] dx;
+    private final int[] dy;
+    private final int directionMask;
+    // Arrow values in clockwise order, and the next clockwise arrow per arrow value
+    private final int[] directions;
+    private final int[] clockwise = new int[8];
+
+    // Square boards: one step per direction
+    private final int[] offsets = new int[8];
+    // Hex boards: first index of every row, and the step per (row << 3 | direction)
+    private final int[] rowStarts;
+    private final int[] rowOffsets;
+
+    private final byte[] neighborMasks; // null above MAX_TABLE_CELLS
+    private final char[] cellRows; // Row of every hex cell; null for square boards and above MAX_TABLE_CELLS
+
+    private Topology(int size, GridType gridType) {
+        this.size = size;
+        this.width = 2 * size + 1;
+        this.gridType = gridType;
+        this.hex = gridType == GridType.HEXAGONAL;
+        this.dx = hex ? HEX_DX : SQUARE_DX;
+        this.dy = hex ? HEX_DY : SQUARE_DY;
+        this.directionMask = hex ? HEX_DIRECTIONS : SQUARE_DIRECTIONS;
+        this.directions = new int[Integer.bitCount(directionMask)];
+        for (int d = 0, i = 0; d < 8; d++) {
+            if ((directionMask >>> d & 1) != 0) {
+                directions[i++] = d;
+            }
+        }
+        for (int d = 0; d < 8; d++) {
+            int next = (d + 1) & 7;
+            while ((directionMask >>> next & 1) == 0) {
+                next = (next + 1) & 7;
+            }
+            clockwise[d] = next;
+        }
+
+        if (hex) {
+            this.rowStarts = new int[width + 1];
+            for (int row = 0; row < width; row++) {
+                rowStarts[row + 1] = rowStarts[row] + width - Math.abs(row - size);
+            }
+            this.cellCount = rowStarts[width];
+            this.rowOffsets = new int[width << 3];
+            for (int row = 0; row < width; row++) {
+                for (int d : directions) {
+                    int targetRow = row + dy[d];
+                    if (targetRow >= 0 && targetRow < width) {
+                        // Same q in both rows differs in index by the row starts minus the shift of the row's first q
+                        int y = row - size;
+                        rowOffsets[row << 3 | d] = rowStarts[targetRow] - rowStarts[row] + dx[d]
+                                - (firstX(y + dy[d]) - firstX(y));
+                    }
+                }
+            }
+        } else {
+            this.rowStarts = null;
+            this.rowOffsets = null;
+            this.cellCount = width * width;
+            for (int d = 0; d < 8; d++) {
+                offsets[d] = dy[d] * width + dx[d];
+            }
+        }
+
+        if (cellCount > MAX_TABLE_CELLS) {
+            this.neighborMasks = null;
+            this.cellRows = null;
+            return;
+        }
+        this.neighborMasks = new byte[cellCount];
+        this.cellRows = hex ? new char[cellCount] : null;
+        for (int row = 0, index = 0; row < width; row++) {
+            int y = row - size;
+            for (int x = -size; x <= size; x++) {
+                if (contains(x, y)) {
+                    if (cellRows != null) {
+                        cellRows[index] = (char) row;
+                    }
+                    neighborMasks[index++] = (byte) computeMask(x, y);
+                }
+            }
+        }
+    }
+
+    private int computeMask(int x, int y) {
+        int mask = 0;
+        for (int d : directions) {
+            if (contains(x + dx[d], y + dy[d])) {
+                mask |= 1 << d;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the shared topology for boards of the given shape, building it on first use.
+     * @throws IllegalArgumentException if the size is negative or above {@link #MAX_SIZE}
+     */
+    public static Topology of(int size, GridType gridType) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative");
+        }
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Size cannot exceed " + MAX_SIZE);
+        }
+        long key = ((long) size << 8) | gridType.ordinal();
+        return CACHE.computeIfAbsent(key, k -> new Topology(size, gridType));
+    }
+
+    // --- Coordinates ---
+
+    /**
+     * Returns true if a cell exists at the given coordinate.
+     */
+    public boolean contains(int x, int y) {
+        if (y < -size || y > size || x < -size || x > size) {
+            return false;
+        }
+        return !hex || Math.abs(x + y) <= size;
+    }
+
+    /**
+     * Returns the index of the cell at the given coordinate.
+     * @return the index, or {@link GameMap#NO_CELL} if the coordinate is off the board
+     */
+    public int indexOf(int x, int y) {
+        if (!contains(x, y)) {
+            return GameMap.NO_CELL;
+        }
+        if (hex) {
+            return rowStarts[y + size] + x - firstX(y);
+        }
+        return (y + size) * width + (x + size);
+    }
+
+    public int getX(int index) {
+        if (hex) {
+            return xOf(index, rowOf(index));
+        }
+        return index % width - size;
+    }
+
+    public int getY(int index) {
+        return rowOf(index) - size;
+    }
+
+    // Smallest x (q) in row y of a hex board
+    private int firstX(int y) {
+        return Math.max(-size, -size - y);
+    }
+
+    private int xOf(int index, int row) {
+        if (hex) {
+            return index - rowStarts[row] + firstX(row - size);
+        }
+        return index % width - size;
+    }
+
+    private int rowOf(int index) {
+        if (!hex) {
+            return index / width;
+        }
+        if (cellRows != null) {
+            return cellRows[index];
+        }
+        int found = Arrays.binarySearch(rowStarts, index);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    // --- Neighbors ---
+
+    /**
+     * Returns the index of the neighbor in the given direction.
+     * @param direction A {@link tech.yump.model.Direction} value (0-7).
+     * @return the neighbor index, or {@link GameMap#NO_CELL} at the edge of the board or
+     *         in a direction this grid does not have
+     */
+    public int getNeighborIndex(int index, int direction) {
+        if ((getNeighborMask(index) >>> direction & 1) == 0) {
+            return GameMap.NO_CELL;
+        }
+        return index + (hex ? rowOffsets[rowOf(index) << 3 | direction] : offsets[direction]);
+    }
+
+    /**
+     * Returns a bit mask of the directions in which the cell has a neighbor (bit {@code d}
+     * for the Direction with value {@code d}).
+     */
+    public int getNeighborMask(int index) {
+        if (neighborMasks == null) {
+            int row = rowOf(index);
+            return computeMask(xOf(index, row), row - size);
+        }
+        return neighborMasks[index] & 0xFF;
+    }
+
+    // --- Directions ---
+
+    /**
+     * Returns true if cells of this grid can point in the given direction.
+     * @param direction A {@link tech.yump.model.Direction} value (0-7).
+     */
+    public boolean hasDirection(int direction) {
+        return (directionMask >>> direction & 1) != 0;
+    }
+
+    /**
+     * Returns the x step of a direction on this grid (the q step on a hex board).
+     */
+    public int getDx(int direction) {
+        return dx[direction];
+    }
+
+    /**
+     * Returns the y step of a direction on this grid (the r step on a hex board).
+     */
+    public int getDy(int direction) {
+        return dy[direction];
+    }
+
+    /**
+     * Returns the number of directions of this grid: 8, or 6 for HEXAGONAL.
+     */
+    public int getDirectionCount() {
+        return directions.length;
+    }
+
+    /**
+     * Returns the {@code i}-th direction value of this grid in clockwise order from NORTH.
+     */
+    public int getDirection(int i) {
+        return directions[i];
+    }
+
+    /**
+     * Returns the direction value one clockwise step after the given one, skipping the
+     * directions this grid does not have.
+     */
+    public int rotateClockwise(int direction) {
+        return clockwise[direction];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of cells along the widest row or column ({@code 2 * size + 1}).
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    public GridType getGridType() {
+        return gridType;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+}
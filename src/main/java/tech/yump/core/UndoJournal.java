@@ -0,0 +1,123 @@
+package tech.yump.core;
+
+import tech.yump.engine.GameResult;
+import tech.yump.model.Player;
+
+import java.util.Arrays;
+
+/**
+ * Undo log for {@link OctaGameLogic#unmakeMove()}.
+ * <p>
+ * Cell entries are pairs of ints in one array: the cell index and the cell's packed
+ * byte (state and arrow) before the move first touched it. Each move opens a frame
+ * that remembers where its entries start, plus the turn count, player to move, result
+ * and repetition bookkeeping of the game before the move. Undoing a frame restores
+ * its entries in reverse order, so it costs O(chain length). The arrays only grow,
+ * so after warm-up nothing is allocated, and frames nest to any depth.
+ */
+final class UndoJournal {
+
+    private static final Player[] PLAYERS = Player.values();
+
+    private int[] cells = new int[64];
+    private int cellSize;
+
+    private int[] frameStart = new int[16];
+    private int[] frameTurnCount = new int[16];
+    private byte[] framePlayer = new byte[16];
+    private GameResult[] frameResult = new GameResult[16];
+    private boolean[] frameRepetitionReached = new boolean[16];
+    // Position counted for the repetition rule by the move, if frameRecorded is set
+    private long[] frameRecordedPosition = new long[16];
+    private boolean[] frameRecorded = new boolean[16];
+    private int frameSize;
+
+    void beginFrame(int turnCount, Player player, GameResult result, boolean repetitionReached) {
+        if (frameSize == frameStart.length) {
+            int capacity = frameSize * 2;
+            frameStart = Arrays.copyOf(frameStart, capacity);
+            frameTurnCount = Arrays.copyOf(frameTurnCount, capacity);
+            framePlayer = Arrays.copyOf(framePlayer, capacity);
+            frameResult = Arrays.copyOf(frameResult, capacity);
+            frameRepetitionReached = Arrays.copyOf(frameRepetitionReached, capacity);
+            frameRecordedPosition = Arrays.copyOf(frameRecordedPosition, capacity);
+            frameRecorded = Arrays.copyOf(frameRecorded, capacity);
+        }
+        frameStart[frameSize] = cellSize;
+        frameTurnCount[frameSize] = turnCount;
+        framePlayer[frameSize] = (byte) player.ordinal();
+        frameResult[frameSize] = result;
+        frameRepetitionReached[frameSize] = repetitionReached;
+        frameRecorded[frameSize] = false;
+        frameSize++;
+    }
+
+    /**
+     * Records the packed value a cell had before the current move changed it.
+     */
+    void recordCell(int index, int packed) {
+        if (cellSize + 2 > cells.length) {
+            cells = Arrays.copyOf(cells, cells.length * 2);
+        }
+        cells[cellSize++] = index;
+        cells[cellSize++] = packed;
+    }
+
+    void recordPosition(long position) {
+        frameRecordedPosition[frameSize - 1] = position;
+        frameRecorded[frameSize - 1] = true;
+    }
+
+    boolean isEmpty() {
+        return frameSize == 0;
+    }
+
+    int depth() {
+        return frameSize;
+    }
+
+    // Game fields of the most recent frame, read before it is popped
+
+    int topTurnCount() {
+        return frameTurnCount[frameSize - 1];
+    }
+
+    Player topPlayer() {
+        return PLAYERS[framePlayer[frameSize - 1]];
+    }
+
+    GameResult topResult() {
+        return frameResult[frameSize - 1];
+    }
+
+    boolean topRepetitionReached() {
+        return frameRepetitionReached[frameSize - 1];
+    }
+
+    boolean topRecorded() {
+        return frameRecorded[frameSize - 1];
+    }
+
+    long topRecordedPosition() {
+        return frameRecordedPosition[frameSize - 1];
+    }
+
+    /**
+     * Restores the cells of the most recent frame on {@code map}, newest entry first, and drops the frame.
+     */
+    void pop(GameMap map) {
+        int start = frameStart[--frameSize];
+        while (cellSize > start) {
+            int packed = cells[--cellSize];
+            int index = cells[--cellSize];
+            map.setPacked(index, packed);
+        }
+        frameResult[frameSize] = null;
+    }
+
+    void clear() {
+        Arrays.fill(frameResult, 0, frameSize, null);
+        cellSize = 0;
+        frameSize = 0;
+    }
+}
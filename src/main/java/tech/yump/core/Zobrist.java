@@ -0,0 +1,44 @@
+package tech.yump.core;
+
+/**
+ * Zobrist keys for board positions.
+ * <p>
+ * Keys are assigned per bit of a cell's packed byte rather than per (state, arrow)
+ * value: bit {@code b} of cell {@code i} has its own random key, and a cell contributes
+ * the XOR of the keys of its set bits. Because that is linear, any change of a cell
+ * from one packed value to another is hashed by a single XOR with
+ * {@link #cellKey(int, int) cellKey(index, old ^ new)}. Keys are derived from the
+ * index by a SplitMix64 finalizer instead of being stored, so the scheme needs no
+ * per-board tables.
+ */
+public final class Zobrist {
+
+    /** XORed into a position hash when PLAYER_2 is to move. */
+    public static final long SIDE_TO_MOVE = mix(0x5DEECE66DL);
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of the given packed bits of a cell.
+     * @param index The cell index.
+     * @param packedBits A packed cell value, or the XOR of two of them.
+     */
+    public static long cellKey(int index, int packedBits) {
+        long key = 0;
+        int bits = packedBits & 0xFF;
+        while (bits != 0) {
+            int bit = Integer.numberOfTrailingZeros(bits);
+            key ^= mix(((long) index << 3) | bit);
+            bits &= bits - 1;
+        }
+        return key;
+    }
+
+    // SplitMix64 finalizer: a cheap bijective mixer with good avalanche behaviour
+    private static long mix(long z) {
+        z = (z + 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,50 @@
+package tech.yump.engine;
+
+import tech.yump.model.Player;
+import tech.yump.util.Coordinate;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Supplies moves without blocking the caller, for games run by a {@link GameScheduler}.
+ * <p>
+ * Cancellation is cooperative: when the mover's time runs out or the game is aborted the
+ * engine cancels the returned future and moves on. A provider that is still working
+ * should notice (for example by checking {@link CompletableFuture#isDone()} in its search
+ * loop) and stop; whatever it completes the future with afterwards is ignored.
+ */
+@FunctionalInterface
+public interface AsyncMoveProvider {
+
+    /**
+     * Requests the next move of {@code player}.
+     * @param deadline The {@link System#nanoTime()} value by which the move must arrive, or
+     *                 {@link Long#MAX_VALUE} if the move is untimed.
+     * @return A future completed with the move's coordinate, or with null to resign.
+     */
+    CompletableFuture<Coordinate> requestMove(Player player, long deadline);
+
+    /**
+     * Adapts a blocking provider by calling it on a new virtual thread for every request.
+     * Cancelling the returned future interrupts that thread, so providers that block
+     * interruptibly stop at once; the others finish their move, which is then discarded.
+     */
+    static AsyncMoveProvider fromBlocking(MoveProvider provider) {
+        return (player, deadline) -> {
+            CompletableFuture<Coordinate> move = new CompletableFuture<>();
+            Thread thread = Thread.ofVirtual().name("octa-move-provider").start(() -> {
+                try {
+                    move.complete(provider.getNextMove());
+                } catch (Throwable e) {
+                    move.completeExceptionally(e);
+                }
+            });
+            move.whenComplete((coordinate, error) -> {
+                if (move.isCancelled()) {
+                    thread.interrupt();
+                }
+            });
+            return move;
+        };
+    }
+}
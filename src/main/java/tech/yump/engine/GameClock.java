@@ -0,0 +1,68 @@
+package tech.yump.engine;
+
+import tech.yump.model.Player;
+
+import java.time.Duration;
+
+/**
+ * Both players' remaining time under a {@link TimeControl}. Times are
+ * {@link System#nanoTime()} differences; the clock itself does not read the time, so the
+ * owner decides when a turn starts and how long it took.
+ */
+public class GameClock {
+
+    private final TimeControl control;
+    private final long[] remaining = new long[2]; // Indexed by Player ordinal
+
+    public GameClock(TimeControl control) {
+        this.control = control;
+        remaining[0] = control.getGameNanos();
+        remaining[1] = control.getGameNanos();
+    }
+
+    public TimeControl getControl() {
+        return control;
+    }
+
+    /**
+     * Returns the player's remaining game time, or {@link Duration#ZERO} without a game clock.
+     */
+    public Duration getRemaining(Player player) {
+        return Duration.ofNanos(remaining[player.ordinal()]);
+    }
+
+    /**
+     * Returns the {@link System#nanoTime()} value by which a turn started at {@code turnStart}
+     * must end: the earlier of the game clock running out and the move limit, or
+     * {@link Long#MAX_VALUE} if the turn is untimed.
+     */
+    public long deadline(Player player, long turnStart) {
+        long deadline = Long.MAX_VALUE;
+        if (control.hasGameClock()) {
+            deadline = turnStart + remaining[player.ordinal()];
+        }
+        if (control.hasMoveLimit()) {
+            deadline = Math.min(deadline, turnStart + control.getMoveNanos());
+        }
+        return deadline;
+    }
+
+    /**
+     * Charges a finished turn to the player's game clock and adds the increment.
+     * @param elapsedNanos How long the turn took.
+     * @return false if the player's game clock ran out during the turn
+     */
+    public boolean punch(Player player, long elapsedNanos) {
+        if (!control.hasGameClock()) {
+            return true;
+        }
+        int p = player.ordinal();
+        remaining[p] -= elapsedNanos;
+        if (remaining[p] <= 0) {
+            remaining[p] = 0;
+            return false;
+        }
+        remaining[p] += control.getIncrementNanos();
+        return true;
+    }
+}
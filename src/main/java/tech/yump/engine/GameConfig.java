@@ -2,13 +2,42 @@ package tech.yump.engine;
 
 import tech.yump.model.WinCondition;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 public class GameConfig {
     private final WinCondition winCondition;
     private final int turnLimit;
+    private final int repetitionLimit;
+    private final long seed;
 
     public GameConfig(WinCondition winCondition, int turnLimit) {
+        this(winCondition, turnLimit, 0);
+    }
+
+    /**
+     * @param winCondition The win condition.
+     * @param turnLimit The turn limit used by {@link WinCondition#TURN_LIMIT_MAJORITY}.
+     * @param repetitionLimit The game ends, decided by cell majority, as soon as a position
+     *                        (board and side to move) has occurred this many times; 0 disables the rule.
+     */
+    public GameConfig(WinCondition winCondition, int turnLimit, int repetitionLimit) {
+        this(winCondition, turnLimit, repetitionLimit, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * @param winCondition The win condition.
+     * @param turnLimit The turn limit used by {@link WinCondition#TURN_LIMIT_MAJORITY}.
+     * @param repetitionLimit Occurrences of a position that end the game; 0 disables the rule.
+     * @param seed Seed the board's arrows are generated from.
+     */
+    public GameConfig(WinCondition winCondition, int turnLimit, int repetitionLimit, long seed) {
+        if (repetitionLimit < 0) {
+            throw new IllegalArgumentException("Repetition limit cannot be negative");
+        }
         this.winCondition = winCondition;
         this.turnLimit = turnLimit;
+        this.repetitionLimit = repetitionLimit;
+        this.seed = seed;
     }
 
     public WinCondition getWinCondition() {
@@ -18,4 +47,16 @@ public class GameConfig {
     public int getTurnLimit() {
         return turnLimit;
     }
-} 
\ No newline at end of file
+
+    public int getRepetitionLimit() {
+        return repetitionLimit;
+    }
+
+    /**
+     * Returns the board seed. Configurations created without one draw a random seed,
+     * so logging it is enough to reproduce any game's board.
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -1,24 +1,35 @@
 package tech.yump.engine;
 
+import tech.yump.core.GameJournal;
 import tech.yump.core.GameLogic;
 import tech.yump.core.GameMap;
 import tech.yump.core.GameCell;
 import tech.yump.model.GridType;
 import tech.yump.model.Player;
 import tech.yump.view.CLIView;
+import tech.yump.view.GameView;
 import tech.yump.util.Coordinate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * Simple game engine scaffold. The engine now accepts a {@link GameMap}
  * and a {@link GameLogic} so tests or alternative game modes can provide
- * custom implementations.
+ * custom implementations. All output goes through a {@link GameView}, so
+ * headless games can use a {@link tech.yump.view.NullView} and scripted
+ * games an {@link tech.yump.view.AsyncView}.
+ * <p>
+ * The engine waits for every move on the calling thread. To run many games without a
+ * thread each, or under time controls, use a {@link GameScheduler} instead.
  */
 public class GameEngine {
 
     private GameMap gameMap;
     private GameLogic gameLogic;
-    private CLIView view;
+    private GameView view;
     private MoveProvider moveProvider;
+    private GameJournal journal;
 
     public void startGame(int size) {
         System.out.println("Game started!");
@@ -31,15 +42,15 @@ public class GameEngine {
      * Initialize the game engine with required components.
      * @param gameMap The game map to use
      * @param gameLogic The game logic to use
-     * @param view The CLI view for display
+     * @param view The view for display
      * @param moveProvider The provider for moves (human input or scripted)
      */
-    public void startGame(GameMap gameMap, GameLogic gameLogic, CLIView view, MoveProvider moveProvider) {
+    public void startGame(GameMap gameMap, GameLogic gameLogic, GameView view, MoveProvider moveProvider) {
         this.gameMap = gameMap;
         this.gameLogic = gameLogic;
         this.view = view;
         this.moveProvider = moveProvider;
-        System.out.println("Game engine initialized with map, logic, view, and move provider!");
+        view.displayMessage("Game engine initialized with map, logic, view, and move provider!");
     }
 
     /**
@@ -54,6 +65,14 @@ public class GameEngine {
         startGame(gameMap, gameLogic, view, humanProvider);
     }
 
+    /**
+     * Records every move made by {@link #processTurn()} to the given journal, or stops
+     * recording if it is null. The journal must have been opened on this engine's game.
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
     /**
      * Main game loop that runs until the game is over.
      */
@@ -62,7 +81,7 @@ public class GameEngine {
             throw new IllegalStateException("Game engine not initialized. Call startGame() first.");
         }
 
-        System.out.println("Starting interactive game loop...");
+        view.displayMessage("Starting interactive game loop...");
         
         while (!gameLogic.isGameOver()) {
             // 1. Display current board state
@@ -81,15 +100,24 @@ public class GameEngine {
         Player currentPlayer = ((tech.yump.core.OctaGameLogic) gameLogic).getCurrentPlayer();
         
         // Get move from the move provider (could be human input or scripted)
-        Coordinate coord = moveProvider.getNextMove();
+        long move = moveProvider.getNextPackedMove();
         
-        if (coord != null) {
-            GameCell moveCell = gameMap.getCell(coord.getX(), coord.getY());
+        if (move != MoveProvider.NO_MOVE) {
+            Coordinate coord = Coordinate.unpack(move);
+            int index = gameMap.indexOfPacked(move);
+            GameCell moveCell = index == GameMap.NO_CELL ? null : gameMap.getCellAt(index);
             
             if (moveCell != null && gameLogic.isValidMove(moveCell, currentPlayer)) {
                 view.displayMessage("Player " + currentPlayer + " makes a move at coordinate " + coord);
                 gameLogic.makeMove(moveCell, currentPlayer);
                 ((tech.yump.core.OctaGameLogic) gameLogic).switchPlayer();
+                if (journal != null) {
+                    try {
+                        journal.recordMove(index, currentPlayer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to record move at " + coord, e);
+                    }
+                }
             } else {
                 view.displayMessage("Invalid move at " + coord + ". Try again.");
                 // Note: In a real game, we'd want to handle this better, 
@@ -102,19 +130,21 @@ public class GameEngine {
     }
 
     public void endGame() {
-        GameResult result = gameLogic.getGameResult();
-        if (result != null) {
-            if (result.getWinner() != null) {
-                view.displayMessage("🎉 Game Over! " + result.getWinner() + " wins " + result.getReason() + "!");
-            } else {
-                view.displayMessage("🤝 Game Over! It's a tie " + result.getReason() + "!");
-            }
-        } else {
-            view.displayMessage("Game ended!");
-        }
+        view.displayMessage(describeResult(gameLogic.getGameResult()));
         // Graceful exit is simply the termination of the run() loop
     }
 
+    // The closing message of a game, shared with GameScheduler
+    static String describeResult(GameResult result) {
+        if (result == null) {
+            return "Game ended!";
+        }
+        if (result.getWinner() != null) {
+            return "🎉 Game Over! " + result.getWinner() + " wins " + result.getReason() + "!";
+        }
+        return "🤝 Game Over! It's a tie " + result.getReason() + "!";
+    }
+
     // Getters for testing purposes
     public GameMap getGameMap() {
         return gameMap;
@@ -0,0 +1,286 @@
+package tech.yump.engine;
+
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.model.Player;
+import tech.yump.util.Coordinate;
+import tech.yump.view.GameView;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs many games under {@link TimeControl}s on a small pool of threads.
+ * <p>
+ * A game asks its {@link AsyncMoveProvider} for a move and hands its thread back to the
+ * pool; the move is played when the provider's future completes, which also requests
+ * the next one. So while a bot searches or a human thinks, the pool keeps serving the
+ * other games, and a game waiting for a move holds no thread at all.
+ * <p>
+ * Every timed turn also schedules a timer for the mover's deadline (see
+ * {@link GameClock#deadline}). Whichever of move and timer comes first decides the turn.
+ * When the timer wins, the request is cancelled and the mover either loses on time, if
+ * the game clock ran out, or suffers the control's {@link TimeControl.TimeoutAction}, if
+ * only the move limit was exceeded. An invalid move is answered with a message and a new
+ * request with the same deadline, and a provider that completes with null resigns.
+ * <p>
+ * The steps of one game run one after another, each started by the end of the previous
+ * turn, so a game's logic, map and view are never used by two threads at once. If a
+ * step throws, the game's future completes with the exception.
+ */
+public class GameScheduler implements AutoCloseable {
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Set<ScheduledGame> games = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param threads Threads that play moves and fire timers for all games.
+     */
+    public GameScheduler(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, "octa-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most timers are cancelled by a move in time; do not keep them queued until they expire
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Starts a game and returns at once.
+     * @param logic The game to play, with the first mover to move.
+     * @param view Receives the board before every turn and the game's messages.
+     * @param player1 Provides PLAYER_1's moves.
+     * @param player2 Provides PLAYER_2's moves.
+     * @param timeControl The game's time limits.
+     * @return A future completed with the game's result when it ends. Cancelling it aborts
+     *         the game and cancels the pending move request.
+     * @throws IllegalStateException if the scheduler is closed
+     */
+    public CompletableFuture<GameResult> play(OctaGameLogic logic, GameView view, AsyncMoveProvider player1,
+                                              AsyncMoveProvider player2, TimeControl timeControl) {
+        ScheduledGame game = new ScheduledGame(logic, view, new AsyncMoveProvider[] {player1, player2},
+                new GameClock(timeControl));
+        games.add(game);
+        game.result.whenComplete((result, error) -> game.abandonTurn());
+        try {
+            executor.execute(() -> game.run(game::nextTurn));
+        } catch (RejectedExecutionException e) {
+            games.remove(game);
+            throw new IllegalStateException("Scheduler is closed", e);
+        }
+        return game.result;
+    }
+
+    /**
+     * Returns the number of games started and not yet ended.
+     */
+    public int getActiveGameCount() {
+        return games.size();
+    }
+
+    /**
+     * Aborts every running game, cancelling their futures, and stops the pool.
+     */
+    @Override
+    public void close() {
+        for (ScheduledGame game : games) {
+            game.result.cancel(false);
+        }
+        executor.shutdownNow();
+    }
+
+    /** A game's result; cancelling it stops counting the game as active before anyone is woken. */
+    private final class GameFuture extends CompletableFuture<GameResult> {
+        private final ScheduledGame game;
+
+        GameFuture(ScheduledGame game) {
+            this.game = game;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            games.remove(game);
+            return super.cancel(mayInterruptIfRunning);
+        }
+    }
+
+    /** One game and the state of its current turn. */
+    private final class ScheduledGame {
+        final OctaGameLogic logic;
+        final GameMap map;
+        final GameView view;
+        final AsyncMoveProvider[] providers; // Indexed by Player ordinal
+        final GameClock clock;
+        final CompletableFuture<GameResult> result = new GameFuture(this);
+
+        // The current turn; only used by the game's current step
+        long turnStart;
+        long deadline;
+        // Read by abandonTurn() from any thread
+        volatile CompletableFuture<Coordinate> pending;
+        volatile ScheduledFuture<?> timer;
+
+        ScheduledGame(OctaGameLogic logic, GameView view, AsyncMoveProvider[] providers, GameClock clock) {
+            this.logic = logic;
+            this.map = logic.getGameMap();
+            this.view = view;
+            this.providers = providers;
+            this.clock = clock;
+        }
+
+        // Runs one step of the game, failing the game if the step throws
+        void run(Runnable step) {
+            try {
+                if (!result.isDone()) {
+                    step.run();
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        void nextTurn() {
+            if (logic.isGameOver()) {
+                finish();
+                return;
+            }
+            view.printBoard(map);
+            Player player = logic.getCurrentPlayer();
+            turnStart = System.nanoTime();
+            deadline = clock.deadline(player, turnStart);
+            request(player);
+        }
+
+        void request(Player player) {
+            CompletableFuture<Coordinate> move = providers[player.ordinal()].requestMove(player, deadline);
+            AtomicBoolean settled = new AtomicBoolean();
+            ScheduledFuture<?> turnTimer = null;
+            if (deadline != Long.MAX_VALUE) {
+                turnTimer = executor.schedule(() -> run(() -> {
+                    if (settled.compareAndSet(false, true)) {
+                        move.cancel(true);
+                        timedOut(player);
+                    }
+                }), Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            ScheduledFuture<?> moveTimer = turnTimer;
+            pending = move;
+            timer = moveTimer;
+            if (result.isDone()) {
+                // Ended while the move was being requested; abandonTurn() may have missed this request
+                abandonTurn();
+                return;
+            }
+            move.whenCompleteAsync((coordinate, error) -> run(() -> {
+                if (settled.compareAndSet(false, true)) {
+                    if (moveTimer != null) {
+                        moveTimer.cancel(false);
+                    }
+                    moved(player, coordinate, error);
+                }
+            }), executor);
+        }
+
+        void moved(Player player, Coordinate coordinate, Throwable error) {
+            if (error != null) {
+                fail(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                return;
+            }
+            long elapsed = System.nanoTime() - turnStart;
+            if (coordinate == null) {
+                view.displayMessage("Player " + player + " resigns.");
+                logic.forfeit(player, "by resignation");
+                finish();
+                return;
+            }
+            int index = map.indexOf(coordinate.getX(), coordinate.getY());
+            if (!logic.isValidMove(index, player)) {
+                view.displayMessage("Invalid move at " + coordinate + ". Try again.");
+                request(player);
+                return;
+            }
+            if (!clock.punch(player, elapsed)) {
+                lostOnTime(player);
+                return;
+            }
+            play(player, index, coordinate);
+        }
+
+        void timedOut(Player player) {
+            if (!clock.punch(player, System.nanoTime() - turnStart)) {
+                lostOnTime(player);
+                return;
+            }
+            // The game clock has time left, so the move limit was exceeded
+            int index = clock.getControl().getTimeoutAction() == TimeControl.TimeoutAction.DEFAULT_MOVE
+                    ? defaultMove(player) : GameMap.NO_CELL;
+            if (index == GameMap.NO_CELL) {
+                view.displayMessage("Player " + player + " exceeded the move time.");
+                logic.forfeit(player, "on move time");
+                finish();
+                return;
+            }
+            view.displayMessage("Player " + player + " exceeded the move time; playing a default move.");
+            play(player, index, Coordinate.unpack(map.getPackedCoordinate(index)));
+        }
+
+        // The player's first legal move in board order, or NO_CELL if it has none
+        int defaultMove(Player player) {
+            for (int index = 0; index < map.getTotalCellCount(); index++) {
+                if (logic.isValidMove(index, player)) {
+                    return index;
+                }
+            }
+            return GameMap.NO_CELL;
+        }
+
+        void lostOnTime(Player player) {
+            view.displayMessage("Player " + player + " ran out of time.");
+            logic.forfeit(player, "on time");
+            finish();
+        }
+
+        void play(Player player, int index, Coordinate coordinate) {
+            view.displayMessage("Player " + player + " makes a move at coordinate " + coordinate);
+            logic.makeMove(index, player);
+            logic.switchPlayer();
+            nextTurn();
+        }
+
+        void finish() {
+            view.printBoard(map);
+            view.displayMessage(GameEngine.describeResult(logic.getGameResult()));
+            // Leave the active set before completing, so a caller woken by the result never still counts the game
+            games.remove(this);
+            result.complete(logic.getGameResult());
+        }
+
+        void fail(Throwable error) {
+            games.remove(this);
+            result.completeExceptionally(error);
+        }
+
+        // Cancels the pending request and its timer once the game has ended
+        void abandonTurn() {
+            CompletableFuture<Coordinate> move = pending;
+            if (move != null) {
+                move.cancel(true);
+            }
+            ScheduledFuture<?> moveTimer = timer;
+            if (moveTimer != null) {
+                moveTimer.cancel(false);
+            }
+        }
+    }
+}
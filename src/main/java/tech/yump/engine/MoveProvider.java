@@ -4,9 +4,24 @@ import tech.yump.util.Coordinate;
 
 @FunctionalInterface
 public interface MoveProvider {
+
+    /** Packed value returned by {@link #getNextPackedMove()} when there is no move. */
+    long NO_MOVE = Long.MIN_VALUE;
+
     /**
      * Provides the next move's coordinate.
      * @return The Coordinate for the next move.
      */
     Coordinate getNextMove();
-} 
\ No newline at end of file
+
+    /**
+     * Provides the next move as a packed coordinate (see {@link Coordinate#pack(int, int)}),
+     * so callers on hot paths need no coordinate object. The default implementation packs
+     * {@link #getNextMove()}; providers that compute moves as board indices override it.
+     * @return The packed coordinate of the next move, or {@link #NO_MOVE}.
+     */
+    default long getNextPackedMove() {
+        Coordinate move = getNextMove();
+        return move == null ? NO_MOVE : move.pack();
+    }
+}
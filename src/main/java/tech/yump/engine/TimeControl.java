@@ -0,0 +1,108 @@
+package tech.yump.engine;
+
+import java.time.Duration;
+
+/**
+ * Time limits of a game played by a {@link GameScheduler}.
+ * <p>
+ * A game clock gives each player a fixed amount of thinking time for the whole game,
+ * topped up by an increment after every move they make; with no increment this is sudden
+ * death. A player whose game clock runs out loses on time. Independently, a move limit
+ * caps the time of each single move; what happens when it is exceeded with game time left
+ * is decided by the {@link TimeoutAction}. Either limit can be disabled with
+ * {@link Duration#ZERO}.
+ */
+public class TimeControl {
+
+    /** What to do when a player exceeds the move limit but still has game time. */
+    public enum TimeoutAction {
+        /** The player loses the game. */
+        FORFEIT,
+        /** A default move is played for the player: its first legal move in board order. */
+        DEFAULT_MOVE
+    }
+
+    /** No clock and no move limit: the engine waits for every move indefinitely. */
+    public static final TimeControl UNLIMITED = new TimeControl(Duration.ZERO, Duration.ZERO, Duration.ZERO, TimeoutAction.FORFEIT);
+
+    private final long gameNanos;
+    private final long incrementNanos;
+    private final long moveNanos;
+    private final TimeoutAction timeoutAction;
+
+    /**
+     * @param gameTime Each player's game clock; {@link Duration#ZERO} for no game clock.
+     * @param increment Time added to the mover's game clock after each move.
+     * @param moveTime Limit for a single move; {@link Duration#ZERO} for no move limit.
+     * @param timeoutAction What happens to a player who exceeds the move limit.
+     */
+    public TimeControl(Duration gameTime, Duration increment, Duration moveTime, TimeoutAction timeoutAction) {
+        if (gameTime.isNegative() || increment.isNegative() || moveTime.isNegative()) {
+            throw new IllegalArgumentException("Time limits cannot be negative");
+        }
+        if (gameTime.isZero() && !increment.isZero()) {
+            throw new IllegalArgumentException("An increment requires a game clock");
+        }
+        this.gameNanos = gameTime.toNanos();
+        this.incrementNanos = increment.toNanos();
+        this.moveNanos = moveTime.toNanos();
+        this.timeoutAction = timeoutAction;
+    }
+
+    /**
+     * Returns a sudden death control: the given time for the whole game and nothing more.
+     */
+    public static TimeControl suddenDeath(Duration gameTime) {
+        return new TimeControl(gameTime, Duration.ZERO, Duration.ZERO, TimeoutAction.FORFEIT);
+    }
+
+    /**
+     * Returns a control with a game clock that gains {@code increment} after every move.
+     */
+    public static TimeControl withIncrement(Duration gameTime, Duration increment) {
+        return new TimeControl(gameTime, increment, Duration.ZERO, TimeoutAction.FORFEIT);
+    }
+
+    /**
+     * Returns a control that only limits single moves.
+     */
+    public static TimeControl perMove(Duration moveTime, TimeoutAction timeoutAction) {
+        return new TimeControl(Duration.ZERO, Duration.ZERO, moveTime, timeoutAction);
+    }
+
+    public boolean hasGameClock() {
+        return gameNanos > 0;
+    }
+
+    public boolean hasMoveLimit() {
+        return moveNanos > 0;
+    }
+
+    public Duration getGameTime() {
+        return Duration.ofNanos(gameNanos);
+    }
+
+    public Duration getIncrement() {
+        return Duration.ofNanos(incrementNanos);
+    }
+
+    public Duration getMoveTime() {
+        return Duration.ofNanos(moveNanos);
+    }
+
+    public TimeoutAction getTimeoutAction() {
+        return timeoutAction;
+    }
+
+    long getGameNanos() {
+        return gameNanos;
+    }
+
+    long getIncrementNanos() {
+        return incrementNanos;
+    }
+
+    long getMoveNanos() {
+        return moveNanos;
+    }
+}
@@ -10,6 +10,12 @@ public enum Direction {
     WEST(6),
     NORTHWEST(7); // Semicolon is needed here because we are adding members (fields and methods) below.
 
+    // Shared copy of values(), indexed by value; values() clones its array on every call
+    private static final Direction[] BY_VALUE = values();
+    // Coordinate offsets on the square (octagonal) grid, per value
+    private static final int[] DX = {0, 1, 1, 1, 0, -1, -1, -1};
+    private static final int[] DY = {1, 1, 0, -1, -1, -1, 0, 1};
+
     private final int value;
 
     // Constructor for the enum
@@ -22,14 +28,38 @@ public enum Direction {
         return value;
     }
 
+    /**
+     * Returns the direction with the given value (0-7).
+     */
+    public static Direction fromValue(int value) {
+        return BY_VALUE[value];
+    }
+
     // Helper method to rotate clockwise
     public Direction rotateClockwise() {
-        int nextValue = (this.getValue() + 1) % 8; // 8 total directions
-        for (Direction dir : Direction.values()) {
-            if (dir.getValue() == nextValue) {
-                return dir;
-            }
-        }
-        return NORTH; // Should be unreachable
-    }
-}
\ No newline at end of file
+        return BY_VALUE[(value + 1) & 7];
+    }
+
+    public Direction rotateCounterClockwise() {
+        return BY_VALUE[(value + 7) & 7];
+    }
+
+    public Direction opposite() {
+        return BY_VALUE[(value + 4) & 7];
+    }
+
+    /**
+     * Returns the x step of this direction on the square grid. Hex boards use axial
+     * offsets instead; see {@code Topology}.
+     */
+    public int getDx() {
+        return DX[value];
+    }
+
+    /**
+     * Returns the y step of this direction on the square grid (north is +y).
+     */
+    public int getDy() {
+        return DY[value];
+    }
+}
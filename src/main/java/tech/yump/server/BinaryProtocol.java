@@ -0,0 +1,143 @@
+package tech.yump.server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Frame layout and codecs of the binary protocol spoken by {@link NioGameServer}.
+ * <p>
+ * Every frame is a varint length followed by that many bytes: a one-byte frame type and
+ * its payload. Varints are unsigned LEB128 (seven bits per byte, high bit set on all but
+ * the last); signed values such as coordinates are zigzag-encoded first, so small
+ * coordinates of either sign take one byte. Client frames:
+ * <ul>
+ *   <li>{@link #JOIN}: varint game id, 0 to create a game, then for a new game the varint
+ *       board size;</li>
+ *   <li>{@link #MOVE}: zigzag varint x, zigzag varint y.</li>
+ * </ul>
+ * Server frames:
+ * <ul>
+ *   <li>{@link #JOINED}: varint game id, player byte, varint board size and the 8-byte
+ *       board seed, from which the client rebuilds the opening board;</li>
+ *   <li>{@link #START}: no payload; both seats are taken and PLAYER_1 moves;</li>
+ *   <li>{@link #DELTA}: the mover's player byte, varint turn count after the move, the
+ *       chain termination byte, a varint count and that many (varint cell index, packed
+ *       cell byte) pairs, in the order the move changed them;</li>
+ *   <li>{@link #RESULT}: one outcome byte;</li>
+ *   <li>{@link #ERROR}: one error code byte, for a rejected frame.</li>
+ * </ul>
+ * Player bytes are {@link tech.yump.model.Player} ordinals, termination bytes
+ * {@link tech.yump.core.ChangeSet.Termination} ordinals and packed cells use the
+ * {@link tech.yump.core.GameMap} layout (arrow in bits 0-2, state in bits 3-4).
+ */
+final class BinaryProtocol {
+
+    // Client frame types
+    static final byte JOIN = 1;
+    static final byte MOVE = 2;
+
+    // Server frame types
+    static final byte JOINED = 0x11;
+    static final byte START = 0x12;
+    static final byte DELTA = 0x13;
+    static final byte RESULT = 0x14;
+    static final byte ERROR = 0x15;
+
+    // RESULT outcomes
+    static final byte PLAYER_1_WINS = 0;
+    static final byte PLAYER_2_WINS = 1;
+    static final byte TIE = 2;
+    static final byte ABORTED = 3;
+
+    // ERROR codes
+    static final byte MALFORMED_FRAME = 1;
+    static final byte NO_SUCH_GAME = 2;
+    static final byte GAME_FULL = 3;
+    static final byte ALREADY_IN_GAME = 4;
+    static final byte NOT_IN_GAME = 5;
+    static final byte NOT_STARTED = 6;
+    static final byte NOT_YOUR_TURN = 7;
+    static final byte INVALID_MOVE = 8;
+    static final byte INVALID_SIZE = 9;
+
+    /** Largest client frame body; anything longer is malformed. */
+    static final int MAX_CLIENT_FRAME = 32;
+    /** Longest varint of a 64-bit value. */
+    static final int MAX_VARINT_BYTES = 10;
+
+    /** Returned by {@link #frameLength} while the length prefix is still incomplete. */
+    static final int INCOMPLETE = -1;
+    /** Returned by {@link #frameLength} for a length prefix that can never be valid. */
+    static final int MALFORMED = -2;
+
+    private BinaryProtocol() {
+    }
+
+    static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads a varint that is known to be complete.
+     * @throws IllegalArgumentException if it runs past {@link #MAX_VARINT_BYTES} or the buffer
+     */
+    static long getVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 7 * MAX_VARINT_BYTES; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IllegalArgumentException("Truncated varint");
+            }
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    static long zigzag(int value) {
+        return ((long) value << 1) ^ (value >> 31);
+    }
+
+    static int unzigzag(long value) {
+        return (int) (value >>> 1) ^ -(int) (value & 1);
+    }
+
+    /**
+     * Peeks at the length prefix of the frame starting at the buffer's position, without
+     * moving the position.
+     * @return the frame body length, or {@link #INCOMPLETE} if more bytes are needed, or
+     *         {@link #MALFORMED} if the prefix exceeds {@code maxLength}
+     */
+    static int frameLength(ByteBuffer buffer, int maxLength) {
+        int length = 0;
+        int position = buffer.position();
+        for (int i = 0; i < 5; i++) {
+            if (position + i >= buffer.limit()) {
+                return INCOMPLETE;
+            }
+            byte b = buffer.get(position + i);
+            length |= (b & 0x7F) << (7 * i);
+            if (b >= 0) {
+                return length <= maxLength ? length : MALFORMED;
+            }
+        }
+        return MALFORMED;
+    }
+
+    /**
+     * Returns the number of bytes the varint encoding of {@code value} takes.
+     */
+    static int varintSize(long value) {
+        int bytes = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+}
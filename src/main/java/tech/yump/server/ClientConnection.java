@@ -0,0 +1,184 @@
+package tech.yump.server;
+
+import tech.yump.model.Player;
+import tech.yump.util.Coordinate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One client of a {@link GameServer}, served by its own virtual thread. Reads commands
+ * line by line and holds at most one seat at a time.
+ * <p>
+ * Writes come from the client's thread and from the game threads of its session, so they
+ * are serialized by a {@link ReentrantLock}; unlike {@code synchronized}, waiting on it
+ * or blocking in the socket write while holding it does not pin a carrier thread.
+ */
+final class ClientConnection implements Runnable, Seat {
+
+    private record Seating(GameSession session, Player player) {
+    }
+
+    private final GameServer server;
+    private final Socket socket;
+    private final Writer out;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Seating seating;
+    private volatile boolean closed;
+
+    ClientConnection(GameServer server, Socket socket) throws IOException {
+        this.server = server;
+        this.socket = socket;
+        this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void run() {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!handle(line.trim())) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // The client went away; close() below releases its seat
+        } finally {
+            close();
+        }
+    }
+
+    // Returns false when the client asked to quit
+    private boolean handle(String line) {
+        String[] parts = line.split("\\s+");
+        try {
+            switch (parts[0].toUpperCase()) {
+                case "NEW" -> newGame(parts.length > 1 ? Integer.parseInt(parts[1]) : GameServer.DEFAULT_BOARD_SIZE);
+                case "JOIN" -> join(Long.parseLong(argument(parts, 1)));
+                case "MOVE" -> move(Integer.parseInt(argument(parts, 1)), Integer.parseInt(argument(parts, 2)));
+                case "QUIT" -> {
+                    return false;
+                }
+                case "" -> {
+                    // Ignore blank lines
+                }
+                default -> send("ERR Unknown command " + parts[0]);
+            }
+        } catch (NumberFormatException e) {
+            send("ERR Invalid number in: " + line);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            send("ERR " + e.getMessage());
+        }
+        return true;
+    }
+
+    private static String argument(String[] parts, int i) {
+        if (i >= parts.length) {
+            throw new IllegalArgumentException("Missing argument for " + parts[0]);
+        }
+        return parts[i];
+    }
+
+    private void newGame(int size) {
+        requireNoGame();
+        GameSession session = server.createSession(size);
+        take(session, Player.PLAYER_1);
+    }
+
+    private void join(long id) {
+        requireNoGame();
+        GameSession session = server.getSession(id);
+        if (session == null) {
+            throw new IllegalArgumentException("No game " + id);
+        }
+        take(session, Player.PLAYER_2);
+    }
+
+    // Holds the write lock while seating, so GAME goes out before the game's first TURN
+    private void take(GameSession session, Player player) {
+        writeLock.lock();
+        try {
+            seating = new Seating(session, player);
+            if (!session.seat(player, this)) {
+                seating = null;
+                throw new IllegalStateException("Game " + session.getId() + " cannot be joined");
+            }
+            send("GAME " + session.getId() + " " + player + " " + session.getBoardSize() + " " + session.getSeed());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void move(int x, int y) {
+        Seating current = seating;
+        if (current == null) {
+            throw new IllegalStateException("Not in a game");
+        }
+        if (!current.session().submitMove(current.player(), Coordinate.pack(x, y))) {
+            throw new IllegalStateException("A move is already pending");
+        }
+    }
+
+    private void requireNoGame() {
+        Seating current = seating;
+        if (current != null) {
+            throw new IllegalStateException("Already in game " + current.session().getId());
+        }
+    }
+
+    @Override
+    public void send(String line) {
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            out.write(line);
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            closeSocket();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void sessionEnded(GameSession session) {
+        Seating current = seating;
+        if (current != null && current.session() == session) {
+            seating = null;
+        }
+    }
+
+    /**
+     * Closes the connection and aborts the client's game, if any. Safe to call more than once.
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Seating current = seating;
+        if (current != null) {
+            current.session().end("END ABORTED");
+        }
+        closeSocket();
+        server.disconnected(this);
+    }
+
+    private void closeSocket() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package tech.yump.server;
+
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.GameConfig;
+import tech.yump.model.CellState;
+import tech.yump.model.GridType;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Hosts many concurrent games in one JVM and lets clients play them over TCP.
+ * <p>
+ * Every client connection and every running {@link GameSession} gets its own virtual
+ * thread, so thousands of mostly idle games cost little more than their boards: a game
+ * waiting for a move is a parked virtual thread, not a blocked platform thread. Active
+ * sessions are kept in a registry by game id until they end.
+ * <p>
+ * The protocol is line based (UTF-8, one command or event per line). Client commands:
+ * <ul>
+ *   <li>{@code NEW [size]}: creates a game (size 1 to {@link #MAX_BOARD_SIZE}, default 4)
+ *       and takes PLAYER_1's seat. Replies {@code GAME <id> PLAYER_1 <size> <seed>}.</li>
+ *   <li>{@code JOIN <id>}: takes PLAYER_2's seat and starts the game. Replies
+ *       {@code GAME <id> PLAYER_2 <size> <seed>}.</li>
+ *   <li>{@code MOVE <x> <y>}: plays the cell at (x, y); a move sent during the opponent's
+ *       turn waits for the player's own turn.</li>
+ *   <li>{@code QUIT}: closes the connection, aborting the client's game.</li>
+ * </ul>
+ * Both players receive {@code TURN <player>} before every turn, {@code MOVED <player> <x> <y>}
+ * after every move played, {@code MSG <text>} for every engine message and finally
+ * {@code END <PLAYER_1|PLAYER_2|TIE|ABORTED>}. A rejected command gets {@code ERR <reason>}.
+ * {@code MSG} text is meant for people and may change; clients should not parse it. Games
+ * use the ELIMINATION rules with the same opening cells as the interactive game. The board
+ * is not sent: clients rebuild the opening board from the size and seed in {@code GAME}, as
+ * {@code new GameMap(size, GridType.OCTAGONAL, seed)} with PLAYER_1 on (1, 1) and PLAYER_2
+ * on (-1, -1), and follow it by playing the {@code MOVED} moves on it.
+ */
+public final class GameServer implements AutoCloseable {
+
+    /** Largest board size a client may ask for. */
+    public static final int MAX_BOARD_SIZE = 64;
+    /** Board size of {@code NEW} without an argument. */
+    public static final int DEFAULT_BOARD_SIZE = 4;
+
+    private final ServerSocket serverSocket;
+    private final ConcurrentMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final Set<ClientConnection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final LongSupplier seeds;
+    private final Thread acceptor;
+    private volatile boolean closed;
+
+    /**
+     * Starts a server listening on the loopback interface.
+     * @param port The port to listen on, or 0 for any free port (see {@link #getPort()}).
+     */
+    public static GameServer start(int port) throws IOException {
+        return start(port, () -> ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Starts a loopback server whose boards are generated from the seeds {@code seeds} supplies.
+     */
+    static GameServer start(int port, LongSupplier seeds) throws IOException {
+        return new GameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), seeds);
+    }
+
+    /**
+     * Starts a server listening on the given address.
+     */
+    public GameServer(SocketAddress address) throws IOException {
+        this(address, () -> ThreadLocalRandom.current().nextLong());
+    }
+
+    GameServer(SocketAddress address, LongSupplier seeds) throws IOException {
+        this.seeds = seeds;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(address);
+        this.acceptor = Thread.ofVirtual().name("octa-acceptor").start(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Creates a game waiting for its players and registers it.
+     * @throws IllegalArgumentException if the size is outside 1 to {@link #MAX_BOARD_SIZE}
+     * @throws IllegalStateException if the server is closed
+     */
+    public GameSession createSession(int size) {
+        if (closed) {
+            throw new IllegalStateException("Server is closed");
+        }
+        OctaGameLogic logic = newGame(size, seeds.getAsLong());
+        GameSession session = new GameSession(nextId.getAndIncrement(), this, logic);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Creates the opening position of a hosted game: an ELIMINATION game on the board
+     * generated from {@code seed}, with each player owning one cell as in the interactive game.
+     * @throws IllegalArgumentException if the size is outside 1 to {@link #MAX_BOARD_SIZE}
+     */
+    static OctaGameLogic newGame(int size, long seed) {
+        if (size < 1 || size > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Board size must be between 1 and " + MAX_BOARD_SIZE);
+        }
+        GameConfig config = new GameConfig(WinCondition.ELIMINATION, 50, 0, seed);
+        return new OctaGameLogic(openingBoard(size, seed), Player.PLAYER_1, config);
+    }
+
+    /**
+     * Returns the opening board of a hosted game generated from {@code seed}. Clients that
+     * know the size and seed can rebuild it exactly.
+     */
+    static GameMap openingBoard(int size, long seed) {
+        GameMap map = new GameMap(size, GridType.OCTAGONAL, seed);
+        map.setState(map.indexOf(1, 1), CellState.PLAYER_1);
+        map.setState(map.indexOf(-1, -1), CellState.PLAYER_2);
+        return map;
+    }
+
+    /**
+     * Returns the active session with the given id, or null if there is none.
+     */
+    public GameSession getSession(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Returns the number of sessions that have been created and have not ended yet.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    void unregister(GameSession session) {
+        sessions.remove(session.getId(), session);
+    }
+
+    void disconnected(ClientConnection connection) {
+        connections.remove(connection);
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                ClientConnection connection = new ClientConnection(this, socket);
+                connections.add(connection);
+                if (closed) {
+                    connection.close();
+                    return;
+                }
+                Thread.ofVirtual().name("octa-client").start(connection);
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Failed to accept a game client: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting clients, aborts every session and closes every connection.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (GameSession session : sessions.values()) {
+            session.end("END ABORTED");
+        }
+        for (ClientConnection connection : connections) {
+            connection.close();
+        }
+        try {
+            acceptor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
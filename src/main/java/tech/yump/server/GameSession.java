@@ -0,0 +1,237 @@
+package tech.yump.server;
+
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.GameEngine;
+import tech.yump.engine.GameResult;
+import tech.yump.engine.MoveProvider;
+import tech.yump.model.Player;
+import tech.yump.util.Coordinate;
+import tech.yump.view.GameView;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One live game hosted by a {@link GameServer}.
+ * <p>
+ * Once both seats are taken the session runs an ordinary {@link GameEngine} on its own
+ * virtual thread. The engine's {@link MoveProvider} blocks on the queue of the player to
+ * move, so an idle game is just a parked virtual thread plus its board, and costs no
+ * platform thread. Each player can have one move waiting: a move sent during the
+ * opponent's turn is played when the player's turn comes. Everything the engine shows
+ * goes to both seats as protocol lines (see {@link GameServer}), and every move played is
+ * announced as a {@code MOVED} line.
+ * <p>
+ * Seats are only ever called with no session lock held, so a slow client cannot stall
+ * other threads that touch the session.
+ */
+public final class GameSession {
+
+    private final long id;
+    private final GameServer server;
+    private final GameMap map;
+    private final OctaGameLogic logic;
+    // One pending move per player, indexed by Player ordinal
+    private final List<BlockingQueue<Long>> moves = List.of(new ArrayBlockingQueue<>(1), new ArrayBlockingQueue<>(1));
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Seat[] seats = new Seat[2]; // Guarded by lock
+    private Thread thread; // Guarded by lock
+    private boolean ended; // Guarded by lock
+
+    // The last move handed to the engine and the turn count last announced; only used by the game thread
+    private long lastMove;
+    private Player lastMover;
+    private int announcedTurns;
+
+    GameSession(long id, GameServer server, OctaGameLogic logic) {
+        this.id = id;
+        this.server = server;
+        this.map = logic.getGameMap();
+        this.logic = logic;
+        this.announcedTurns = logic.getTurnCount();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public int getBoardSize() {
+        return map.getSize();
+    }
+
+    /**
+     * Returns the seed the game's opening board was generated from.
+     */
+    public long getSeed() {
+        return logic.getConfig().getSeed();
+    }
+
+    /**
+     * Returns true once both players have joined and the game has started.
+     */
+    public boolean isStarted() {
+        lock.lock();
+        try {
+            return thread != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns true once the game has finished or was aborted.
+     */
+    public boolean isEnded() {
+        lock.lock();
+        try {
+            return ended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the given player's seat, and starts the game on a new virtual thread when both
+     * seats are taken.
+     * @return false if the seat is already taken or the session has ended
+     */
+    boolean seat(Player player, Seat seat) {
+        lock.lock();
+        try {
+            if (ended || seats[player.ordinal()] != null) {
+                return false;
+            }
+            seats[player.ordinal()] = seat;
+            if (seats[0] != null && seats[1] != null) {
+                thread = Thread.ofVirtual().name("octa-game-" + id).start(this::play);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues a move for the given player.
+     * @param move The packed coordinate of the move (see {@link Coordinate#pack(int, int)}).
+     * @return false if the player already has a move waiting
+     */
+    boolean submitMove(Player player, long move) {
+        return moves.get(player.ordinal()).offer(move);
+    }
+
+    /**
+     * Ends the session: sends {@code endLine} to both seats, releases them, removes the
+     * session from its server and stops the game thread. Does nothing if already ended.
+     */
+    void end(String endLine) {
+        Seat[] released;
+        Thread running;
+        lock.lock();
+        try {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            released = seats.clone();
+            seats[0] = null;
+            seats[1] = null;
+            running = thread;
+        } finally {
+            lock.unlock();
+        }
+        server.unregister(this);
+        for (Seat seat : released) {
+            if (seat != null) {
+                seat.send(endLine);
+                seat.sessionEnded(this);
+            }
+        }
+        if (running != null && running != Thread.currentThread()) {
+            running.interrupt();
+        }
+    }
+
+    private void play() {
+        GameEngine engine = new GameEngine();
+        engine.startGame(map, logic, new SessionView(), new QueuedMoveProvider());
+        try {
+            engine.run();
+            GameResult result = logic.getGameResult();
+            end("END " + (result == null || result.getWinner() == null ? "TIE" : result.getWinner()));
+        } catch (CancellationException e) {
+            // Aborted by end(); the seats have been told
+        } finally {
+            end("END ABORTED");
+        }
+    }
+
+    private void broadcast(String line) {
+        Seat first;
+        Seat second;
+        lock.lock();
+        try {
+            first = seats[0];
+            second = seats[1];
+        } finally {
+            lock.unlock();
+        }
+        if (first != null) {
+            first.send(line);
+        }
+        if (second != null) {
+            second.send(line);
+        }
+    }
+
+    /** Blocks the game thread until the player to move has sent a move. */
+    private final class QueuedMoveProvider implements MoveProvider {
+
+        @Override
+        public Coordinate getNextMove() {
+            return Coordinate.unpack(getNextPackedMove());
+        }
+
+        @Override
+        public long getNextPackedMove() {
+            try {
+                lastMover = logic.getCurrentPlayer();
+                lastMove = moves.get(lastMover.ordinal()).take();
+                return lastMove;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Game " + id + " was aborted");
+            }
+        }
+    }
+
+    /**
+     * Announces the move just played and the player to move before every turn, and relays
+     * the engine's messages. The engine shows the board after every attempt, so a move was
+     * played exactly when the turn count has changed.
+     */
+    private final class SessionView implements GameView {
+
+        @Override
+        public void printBoard(GameMap map) {
+            if (logic.getTurnCount() != announcedTurns) {
+                announcedTurns = logic.getTurnCount();
+                Coordinate move = Coordinate.unpack(lastMove);
+                broadcast("MOVED " + lastMover + " " + move.getX() + " " + move.getY());
+            }
+            if (logic.getGameResult() == null) {
+                broadcast("TURN " + logic.getCurrentPlayer());
+            }
+        }
+
+        @Override
+        public void displayMessage(String message) {
+            broadcast("MSG " + message);
+        }
+    }
+}
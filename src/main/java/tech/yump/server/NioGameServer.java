@@ -0,0 +1,538 @@
+package tech.yump.server;
+
+import tech.yump.core.ChangeSet;
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.GameResult;
+import tech.yump.model.Player;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Hosts games over the compact {@link BinaryProtocol} with a single selector thread.
+ * <p>
+ * The reactor thread accepts connections, decodes frames and plays the moves itself:
+ * a MOVE frame's zigzag varints are decoded straight into a cell index for
+ * {@link OctaGameLogic#makeMove(int, Player)}, and the move's {@link ChangeSet} is encoded
+ * as one DELTA frame for both players, so a move costs O(cells changed) on the wire and
+ * no objects on the heap. Games and connections are only touched by the reactor thread
+ * and need no locks; the cost of an idle connection is its key and a 64-byte read buffer.
+ * <p>
+ * Frames are built once in a reusable direct buffer and written straight to each socket.
+ * Bytes a socket does not accept immediately are copied to a per-connection backlog that
+ * is drained when the socket becomes writable; a client whose backlog grows past
+ * {@link #MAX_BACKLOG} is disconnected rather than buffered without bound. A connection
+ * whose write fails is only marked dead while frames are being sent, and disconnected
+ * once the current event has been handled, so tearing down its game never rebuilds the
+ * shared frame buffer in the middle of a broadcast or ends a game that is still moving.
+ * <p>
+ * Games use the same rules and opening position as {@link GameServer}.
+ */
+public final class NioGameServer implements AutoCloseable {
+
+    /** Most unsent bytes kept for a slow client before it is disconnected. */
+    public static final int MAX_BACKLOG = 1 << 20;
+
+    // Pending connections the kernel queues for the reactor; the default of 50 drops bursts of connects
+    private static final int ACCEPT_BACKLOG = 1024;
+    private static final int READ_BUFFER_BYTES = 64;
+    private static final int LENGTH_PREFIX_BYTES = 5;
+    // Largest DELTA: header fields plus a 3-byte index and a cell byte for every cell of the largest board
+    private static final int MAX_FRAME_BYTES = 32 + 4 * (2 * GameServer.MAX_BOARD_SIZE + 1) * (2 * GameServer.MAX_BOARD_SIZE + 1);
+
+    /** One client connection; only used on the reactor thread. */
+    private static final class Connection {
+        final SocketChannel channel;
+        final SelectionKey key;
+        final ByteBuffer in = ByteBuffer.allocateDirect(READ_BUFFER_BYTES);
+        ByteBuffer backlog; // Unsent bytes in write mode; null until first needed
+        boolean dead; // A write failed; disconnected by disconnectDead()
+        Game game;
+        Player player;
+
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        boolean hasBacklog() {
+            return backlog != null && backlog.position() > 0;
+        }
+    }
+
+    /** One hosted game; only used on the reactor thread. */
+    private static final class Game {
+        final long id;
+        final OctaGameLogic logic;
+        final Connection[] seats = new Connection[2];
+
+        Game(long id, OctaGameLogic logic) {
+            this.id = id;
+            this.logic = logic;
+        }
+    }
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ConcurrentMap<Long, Game> games = new ConcurrentHashMap<>();
+    private final ByteBuffer frame = ByteBuffer.allocateDirect(LENGTH_PREFIX_BYTES + MAX_FRAME_BYTES);
+    private final ArrayDeque<Connection> deadConnections = new ArrayDeque<>();
+    private final LongSupplier seeds;
+    private final Thread reactor;
+    private long nextId = 1;
+    private volatile int connectionCount;
+    private volatile boolean closed;
+
+    /**
+     * Starts a server listening on the loopback interface.
+     * @param port The port to listen on, or 0 for any free port (see {@link #getPort()}).
+     */
+    public static NioGameServer start(int port) throws IOException {
+        return start(port, () -> ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Starts a loopback server whose boards are generated from the seeds {@code seeds} supplies.
+     */
+    static NioGameServer start(int port, LongSupplier seeds) throws IOException {
+        return new NioGameServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), seeds);
+    }
+
+    /**
+     * Starts a server listening on the given address.
+     */
+    public NioGameServer(SocketAddress address) throws IOException {
+        this(address, () -> ThreadLocalRandom.current().nextLong());
+    }
+
+    NioGameServer(SocketAddress address, LongSupplier seeds) throws IOException {
+        this.seeds = seeds;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, ACCEPT_BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.reactor = new Thread(this::runReactor, "octa-reactor");
+        reactor.start();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Returns the number of games created and not yet ended.
+     */
+    public int getGameCount() {
+        return games.size();
+    }
+
+    /**
+     * Returns the number of open client connections.
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    // --- Reactor ---
+
+    private void runReactor() {
+        try {
+            while (!closed) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        try {
+                            accept();
+                        } catch (IOException e) {
+                            // Out of file descriptors or a client that reset at once; keep serving the others
+                            System.err.println("Failed to accept a game client: " + e.getMessage());
+                        }
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            read(connection);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            drainBacklog(connection);
+                        }
+                    } catch (IOException e) {
+                        disconnect(connection);
+                    }
+                    disconnectDead();
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("Game server reactor failed: " + e.getMessage());
+            }
+        } finally {
+            shutDown();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new Connection(channel, key));
+            connectionCount++;
+        }
+    }
+
+    private void read(Connection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        if (connection.channel.read(in) < 0) {
+            disconnect(connection);
+            return;
+        }
+        in.flip();
+        while (connection.key.isValid() && !connection.dead) {
+            int length = BinaryProtocol.frameLength(in, BinaryProtocol.MAX_CLIENT_FRAME);
+            if (length == BinaryProtocol.INCOMPLETE) {
+                break;
+            }
+            if (length < 1) {
+                reject(connection, BinaryProtocol.MALFORMED_FRAME);
+                return;
+            }
+            int body = in.position() + 1;
+            while (in.get(body - 1) < 0) {
+                body++; // Skip the rest of the length prefix, however it was encoded
+            }
+            if (in.limit() - body < length) {
+                break;
+            }
+            int end = body + length;
+            in.position(body);
+            int savedLimit = in.limit();
+            in.limit(end);
+            try {
+                handleFrame(connection, in);
+            } catch (IllegalArgumentException e) {
+                // Truncated or overlong fields inside the frame
+                reject(connection, BinaryProtocol.MALFORMED_FRAME);
+                return;
+            }
+            in.limit(savedLimit);
+            in.position(end);
+        }
+        in.compact();
+    }
+
+    // Decodes the whole frame before acting on it, so a malformed frame changes nothing
+    private void handleFrame(Connection connection, ByteBuffer in) {
+        byte type = in.get();
+        switch (type) {
+            case BinaryProtocol.JOIN -> {
+                long gameId = BinaryProtocol.getVarint(in);
+                int size = gameId == 0 ? (int) Math.min(BinaryProtocol.getVarint(in), Integer.MAX_VALUE) : 0;
+                requireEnd(in);
+                if (gameId == 0) {
+                    createGame(connection, size);
+                } else {
+                    joinGame(connection, gameId);
+                }
+            }
+            case BinaryProtocol.MOVE -> {
+                int x = BinaryProtocol.unzigzag(BinaryProtocol.getVarint(in));
+                int y = BinaryProtocol.unzigzag(BinaryProtocol.getVarint(in));
+                requireEnd(in);
+                move(connection, x, y);
+            }
+            default -> throw new IllegalArgumentException("Unknown frame type " + type);
+        }
+    }
+
+    private static void requireEnd(ByteBuffer in) {
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException("Trailing bytes in frame");
+        }
+    }
+
+    // --- Games ---
+
+    private void createGame(Connection connection, int size) {
+        if (connection.game != null) {
+            sendError(connection, BinaryProtocol.ALREADY_IN_GAME);
+            return;
+        }
+        if (size < 1 || size > GameServer.MAX_BOARD_SIZE) {
+            sendError(connection, BinaryProtocol.INVALID_SIZE);
+            return;
+        }
+        Game game = new Game(nextId++, GameServer.newGame(size, seeds.getAsLong()));
+        games.put(game.id, game);
+        seat(connection, game, Player.PLAYER_1);
+    }
+
+    private void joinGame(Connection connection, long gameId) {
+        if (connection.game != null) {
+            sendError(connection, BinaryProtocol.ALREADY_IN_GAME);
+            return;
+        }
+        Game game = games.get(gameId);
+        if (game == null) {
+            sendError(connection, BinaryProtocol.NO_SUCH_GAME);
+            return;
+        }
+        if (game.seats[1] != null) {
+            sendError(connection, BinaryProtocol.GAME_FULL);
+            return;
+        }
+        seat(connection, game, Player.PLAYER_2);
+        beginFrame(BinaryProtocol.START);
+        broadcast(game, endFrame());
+    }
+
+    private void seat(Connection connection, Game game, Player player) {
+        game.seats[player.ordinal()] = connection;
+        connection.game = game;
+        connection.player = player;
+        GameMap map = game.logic.getGameMap();
+        beginFrame(BinaryProtocol.JOINED);
+        BinaryProtocol.putVarint(frame, game.id);
+        frame.put((byte) player.ordinal());
+        BinaryProtocol.putVarint(frame, map.getSize());
+        frame.putLong(game.logic.getConfig().getSeed());
+        send(connection, endFrame());
+    }
+
+    private void move(Connection connection, int x, int y) {
+        Game game = connection.game;
+        if (game == null) {
+            sendError(connection, BinaryProtocol.NOT_IN_GAME);
+            return;
+        }
+        if (game.seats[1] == null) {
+            sendError(connection, BinaryProtocol.NOT_STARTED);
+            return;
+        }
+        OctaGameLogic logic = game.logic;
+        if (logic.getCurrentPlayer() != connection.player) {
+            sendError(connection, BinaryProtocol.NOT_YOUR_TURN);
+            return;
+        }
+        int index = logic.getGameMap().indexOf(x, y);
+        if (!logic.isValidMove(index, connection.player)) {
+            sendError(connection, BinaryProtocol.INVALID_MOVE);
+            return;
+        }
+        ChangeSet changes = logic.makeMove(index, connection.player);
+        logic.switchPlayer();
+
+        GameMap map = logic.getGameMap();
+        beginFrame(BinaryProtocol.DELTA);
+        frame.put((byte) connection.player.ordinal());
+        BinaryProtocol.putVarint(frame, logic.getTurnCount());
+        frame.put((byte) changes.getTermination().ordinal());
+        BinaryProtocol.putVarint(frame, changes.size());
+        for (int i = 0; i < changes.size(); i++) {
+            int cell = changes.getIndex(i);
+            BinaryProtocol.putVarint(frame, cell);
+            frame.put((byte) (changes.getStateAfter(i).ordinal() << 3 | changes.getArrowAfter(i).getValue()));
+        }
+        broadcast(game, endFrame());
+
+        if (logic.isGameOver()) {
+            GameResult result = logic.getGameResult();
+            endGame(game, result == null || result.getWinner() == null ? BinaryProtocol.TIE
+                    : result.getWinner() == Player.PLAYER_1 ? BinaryProtocol.PLAYER_1_WINS : BinaryProtocol.PLAYER_2_WINS);
+        }
+    }
+
+    // Forgets the game, sends RESULT to both seats and releases them
+    private void endGame(Game game, byte outcome) {
+        games.remove(game.id);
+        beginFrame(BinaryProtocol.RESULT);
+        frame.put(outcome);
+        broadcast(game, endFrame());
+        for (int i = 0; i < game.seats.length; i++) {
+            Connection seat = game.seats[i];
+            if (seat != null) {
+                seat.game = null;
+                seat.player = null;
+                game.seats[i] = null;
+            }
+        }
+    }
+
+    // --- Output ---
+
+    // Starts a frame in the shared buffer, leaving room for the length prefix
+    private void beginFrame(byte type) {
+        frame.clear();
+        frame.position(LENGTH_PREFIX_BYTES);
+        frame.put(type);
+    }
+
+    // Writes the length prefix just before the body and returns the frame ready to send
+    private ByteBuffer endFrame() {
+        int end = frame.position();
+        int length = end - LENGTH_PREFIX_BYTES;
+        int start = LENGTH_PREFIX_BYTES - BinaryProtocol.varintSize(length);
+        frame.position(start);
+        BinaryProtocol.putVarint(frame, length);
+        frame.position(start);
+        frame.limit(end);
+        return frame;
+    }
+
+    private void sendError(Connection connection, byte code) {
+        beginFrame(BinaryProtocol.ERROR);
+        frame.put(code);
+        send(connection, endFrame());
+    }
+
+    // Sends an error and closes the connection after a frame that cannot be parsed
+    private void reject(Connection connection, byte code) {
+        sendError(connection, code);
+        disconnect(connection);
+    }
+
+    private void broadcast(Game game, ByteBuffer message) {
+        for (Connection seat : game.seats) {
+            if (seat != null) {
+                send(seat, message);
+            }
+        }
+    }
+
+    // Writes the frame to the socket, keeping whatever it does not accept; leaves the frame's position unchanged.
+    // Never disconnects: a connection that cannot take the frame is marked dead instead
+    private void send(Connection connection, ByteBuffer message) {
+        if (connection.dead || !connection.key.isValid()) {
+            return;
+        }
+        int start = message.position();
+        try {
+            if (!connection.hasBacklog()) {
+                connection.channel.write(message);
+            }
+            if (message.hasRemaining()) {
+                appendBacklog(connection, message);
+            }
+        } catch (IOException e) {
+            markDead(connection);
+        }
+        message.position(start);
+    }
+
+    private void appendBacklog(Connection connection, ByteBuffer message) {
+        ByteBuffer backlog = connection.backlog;
+        int needed = (backlog == null ? 0 : backlog.position()) + message.remaining();
+        if (needed > MAX_BACKLOG) {
+            markDead(connection);
+            return;
+        }
+        if (backlog == null || backlog.remaining() < message.remaining()) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(needed, backlog == null ? 256 : backlog.capacity() * 2));
+            if (backlog != null) {
+                grown.put(backlog.flip());
+            }
+            connection.backlog = grown;
+        }
+        connection.backlog.put(message);
+        connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    private void drainBacklog(Connection connection) throws IOException {
+        ByteBuffer backlog = connection.backlog;
+        backlog.flip();
+        connection.channel.write(backlog);
+        backlog.compact();
+        if (backlog.position() == 0) {
+            connection.key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void markDead(Connection connection) {
+        if (!connection.dead) {
+            connection.dead = true;
+            deadConnections.add(connection);
+        }
+    }
+
+    // Disconnects the connections marked dead, including any that die while their games are ended
+    private void disconnectDead() {
+        Connection connection;
+        while ((connection = deadConnections.poll()) != null) {
+            disconnect(connection);
+        }
+    }
+
+    private void disconnect(Connection connection) {
+        if (!connection.key.isValid()) {
+            return;
+        }
+        connection.key.cancel();
+        connectionCount--;
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+        Game game = connection.game;
+        if (game != null) {
+            game.seats[connection.player.ordinal()] = null;
+            connection.game = null;
+            endGame(game, BinaryProtocol.ABORTED);
+        }
+    }
+
+    /**
+     * Stops the reactor and closes every connection; games in progress are dropped.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        selector.wakeup();
+        try {
+            reactor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void shutDown() {
+        for (SelectionKey key : selector.keys()) {
+            try {
+                key.channel().close();
+            } catch (IOException e) {
+                // Keep closing the rest
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+        games.clear();
+        connectionCount = 0;
+    }
+}
@@ -0,0 +1,19 @@
+package tech.yump.server;
+
+/**
+ * A player's end of a {@link GameSession}: receives the session's protocol lines.
+ * Implementations must not block for long or throw; a seat whose client is gone simply
+ * drops the lines.
+ */
+interface Seat {
+
+    /**
+     * Sends one protocol line, without the line terminator.
+     */
+    void send(String line);
+
+    /**
+     * Called once when the session this seat belongs to has ended, after its END line.
+     */
+    void sessionEnded(GameSession session);
+}
@@ -0,0 +1,24 @@
+package tech.yump.sim;
+
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.MoveProvider;
+import tech.yump.model.Player;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Creates the {@link MoveProvider} that plays one side of a simulated game.
+ * A new provider is created for every game, so providers may keep per-game state.
+ */
+@FunctionalInterface
+public interface MoveProviderFactory {
+    /**
+     * @param map The board of the game about to be played.
+     * @param logic The game logic driving that board.
+     * @param player The side the provider plays.
+     * @param random A random source seeded for this game and side only.
+     * @return The provider for this side.
+     */
+    MoveProvider create(GameMap map, OctaGameLogic logic, Player player, RandomGenerator random);
+}
@@ -0,0 +1,47 @@
+package tech.yump.sim;
+
+import tech.yump.core.GameMap;
+import tech.yump.core.OwnedCells;
+import tech.yump.engine.MoveProvider;
+import tech.yump.model.Player;
+import tech.yump.util.Coordinate;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Bot that moves a uniformly chosen cell among the cells it owns.
+ */
+public class RandomMoveProvider implements MoveProvider {
+
+    private final GameMap map;
+    private final OwnedCells owned;
+    private final RandomGenerator random;
+
+    public RandomMoveProvider(GameMap map, Player player, RandomGenerator random) {
+        this.map = map;
+        this.owned = map.getOwnedCells(player);
+        this.random = random;
+    }
+
+    /**
+     * Factory for use with {@link SimulationRunner}.
+     */
+    public static MoveProviderFactory factory() {
+        return (map, logic, player, random) -> new RandomMoveProvider(map, player, random);
+    }
+
+    @Override
+    public Coordinate getNextMove() {
+        long move = getNextPackedMove();
+        return move == NO_MOVE ? null : Coordinate.unpack(move);
+    }
+
+    @Override
+    public long getNextPackedMove() {
+        int index = owned.sample(random);
+        if (index == GameMap.NO_CELL) {
+            return NO_MOVE; // The player owns no cells
+        }
+        return map.getPackedCoordinate(index);
+    }
+}
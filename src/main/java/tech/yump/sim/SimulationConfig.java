@@ -0,0 +1,82 @@
+package tech.yump.sim;
+
+import tech.yump.engine.GameConfig;
+
+/**
+ * Settings for a batch of simulated games.
+ */
+public class SimulationConfig {
+    private final int gameCount;
+    private final int boardSize;
+    private final GameConfig gameConfig;
+    private final boolean stopOnEnemy;
+    private final long seed;
+    private final int maxTurns;
+    private final int parallelism;
+
+    /**
+     * Creates a configuration that uses every available core and caps each game at
+     * {@code max(turnLimit, 1000)} turns.
+     */
+    public SimulationConfig(int gameCount, int boardSize, GameConfig gameConfig, boolean stopOnEnemy, long seed) {
+        this(gameCount, boardSize, gameConfig, stopOnEnemy, seed,
+             Math.max(gameConfig.getTurnLimit(), 1000), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param gameCount Number of games to play.
+     * @param boardSize Size of every board (at least 1, for the starting cells).
+     * @param gameConfig Win condition and turn limit for every game.
+     * @param stopOnEnemy Chain rule for every game.
+     * @param seed Master seed; game {@code i} always gets the same board and bot randomness.
+     * @param maxTurns Hard cap on turns per game, so elimination games always end.
+     * @param parallelism Number of worker threads.
+     */
+    public SimulationConfig(int gameCount, int boardSize, GameConfig gameConfig, boolean stopOnEnemy,
+                            long seed, int maxTurns, int parallelism) {
+        if (gameCount < 0) {
+            throw new IllegalArgumentException("Game count cannot be negative");
+        }
+        if (boardSize < 1) {
+            throw new IllegalArgumentException("Board size must be at least 1");
+        }
+        if (maxTurns < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("Turn cap and parallelism must be positive");
+        }
+        this.gameCount = gameCount;
+        this.boardSize = boardSize;
+        this.gameConfig = gameConfig;
+        this.stopOnEnemy = stopOnEnemy;
+        this.seed = seed;
+        this.maxTurns = maxTurns;
+        this.parallelism = parallelism;
+    }
+
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public GameConfig getGameConfig() {
+        return gameConfig;
+    }
+
+    public boolean isStopOnEnemy() {
+        return stopOnEnemy;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getMaxTurns() {
+        return maxTurns;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+}
@@ -0,0 +1,156 @@
+package tech.yump.sim;
+
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.GameConfig;
+import tech.yump.engine.MoveProvider;
+import tech.yump.model.CellState;
+import tech.yump.model.GridType;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless batch runner that plays many independent bot-vs-bot games in parallel.
+ * <p>
+ * Games are split across a {@link ForkJoinPool} as ranges of game indices. Every game
+ * gets its own {@link GameMap}, {@link OctaGameLogic} and providers, and every leaf task
+ * collects results into its own {@link SimulationStats}; partial results are merged
+ * when the tasks join, so workers share no mutable state. Game {@code i} is seeded from
+ * the master seed and {@code i} alone, which makes a batch reproducible regardless of
+ * the number of threads.
+ */
+public class SimulationRunner {
+
+    private final SimulationConfig config;
+    private final MoveProviderFactory player1Factory;
+    private final MoveProviderFactory player2Factory;
+
+    public SimulationRunner(SimulationConfig config, MoveProviderFactory player1Factory,
+                            MoveProviderFactory player2Factory) {
+        this.config = config;
+        this.player1Factory = player1Factory;
+        this.player2Factory = player2Factory;
+    }
+
+    /**
+     * Plays all configured games and blocks until they are finished.
+     * @return The merged results of every game.
+     */
+    public SimulationStats run() {
+        // Split into enough leaves for work stealing to even out games of different length
+        int leafSize = Math.max(1, config.getGameCount() / (config.getParallelism() * 16));
+        ForkJoinPool pool = new ForkJoinPool(config.getParallelism());
+        try {
+            return pool.invoke(new GameRangeTask(0, config.getGameCount(), leafSize));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays one game and records it into {@code stats}.
+     */
+    void playGame(int gameIndex, SimulationStats stats) {
+        SplittableRandom random = new SplittableRandom(config.getSeed() ^ (gameIndex * 0x9E3779B97F4A7C15L));
+        int size = config.getBoardSize();
+
+        long seed = random.nextLong();
+        GameMap map = new GameMap(size, GridType.OCTAGONAL, seed);
+        map.setState(map.indexOf(1, 1), CellState.PLAYER_1);
+        map.setState(map.indexOf(-1, -1), CellState.PLAYER_2);
+
+        // The shared rules with this game's board seed, so the game reports the seed it was played on
+        GameConfig rules = config.getGameConfig();
+        GameConfig gameConfig = new GameConfig(rules.getWinCondition(), rules.getTurnLimit(), rules.getRepetitionLimit(), seed);
+        OctaGameLogic logic = new OctaGameLogic(map, Player.PLAYER_1, gameConfig, config.isStopOnEnemy());
+        MoveProvider player1 = player1Factory.create(map, logic, Player.PLAYER_1, random.split());
+        MoveProvider player2 = player2Factory.create(map, logic, Player.PLAYER_2, random.split());
+
+        Player forfeited = null;
+        while (!logic.isGameOver() && logic.getTurnCount() < config.getMaxTurns()) {
+            Player current = logic.getCurrentPlayer();
+            long move = (current == Player.PLAYER_1 ? player1 : player2).getNextPackedMove();
+            int index = move == MoveProvider.NO_MOVE ? GameMap.NO_CELL : map.indexOfPacked(move);
+            if (!logic.isValidMove(index, current)) {
+                forfeited = current;
+                break;
+            }
+
+            // Every captured cell changes hands to the mover, so the owned count grows by the chain length
+            int ownedBefore = map.getStateCount(current.getCellState());
+            logic.makeMove(index, current);
+            stats.recordChain(map.getStateCount(current.getCellState()) - ownedBefore);
+            logic.switchPlayer();
+        }
+
+        Player winner;
+        if (forfeited != null) {
+            winner = forfeited == Player.PLAYER_1 ? Player.PLAYER_2 : Player.PLAYER_1;
+        } else {
+            // Decides a game stopped by the turn cap; a game that ended by itself keeps its result
+            logic.decideByMajority();
+            winner = logic.getGameResult().getWinner();
+        }
+        stats.recordGame(winner, logic.getTurnCount(), forfeited != null);
+    }
+
+    /**
+     * Plays the games in {@code [from, to)}, splitting the range while it is larger than the leaf size.
+     */
+    @SuppressWarnings("serial") // Never serialized; only run by the pool
+    private class GameRangeTask extends RecursiveTask<SimulationStats> {
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        GameRangeTask(int from, int to, int leafSize) {
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= leafSize) {
+                SimulationStats stats = new SimulationStats();
+                for (int game = from; game < to; game++) {
+                    playGame(game, stats);
+                }
+                return stats;
+            }
+            int middle = (from + to) >>> 1;
+            GameRangeTask right = new GameRangeTask(middle, to, leafSize);
+            right.fork();
+            SimulationStats left = new GameRangeTask(from, middle, leafSize).compute();
+            return left.merge(right.join());
+        }
+    }
+
+    /**
+     * Runs a batch of random-vs-random games from the command line.
+     * Usage: {@code SimulationRunner [games] [boardSize] [seed] [turnLimit]}
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        int turnLimit = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+
+        SimulationConfig config = new SimulationConfig(games, size,
+                new GameConfig(WinCondition.TURN_LIMIT_MAJORITY, turnLimit), false, seed);
+        SimulationRunner runner = new SimulationRunner(config, RandomMoveProvider.factory(), RandomMoveProvider.factory());
+
+        long start = System.nanoTime();
+        SimulationStats stats = runner.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(stats);
+        System.out.printf("Played %d games on %d threads in %.2f s (%.0f games/s, %.0f moves/s)%n",
+                stats.getGames(), config.getParallelism(), seconds,
+                stats.getGames() / seconds, stats.getMoves() / seconds);
+    }
+}
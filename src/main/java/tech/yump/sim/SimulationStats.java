@@ -0,0 +1,169 @@
+package tech.yump.sim;
+
+import tech.yump.model.Player;
+
+/**
+ * Aggregated results of a batch of simulated games.
+ * <p>
+ * Not thread-safe: every worker fills its own instance and the instances are
+ * combined with {@link #merge(SimulationStats)} once the workers are done, so
+ * the hot path never touches shared state.
+ */
+public class SimulationStats {
+
+    private static final int CHAIN_BUCKETS = 32;
+
+    private long games;
+    private long player1Wins;
+    private long player2Wins;
+    private long ties;
+    private long forfeits;
+
+    private long totalTurns;
+    private int shortestGame = Integer.MAX_VALUE;
+    private int longestGame;
+
+    private long moves;
+    private long capturedCells;
+    private int longestChain;
+    // Bucket 0 counts chains of length 0, bucket k counts lengths in [2^(k-1), 2^k)
+    private final long[] chainHistogram = new long[CHAIN_BUCKETS];
+
+    /**
+     * Records the outcome of one game.
+     * @param winner The winner, or null for a tie.
+     * @param turns Number of moves played.
+     * @param forfeit Whether the game ended because a side had no valid move to offer.
+     */
+    void recordGame(Player winner, int turns, boolean forfeit) {
+        games++;
+        if (winner == Player.PLAYER_1) {
+            player1Wins++;
+        } else if (winner == Player.PLAYER_2) {
+            player2Wins++;
+        } else {
+            ties++;
+        }
+        if (forfeit) {
+            forfeits++;
+        }
+        totalTurns += turns;
+        shortestGame = Math.min(shortestGame, turns);
+        longestGame = Math.max(longestGame, turns);
+    }
+
+    /**
+     * Records one move that captured {@code length} cells.
+     */
+    void recordChain(int length) {
+        moves++;
+        capturedCells += length;
+        longestChain = Math.max(longestChain, length);
+        chainHistogram[length == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(length)]++;
+    }
+
+    /**
+     * Adds all results of {@code other} to this instance.
+     * @return this instance
+     */
+    public SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        player1Wins += other.player1Wins;
+        player2Wins += other.player2Wins;
+        ties += other.ties;
+        forfeits += other.forfeits;
+        totalTurns += other.totalTurns;
+        shortestGame = Math.min(shortestGame, other.shortestGame);
+        longestGame = Math.max(longestGame, other.longestGame);
+        moves += other.moves;
+        capturedCells += other.capturedCells;
+        longestChain = Math.max(longestChain, other.longestChain);
+        for (int i = 0; i < CHAIN_BUCKETS; i++) {
+            chainHistogram[i] += other.chainHistogram[i];
+        }
+        return this;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins(Player player) {
+        return player == Player.PLAYER_1 ? player1Wins : player2Wins;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    /**
+     * Number of games that ended because the side to move offered no valid move.
+     */
+    public long getForfeits() {
+        return forfeits;
+    }
+
+    public double getWinRate(Player player) {
+        return games == 0 ? 0.0 : (double) getWins(player) / games;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    public double getAverageGameLength() {
+        return games == 0 ? 0.0 : (double) totalTurns / games;
+    }
+
+    public int getShortestGame() {
+        return games == 0 ? 0 : shortestGame;
+    }
+
+    public int getLongestGame() {
+        return longestGame;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public long getCapturedCells() {
+        return capturedCells;
+    }
+
+    public double getAverageChainLength() {
+        return moves == 0 ? 0.0 : (double) capturedCells / moves;
+    }
+
+    public int getLongestChain() {
+        return longestChain;
+    }
+
+    /**
+     * Returns the number of moves whose chain length falls into the given log2 bucket:
+     * bucket 0 holds chains of length 0, bucket {@code k} lengths in {@code [2^(k-1), 2^k)}.
+     */
+    public long getChainHistogramBucket(int bucket) {
+        return chainHistogram[bucket];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d (P1 %.1f%%, P2 %.1f%%, ties %.1f%%, forfeits %d)%n",
+                games, 100 * getWinRate(Player.PLAYER_1), 100 * getWinRate(Player.PLAYER_2),
+                games == 0 ? 0.0 : 100.0 * ties / games, forfeits));
+        sb.append(String.format("Game length: avg %.1f, min %d, max %d turns%n",
+                getAverageGameLength(), getShortestGame(), longestGame));
+        sb.append(String.format("Chains: %d moves, avg %.2f cells, longest %d%n",
+                moves, getAverageChainLength(), longestChain));
+        for (int i = 0; i < CHAIN_BUCKETS; i++) {
+            if (chainHistogram[i] > 0) {
+                int low = i == 0 ? 0 : 1 << (i - 1);
+                int high = i == 0 ? 0 : (1 << i) - 1;
+                sb.append(String.format("  %6d-%-6d %d%n", low, high, chainHistogram[i]));
+            }
+        }
+        return sb.toString();
+    }
+}
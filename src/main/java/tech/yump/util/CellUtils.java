@@ -6,9 +6,14 @@ import java.util.concurrent.ThreadLocalRandom;
 
 public class CellUtils {
 
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Returns an unseeded random direction. Boards no longer use this; they generate
+     * their arrows reproducibly with {@link tech.yump.core.BoardGenerator}.
+     */
     public static Direction randomizeDirection() {
-        return Direction.values()[ThreadLocalRandom.current()
-                .nextInt(Direction.values().length)];
+        return DIRECTIONS[ThreadLocalRandom.current().nextInt(DIRECTIONS.length)];
     }
 
     /**
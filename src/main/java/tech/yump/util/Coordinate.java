@@ -1,6 +1,23 @@
 package tech.yump.util;
 
+/**
+ * An immutable (x, y) board coordinate.
+ * <p>
+ * Hot paths avoid coordinate objects altogether: a coordinate can be packed into a
+ * {@code long} with {@link #pack(int, int)} (x in the high 32 bits, y in the low 32 bits)
+ * and passed around as a primitive. Where an object is needed, {@link #of(int, int)}
+ * returns a shared instance for coordinates within {@link #CACHE_RADIUS} of the origin,
+ * so boards up to that size never allocate coordinates.
+ */
 public class Coordinate {
+
+    /** Coordinates with |x| and |y| up to this value are interned by {@link #of(int, int)}. */
+    public static final int CACHE_RADIUS = 64;
+
+    private static final int CACHE_WIDTH = 2 * CACHE_RADIUS + 1;
+    // Filled lazily; a racing thread at worst creates an equal instance, which is harmless for an immutable value
+    private static final Coordinate[] CACHE = new Coordinate[CACHE_WIDTH * CACHE_WIDTH];
+
     private final int x;
     private final int y;
 
@@ -9,6 +26,58 @@ public class Coordinate {
         this.y = y;
     }
 
+    /**
+     * Returns a coordinate equal to {@code new Coordinate(x, y)}, shared for coordinates
+     * within {@link #CACHE_RADIUS} of the origin.
+     */
+    public static Coordinate of(int x, int y) {
+        if (x < -CACHE_RADIUS || x > CACHE_RADIUS || y < -CACHE_RADIUS || y > CACHE_RADIUS) {
+            return new Coordinate(x, y);
+        }
+        int slot = (y + CACHE_RADIUS) * CACHE_WIDTH + (x + CACHE_RADIUS);
+        Coordinate cached = CACHE[slot];
+        if (cached == null) {
+            cached = new Coordinate(x, y);
+            CACHE[slot] = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Packs a coordinate into a {@code long}: x in the high 32 bits, y in the low 32 bits.
+     */
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the x of a packed coordinate.
+     */
+    public static int packedX(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * Returns the y of a packed coordinate.
+     */
+    public static int packedY(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Returns the coordinate of a packed value, from the cache where possible.
+     */
+    public static Coordinate unpack(long packed) {
+        return of(packedX(packed), packedY(packed));
+    }
+
+    /**
+     * Returns this coordinate packed into a {@code long}; see {@link #pack(int, int)}.
+     */
+    public long pack() {
+        return pack(x, y);
+    }
+
     public int getX() {
         return x;
     }
@@ -32,6 +101,6 @@ public class Coordinate {
 
     @Override
     public int hashCode() {
-        return java.util.Objects.hash(x, y);
+        return 31 * x + y;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,172 @@
+package tech.yump.view;
+
+import tech.yump.core.BoardSnapshot;
+import tech.yump.core.GameMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A view that renders on its own thread, so the game thread never waits for terminal output.
+ * <p>
+ * {@link #printBoard} takes an immutable {@link BoardSnapshot} of the board (a bulk array
+ * copy) and queues it with the messages; a daemon thread passes them in order to the
+ * target view. At most one frame waits at a time: a new frame replaces one that has not
+ * been drawn yet, so a slow terminal skips intermediate boards instead of holding back the
+ * game, while every message is still shown. The render thread draws frames on a private
+ * board of its own, restored from each snapshot, so the target sees the same
+ * {@link GameMap} every time and a {@link BoardRenderer} can repaint just the changes.
+ * <p>
+ * Only dense boards can be shown. Input must not go through the target view while the
+ * async view is in use, since prompts would interleave with output drawn from the other
+ * thread; use it for games between scripted or AI {@link tech.yump.engine.MoveProvider}s.
+ */
+public final class AsyncView implements GameView {
+
+    private final GameView target;
+    private final Thread renderThread;
+    private final Object lock = new Object();
+
+    // Guarded by lock: queued messages (String) and at most one frame (BoardSnapshot); null marks a dropped frame
+    private List<Object> pending = new ArrayList<>();
+    private int pendingFrame = -1;
+    private boolean closed;
+    private long droppedFrames;
+    private RuntimeException failure;
+
+    // Render thread only
+    private GameMap board;
+
+    /**
+     * Starts the render thread.
+     * @param target The view that does the actual drawing; it is only called from the render thread
+     */
+    public AsyncView(GameView target) {
+        this.target = target;
+        this.renderThread = new Thread(this::renderLoop, "octa-view");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    /**
+     * Queues a snapshot of the board, replacing a queued frame that has not been drawn yet.
+     * @throws UnsupportedOperationException if the board is sparse
+     * @throws IllegalStateException if the view is closed or the target view failed
+     */
+    @Override
+    public void printBoard(GameMap map) {
+        BoardSnapshot frame = map.snapshot();
+        synchronized (lock) {
+            checkOpen();
+            if (pendingFrame >= 0) {
+                pending.set(pendingFrame, null);
+                droppedFrames++;
+            }
+            pendingFrame = pending.size();
+            pending.add(frame);
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Queues a message. Messages are never dropped.
+     * @throws IllegalStateException if the view is closed or the target view failed
+     */
+    @Override
+    public void displayMessage(String message) {
+        synchronized (lock) {
+            checkOpen();
+            pending.add(message);
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Returns the number of frames replaced before they were drawn.
+     */
+    public long getDroppedFrameCount() {
+        synchronized (lock) {
+            return droppedFrames;
+        }
+    }
+
+    /**
+     * Draws everything still queued, stops the render thread and closes the target view.
+     * @throws IllegalStateException if the target view failed while drawing
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            renderThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        target.close();
+        synchronized (lock) {
+            if (failure != null) {
+                throw new IllegalStateException("Rendering failed", failure);
+            }
+        }
+    }
+
+    private void checkOpen() {
+        if (failure != null) {
+            throw new IllegalStateException("Rendering failed", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("View is closed");
+        }
+    }
+
+    private void renderLoop() {
+        List<Object> batch = new ArrayList<>();
+        try {
+            while (true) {
+                synchronized (lock) {
+                    while (pending.isEmpty() && !closed) {
+                        lock.wait();
+                    }
+                    if (pending.isEmpty()) {
+                        return;
+                    }
+                    // Swap the lists so the game thread can keep queueing while this batch is drawn
+                    List<Object> queued = pending;
+                    pending = batch;
+                    batch = queued;
+                    pendingFrame = -1;
+                }
+                for (Object item : batch) {
+                    if (item instanceof String message) {
+                        target.displayMessage(message);
+                    } else if (item instanceof BoardSnapshot frame) {
+                        target.printBoard(restore(frame));
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                failure = e;
+                pending.clear();
+            }
+        }
+    }
+
+    private GameMap restore(BoardSnapshot frame) {
+        if (board == null || board.getTopology() != frame.getTopology()) {
+            board = new GameMap(frame);
+        } else {
+            board.restoreFrom(frame);
+        }
+        return board;
+    }
+}
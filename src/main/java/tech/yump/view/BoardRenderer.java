@@ -0,0 +1,222 @@
+package tech.yump.view;
+
+import tech.yump.core.GameMap;
+import tech.yump.model.CellState;
+import tech.yump.model.Direction;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Draws a {@link GameMap} to a terminal.
+ * <p>
+ * Every frame is built in one reusable buffer and written with a single call. Each cell
+ * takes three columns: the owner ("1", "2", "B" or blank), the arrow glyph and a space;
+ * rows run from {@code y = size} at the top down to {@code -size}, with a y label on the
+ * left and x labels underneath.
+ * <p>
+ * On an ANSI terminal tall enough for the board, the first frame clears the screen and
+ * draws the board at the top. Later frames of the same board compare its packed cells
+ * with the previous frame ({@link Arrays#mismatch} skips unchanged runs in bulk) and only
+ * repaint the changed cells, each after a cursor-positioning escape, then put the cursor
+ * back where it was. A typical move touches a handful of cells, so frame time hardly
+ * depends on the board size. Messages printed between frames run on under the board;
+ * callers announce them with {@link #reserveLines}, which clears the old ones once the
+ * screen is full, so the board never scrolls and the latest messages stay readable.
+ * Without ANSI support, or when the board does not fit the terminal, every frame is drawn
+ * in full and simply scrolls.
+ */
+public class BoardRenderer {
+
+    private static final String CLEAR_SCREEN = "\u001B[H\u001B[2J";
+    private static final String CLEAR_BELOW = "\u001B[J";
+    private static final String SAVE_CURSOR = "\u001B7";
+    private static final String RESTORE_CURSOR = "\u001B8";
+    private static final int DEFAULT_ROWS = 24;
+
+    private final PrintStream out;
+    private final boolean ansi;
+    private final int rows;
+    private final StringBuilder frame = new StringBuilder(1 << 12);
+
+    // The board and packed cells of the last frame drawn, for diffing; no board unless it
+    // was drawn at the top of the screen
+    private GameMap lastMap;
+    private byte[] previous = new byte[0];
+    private byte[] current = new byte[0];
+    private int labelWidth;
+    private int boardRows;
+    private int linesBelow; // Printed under the anchored board since it was last cleared
+
+    /**
+     * @param out The stream frames are written to.
+     * @param ansi Whether the terminal understands ANSI cursor escapes; see {@link #detectAnsi()}.
+     * @param rows The terminal's height; see {@link #detectRows()}.
+     */
+    public BoardRenderer(PrintStream out, boolean ansi, int rows) {
+        this.out = out;
+        this.ansi = ansi;
+        this.rows = rows;
+    }
+
+    /**
+     * Returns true if standard output looks like an interactive ANSI terminal.
+     */
+    public static boolean detectAnsi() {
+        String term = System.getenv("TERM");
+        return System.console() != null && term != null && !term.equals("dumb");
+    }
+
+    /**
+     * Returns the terminal's height from the LINES variable, or 24 rows if it is not set.
+     */
+    public static int detectRows() {
+        try {
+            return Integer.parseInt(System.getenv().getOrDefault("LINES", "").trim());
+        } catch (NumberFormatException e) {
+            return DEFAULT_ROWS;
+        }
+    }
+
+    /**
+     * Draws the board, repainting only what changed since the last frame where possible.
+     * @throws UnsupportedOperationException if the board is sparse
+     */
+    public void render(GameMap map) {
+        int cellCount = map.getTotalCellCount();
+        if (current.length != cellCount) {
+            current = new byte[cellCount];
+        }
+        map.copyPackedCells(current);
+        frame.setLength(0);
+        // The title, 2 * size + 1 board rows, the x labels and the closing line, plus one
+        // free row so printing under the board does not scroll it
+        boolean anchored = ansi && 2 * map.getSize() + 5 < rows;
+        if (anchored && map == lastMap && previous.length == cellCount) {
+            appendChangedCells(map);
+        } else {
+            appendFullFrame(map, anchored);
+        }
+        out.print(frame);
+        out.flush();
+
+        byte[] swap = previous;
+        previous = current;
+        current = swap;
+        lastMap = anchored ? map : null;
+    }
+
+    /**
+     * Announces that {@code lines} lines of other output are about to be printed. While
+     * the board is anchored at the top of the screen, output runs on under it until the
+     * screen is full; then the lines under the board are cleared before the new ones are
+     * printed. Output too long to fit makes the next frame a full redraw.
+     */
+    public void reserveLines(int lines) {
+        if (lastMap == null) {
+            return;
+        }
+        int free = rows - boardRows - 1;
+        if (linesBelow + lines > free) {
+            out.print("\u001B[" + (boardRows + 1) + ";1H" + CLEAR_BELOW);
+            linesBelow = 0;
+            if (lines > free) {
+                lastMap = null;
+                return;
+            }
+        }
+        linesBelow += lines;
+    }
+
+    /**
+     * Makes the next frame a full redraw, e.g. after other output has overwritten the board.
+     */
+    public void invalidate() {
+        lastMap = null;
+    }
+
+    private void appendFullFrame(GameMap map, boolean anchored) {
+        int size = map.getSize();
+        labelWidth = Math.max(2, Integer.toString(-size).length());
+        boardRows = 2 * size + 4;
+        linesBelow = 0;
+        if (anchored) {
+            frame.append(CLEAR_SCREEN);
+        }
+        frame.append("--- Game Board ---\n");
+        for (int y = size; y >= -size; y--) {
+            appendPadded(y, labelWidth).append(' ');
+            for (int x = -size; x <= size; x++) {
+                int index = map.indexOf(x, y);
+                if (index == GameMap.NO_CELL) {
+                    frame.append("   ");
+                } else {
+                    appendCell(map, index).append(' ');
+                }
+            }
+            frame.append('\n');
+        }
+        frame.append(" ".repeat(labelWidth + 1));
+        for (int x = -size; x <= size; x++) {
+            appendPadded(x, 2).append(' ');
+        }
+        frame.append("\n----------------------\n");
+        if (anchored) {
+            frame.append(CLEAR_BELOW);
+        }
+    }
+
+    private void appendChangedCells(GameMap map) {
+        int size = map.getSize();
+        int index = Arrays.mismatch(previous, current);
+        if (index < 0) {
+            return;
+        }
+        // Messages printed since the last frame stay put; output continues after them
+        frame.append(SAVE_CURSOR);
+        while (index >= 0) {
+            // Screen rows and columns are 1-based; row 1 holds the title
+            int row = 2 + size - map.getY(index);
+            int column = labelWidth + 2 + 3 * (map.getX(index) + size);
+            frame.append("\u001B[").append(row).append(';').append(column).append('H');
+            appendCell(map, index);
+            int next = index + 1;
+            int offset = Arrays.mismatch(previous, next, previous.length, current, next, current.length);
+            index = offset < 0 ? -1 : next + offset;
+        }
+        frame.append(RESTORE_CURSOR);
+    }
+
+    // Appends the two visible columns of a cell: owner and arrow
+    private StringBuilder appendCell(GameMap map, int index) {
+        CellState state = map.getState(index);
+        frame.append(switch (state) {
+            case PLAYER_1 -> '1';
+            case PLAYER_2 -> '2';
+            case BLOCKED -> 'B';
+            case NEUTRAL -> ' ';
+        });
+        return frame.append(arrowGlyph(map.getArrowDirection(index)));
+    }
+
+    private StringBuilder appendPadded(int value, int width) {
+        String text = Integer.toString(value);
+        for (int i = text.length(); i < width; i++) {
+            frame.append(' ');
+        }
+        return frame.append(text);
+    }
+
+    static char arrowGlyph(Direction direction) {
+        return switch (direction) {
+            case NORTH -> '↑';
+            case NORTHEAST -> '↗';
+            case EAST -> '→';
+            case SOUTHEAST -> '↘';
+            case SOUTH -> '↓';
+            case SOUTHWEST -> '↙';
+            case WEST -> '←';
+            case NORTHWEST -> '↖';
+        };
+    }
+}
@@ -1,9 +1,6 @@
 package tech.yump.view;
 
 import tech.yump.core.GameMap;
-import tech.yump.core.GameCell;
-import tech.yump.model.CellState;
-import tech.yump.model.Direction;
 import tech.yump.util.Coordinate;
 
 import java.util.Scanner;
@@ -12,101 +9,27 @@ import java.util.Scanner;
  * Command-Line Interface view for the Octa game.
  * Handles all presentation logic and user input.
  */
-public class CLIView {
+public class CLIView implements GameView {
     
     private final Scanner scanner;
+    private BoardRenderer renderer;
     
     public CLIView() {
         this.scanner = new Scanner(System.in);
     }
     
     /**
-     * Prints the game board with enhanced visualization including arrow glyphs.
+     * Prints the game board with arrow glyphs. On an ANSI terminal only the cells that
+     * changed since the previous call are repainted; see {@link BoardRenderer}.
      * @param map The game map to display
      */
+    @Override
     public void printBoard(GameMap map) {
-        System.out.println("--- Game Board ---");
-        
-        // Get the map size to determine bounds
-        int size = getMapSize(map);
-        
-        // Print from top to bottom (y from size to -size)
-        for (int y = size; y >= -size; y--) {
-            // Print row header
-            System.out.printf("%2d ", y);
-            
-            // Print each cell in the row
-            for (int x = -size; x <= size; x++) {
-                GameCell cell = map.getCell(x, y);
-                if (cell != null) {
-                    System.out.print(getCellGlyph(cell) + " ");
-                } else {
-                    System.out.print("   "); // Empty space for null cells
-                }
-            }
-            System.out.println(); // New line after each row
-        }
-        
-        // Print column headers
-        System.out.print("   "); // Spacing for row header
-        for (int x = -size; x <= size; x++) {
-            System.out.printf("%2d ", x);
-        }
-        System.out.println();
-        System.out.println("----------------------");
-    }
-    
-    /**
-     * Helper method to get the visual representation of a cell.
-     * @param cell The game cell to represent
-     * @return A string representation with state and arrow direction
-     */
-    private String getCellGlyph(GameCell cell) {
-        String stateGlyph = getStateGlyph(cell.getState());
-        String arrowGlyph = getArrowGlyph(cell.getArrowDirection());
-        
-        // For neutral cells, just show the arrow
-        if (cell.getState() == CellState.NEUTRAL) {
-            return arrowGlyph;
+        if (renderer == null) {
+            // Created on first use so it writes to whatever System.out is at that point
+            renderer = new BoardRenderer(System.out, BoardRenderer.detectAnsi(), BoardRenderer.detectRows());
         }
-        
-        // For player cells, show state + arrow
-        return stateGlyph + arrowGlyph;
-    }
-    
-    /**
-     * Gets the character representation of a cell state.
-     */
-    private String getStateGlyph(CellState state) {
-        return switch (state) {
-            case PLAYER_1 -> "1";
-            case PLAYER_2 -> "2";
-            case BLOCKED -> "B";
-            case NEUTRAL -> "";
-        };
-    }
-    
-    /**
-     * Gets the arrow glyph for a direction.
-     */
-    private String getArrowGlyph(Direction direction) {
-        return switch (direction) {
-            case NORTH -> "↑";
-            case NORTHEAST -> "↗";
-            case EAST -> "→";
-            case SOUTHEAST -> "↘";
-            case SOUTH -> "↓";
-            case SOUTHWEST -> "↙";
-            case WEST -> "←";
-            case NORTHWEST -> "↖";
-        };
-    }
-    
-    /**
-     * Helper method to determine map size.
-     */
-    private int getMapSize(GameMap map) {
-        return map.getSize();
+        renderer.render(map);
     }
     
     /**
@@ -114,6 +37,7 @@ public class CLIView {
      * @return The coordinate entered by the user, or null if invalid format
      */
     public Coordinate promptForMove() {
+        reserveLines("Enter your move"); // The user's input ends the line
         System.out.print("Enter your move as x,y (e.g., 1,-2): ");
         
         try {
@@ -130,7 +54,7 @@ public class CLIView {
             int x = Integer.parseInt(parts[0].trim());
             int y = Integer.parseInt(parts[1].trim());
             
-            return new Coordinate(x, y);
+            return Coordinate.of(x, y);
             
         } catch (NumberFormatException e) {
             displayError("Invalid numbers. Please enter valid integers for coordinates.");
@@ -145,7 +69,9 @@ public class CLIView {
      * Displays a general message to the user.
      * @param message The message to display
      */
+    @Override
     public void displayMessage(String message) {
+        reserveLines(message);
         System.out.println(message);
     }
     
@@ -154,6 +80,7 @@ public class CLIView {
      * @param message The error message to display
      */
     public void displayError(String message) {
+        reserveLines(message);
         System.out.println("❌ ERROR: " + message);
     }
     
@@ -162,12 +89,21 @@ public class CLIView {
      * @param message The success message to display
      */
     public void displaySuccess(String message) {
+        reserveLines(message);
         System.out.println("✅ " + message);
     }
     
+    // Lets the renderer make room under the board for a line of text
+    private void reserveLines(String text) {
+        if (renderer != null) {
+            renderer.reserveLines(1 + (int) text.chars().filter(c -> c == '\n').count());
+        }
+    }
+
     /**
      * Closes the scanner when the view is no longer needed.
      */
+    @Override
     public void close() {
         scanner.close();
     }
@@ -0,0 +1,33 @@
+package tech.yump.view;
+
+import tech.yump.core.GameMap;
+
+/**
+ * Output side of the game as seen by the {@link tech.yump.engine.GameEngine}: the board
+ * before every turn and the engine's messages.
+ * <p>
+ * {@link CLIView} prints to the console; {@link NullView} discards everything for headless
+ * runs; {@link AsyncView} hands both to another view on a separate thread so the game
+ * loop never waits for the terminal.
+ */
+public interface GameView extends AutoCloseable {
+
+    /**
+     * Shows the current state of the board.
+     * @param map The game map to display
+     */
+    void printBoard(GameMap map);
+
+    /**
+     * Shows a general message.
+     * @param message The message to display
+     */
+    void displayMessage(String message);
+
+    /**
+     * Releases whatever the view holds. Does nothing by default.
+     */
+    @Override
+    default void close() {
+    }
+}
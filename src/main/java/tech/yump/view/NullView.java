@@ -0,0 +1,24 @@
+package tech.yump.view;
+
+import tech.yump.core.GameMap;
+
+/**
+ * A view that discards all output, for headless games such as simulations and
+ * benchmarks between scripted {@link tech.yump.engine.MoveProvider}s.
+ */
+public final class NullView implements GameView {
+
+    /** Shared instance; the view has no state. */
+    public static final NullView INSTANCE = new NullView();
+
+    private NullView() {
+    }
+
+    @Override
+    public void printBoard(GameMap map) {
+    }
+
+    @Override
+    public void displayMessage(String message) {
+    }
+}
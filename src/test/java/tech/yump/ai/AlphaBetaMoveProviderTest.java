@@ -0,0 +1,97 @@
+package tech.yump.ai;
+
+import org.junit.jupiter.api.Test;
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.GameConfig;
+import tech.yump.model.CellState;
+import tech.yump.model.Direction;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+import tech.yump.util.Coordinate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlphaBetaMoveProviderTest {
+
+    /**
+     * Builds a size-2 elimination game where PLAYER_1 wins at once by playing (0,0),
+     * while its other cell at (-2,-2) captures nothing.
+     */
+    private static OctaGameLogic eliminationPuzzle() {
+        GameMap map = new GameMap(2);
+        OctaGameLogic logic = new OctaGameLogic(map, Player.PLAYER_1, new GameConfig(WinCondition.ELIMINATION, 50));
+        map.getCell(0, 0).setState(CellState.PLAYER_1);
+        map.getCell(0, 0).setArrowDirection(Direction.NORTHEAST); // Rotates to EAST
+        map.getCell(1, 0).setState(CellState.PLAYER_2);
+        map.getCell(-2, -2).setState(CellState.PLAYER_1);
+        map.getCell(-2, -2).setArrowDirection(Direction.SOUTH);   // Rotates to SOUTHWEST, off the board
+        return logic;
+    }
+
+    /** Test Objective: Verify that the search plays the immediate win and scores it as one. */
+    @Test
+    void getNextMove_ShouldPlayTheEliminatingMove() {
+        OctaGameLogic logic = eliminationPuzzle();
+        AlphaBetaMoveProvider provider = new AlphaBetaMoveProvider(logic, 4, 0);
+
+        assertEquals(new Coordinate(0, 0), provider.getNextMove());
+        assertEquals(AlphaBetaMoveProvider.WIN_SCORE - 1, provider.getLastScore(), "A win one ply away");
+        assertTrue(provider.getLastNodes() > 0);
+        assertTrue(provider.getLastNodesPerSecond() > 0);
+    }
+
+    /** Test Objective: Verify that the search does not modify the game it is asked about. */
+    @Test
+    void search_ShouldLeaveTheGameUntouched() {
+        OctaGameLogic logic = eliminationPuzzle();
+        GameMap before = logic.getGameMap().copy();
+
+        new AlphaBetaMoveProvider(logic, 5, 0).search(logic);
+
+        assertTrue(logic.getGameMap().contentEquals(before));
+        assertEquals(0, logic.getTurnCount());
+        assertEquals(Player.PLAYER_1, logic.getCurrentPlayer());
+    }
+
+    /** Test Objective: Verify that a depth-limited search is deterministic. */
+    @Test
+    void search_FixedDepth_ShouldBeDeterministic() {
+        GameMap map = new GameMap(3);
+        map.getCell(1, 1).setState(CellState.PLAYER_1);
+        map.getCell(2, -1).setState(CellState.PLAYER_1);
+        map.getCell(-1, -1).setState(CellState.PLAYER_2);
+        map.getCell(-2, 2).setState(CellState.PLAYER_2);
+        OctaGameLogic logic = new OctaGameLogic(map, Player.PLAYER_1, new GameConfig(WinCondition.TURN_LIMIT_MAJORITY, 30));
+
+        AlphaBetaMoveProvider first = new AlphaBetaMoveProvider(logic, 5, 0);
+        AlphaBetaMoveProvider second = new AlphaBetaMoveProvider(logic.copy(), 5, 0);
+        int firstMove = first.search(logic);
+        int secondMove = second.search(logic.copy());
+
+        assertEquals(firstMove, secondMove);
+        assertEquals(first.getLastNodes(), second.getLastNodes());
+        assertEquals(first.getLastScore(), second.getLastScore());
+        assertEquals(5, first.getLastDepth());
+        assertTrue(logic.isValidMove(firstMove, Player.PLAYER_1));
+    }
+
+    /** Test Objective: Verify that table entries round-trip and that foreign keys miss. */
+    @Test
+    void transpositionTable_ShouldRoundTripEntries() {
+        TranspositionTable table = new TranspositionTable(4);
+        long key = 0x1234_5678_9ABC_DEF0L;
+        table.store(key, 4242, -1234, 9, TranspositionTable.LOWER_BOUND);
+
+        long entry = table.probe(key);
+        assertNotEquals(0, entry);
+        assertEquals(4242, TranspositionTable.move(entry));
+        assertEquals(-1234, TranspositionTable.score(entry));
+        assertEquals(9, TranspositionTable.depth(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(0, table.probe(key + 16), "Same bucket, different key must miss");
+
+        table.store(key, GameMap.NO_CELL, 0, 1, TranspositionTable.EXACT);
+        assertEquals(GameMap.NO_CELL, TranspositionTable.move(table.probe(key)));
+    }
+}
@@ -0,0 +1,77 @@
+package tech.yump.ai;
+
+import org.junit.jupiter.api.Test;
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.GameConfig;
+import tech.yump.engine.MoveProvider;
+import tech.yump.model.CellState;
+import tech.yump.model.Direction;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+import tech.yump.sim.RandomMoveProvider;
+import tech.yump.util.Coordinate;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MctsMoveProviderTest {
+
+    private static MctsConfig config(long iterations, int rootTrees, int threadsPerTree) {
+        return new MctsConfig(iterations, 0, rootTrees, threadsPerTree, Math.sqrt(2), 30, true, 1L);
+    }
+
+    /** Test Objective: Verify that the search finds the only move that eliminates the opponent. */
+    @Test
+    void getNextMove_ShouldPlayTheEliminatingMove() {
+        GameMap map = new GameMap(2);
+        OctaGameLogic logic = new OctaGameLogic(map, Player.PLAYER_1, new GameConfig(WinCondition.ELIMINATION, 50));
+
+        // Winning cell: rotates to EAST and captures the only PLAYER_2 cell
+        map.getCell(0, 0).setState(CellState.PLAYER_1);
+        map.getCell(0, 0).setArrowDirection(Direction.NORTHEAST);
+        map.getCell(1, 0).setState(CellState.PLAYER_2);
+        // Other cell: rotates to SOUTHWEST, off the board
+        map.getCell(-2, -2).setState(CellState.PLAYER_1);
+        map.getCell(-2, -2).setArrowDirection(Direction.SOUTH);
+
+        try (MctsMoveProvider provider = new MctsMoveProvider(logic, config(2_000, 2, 2))) {
+            Coordinate move = provider.getNextMove();
+
+            assertEquals(new Coordinate(0, 0), move, "MCTS should take the immediate win");
+            assertTrue(provider.getLastIterations() >= 2_000, "The whole iteration budget should be spent");
+        }
+    }
+
+    /** Test Objective: Verify that a game against a random bot produces only legal moves and reuses the tree. */
+    @Test
+    void gameAgainstRandomBot_ShouldMakeLegalMovesAndReuseTheTree() {
+        GameMap map = new GameMap(3);
+        // Pin every arrow so the game does not depend on how boards are generated
+        for (int index = 0; index < map.getTotalCellCount(); index++) {
+            map.setArrowDirection(index, Direction.values()[(index * 3) % 8]);
+        }
+        OctaGameLogic logic = new OctaGameLogic(map, Player.PLAYER_1, new GameConfig(WinCondition.TURN_LIMIT_MAJORITY, 16));
+        map.getCell(1, 1).setState(CellState.PLAYER_1);
+        map.getCell(-1, -1).setState(CellState.PLAYER_2);
+        MoveProvider opponent = new RandomMoveProvider(map, Player.PLAYER_2, new SplittableRandom(3));
+
+        boolean reused = false;
+        try (MctsMoveProvider provider = new MctsMoveProvider(logic, config(400, 1, 2))) {
+            while (!logic.isGameOver()) {
+                Player current = logic.getCurrentPlayer();
+                Coordinate move = current == Player.PLAYER_1 ? provider.getNextMove() : opponent.getNextMove();
+                if (move == null) {
+                    break; // The player to move was wiped out
+                }
+                int index = map.indexOf(move.getX(), move.getY());
+                assertTrue(logic.isValidMove(index, current), "Illegal move for " + current + ": " + move);
+                logic.makeMove(index, current);
+                logic.switchPlayer();
+                reused |= current == Player.PLAYER_1 && provider.getLastReusedVisits() > 0;
+            }
+        }
+        assertTrue(reused, "The subtree below the opponent's reply should be carried over at least once");
+    }
+}
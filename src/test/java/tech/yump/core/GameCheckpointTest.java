@@ -0,0 +1,202 @@
+package tech.yump.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.yump.engine.GameConfig;
+import tech.yump.model.CellState;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameCheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void saveAndLoad_ShouldRestoreTheGame() throws IOException {
+        // Arrange
+        GameMap map = new GameMap(20);
+        OctaGameLogic game = new OctaGameLogic(map, Player.PLAYER_1, new GameConfig(WinCondition.TURN_LIMIT_MAJORITY, 300, 4), true);
+        map.getCell(-5, -5).setState(CellState.PLAYER_1);
+        map.getCell(5, 5).setState(CellState.PLAYER_2);
+        playRandomMoves(game, 25);
+        Path file = directory.resolve("game.ckpt");
+
+        // Act
+        GameCheckpoint.save(game, file);
+        OctaGameLogic loaded = GameCheckpoint.load(file);
+
+        // Assert
+        assertTrue(loaded.getGameMap().contentEquals(map));
+        assertEquals(map.getHash(), loaded.getGameMap().getHash());
+        assertEquals(game.getTurnCount(), loaded.getTurnCount());
+        assertEquals(game.getCurrentPlayer(), loaded.getCurrentPlayer());
+        assertTrue(loaded.isStopOnEnemy());
+        assertEquals(WinCondition.TURN_LIMIT_MAJORITY, loaded.getConfig().getWinCondition());
+        assertEquals(300, loaded.getConfig().getTurnLimit());
+        assertEquals(4, loaded.getConfig().getRepetitionLimit());
+        assertEquals(map.getStateCount(CellState.PLAYER_1), loaded.getLegalMoves(Player.PLAYER_1).size());
+        assertTrue(loaded.getGameMap().verifyStateCounts());
+        assertFalse(Files.exists(directory.resolve("game.ckpt.tmp")), "The new checkpoint should have replaced the file");
+    }
+
+    @Test
+    void saveAndLoad_ShouldKeepAForfeit() throws IOException {
+        GameMap map = new GameMap(5);
+        OctaGameLogic game = new OctaGameLogic(map, Player.PLAYER_1);
+        map.getCell(0, 0).setState(CellState.PLAYER_1);
+        map.getCell(1, 1).setState(CellState.PLAYER_2);
+        game.forfeit(Player.PLAYER_1, "on time");
+        Path file = directory.resolve("game.ckpt");
+
+        GameCheckpoint.save(game, file);
+        OctaGameLogic loaded = GameCheckpoint.load(file);
+
+        assertTrue(loaded.isGameOver(), "A game lost on time must not become playable again");
+        assertEquals(Player.PLAYER_2, loaded.getGameResult().getWinner());
+        assertEquals("on time", loaded.getGameResult().getReason());
+    }
+
+    @Test
+    void saveIncremental_ShouldOnlyRewriteDirtyPages() throws IOException {
+        // Arrange - 201 x 201 cells span 10 pages
+        GameMap map = new GameMap(100);
+        OctaGameLogic game = new OctaGameLogic(map, Player.PLAYER_1);
+        Path file = directory.resolve("game.ckpt");
+        assertEquals(10, GameCheckpoint.saveIncremental(game, file), "The first save is a full save");
+
+        // Act
+        map.setState(0, CellState.PLAYER_1);
+        map.setState(1, CellState.PLAYER_2);
+        int written = GameCheckpoint.saveIncremental(game, file);
+
+        // Assert
+        assertEquals(1, written);
+        assertEquals(0, GameCheckpoint.saveIncremental(game, file), "Nothing changed since the last save");
+        assertTrue(GameCheckpoint.load(file).getGameMap().contentEquals(map));
+
+        // Saving elsewhere makes the first file stale, so the next update must be full again
+        GameCheckpoint.save(game, directory.resolve("other.ckpt"));
+        map.setState(2, CellState.PLAYER_1);
+        assertEquals(10, GameCheckpoint.saveIncremental(game, file));
+        assertTrue(GameCheckpoint.load(file).getGameMap().contentEquals(map));
+    }
+
+    @Test
+    void saveIncremental_InterruptedAfterItsLog_ShouldBeFinishedOnLoad() throws IOException {
+        // Arrange
+        GameMap map = new GameMap(100);
+        OctaGameLogic game = new OctaGameLogic(map, Player.PLAYER_1);
+        Path file = directory.resolve("game.ckpt");
+        GameCheckpoint.save(game, file);
+        map.setState(0, CellState.PLAYER_1);
+        map.setState(map.getTotalCellCount() - 1, CellState.PLAYER_2);
+
+        // Act - a crash after the log was forced, while its first page was being copied in
+        GameCheckpoint.writeLog(game, file);
+        overwrite(file, 4096, (byte) map.getPacked(0));
+        OctaGameLogic loaded = GameCheckpoint.load(file);
+
+        // Assert
+        assertTrue(loaded.getGameMap().contentEquals(map));
+        assertFalse(Files.exists(directory.resolve("game.ckpt.log")));
+    }
+
+    @Test
+    void saveIncremental_WithATornLog_ShouldKeepThePreviousCheckpoint() throws IOException {
+        // Arrange
+        GameMap map = new GameMap(100);
+        OctaGameLogic game = new OctaGameLogic(map, Player.PLAYER_1);
+        Path file = directory.resolve("game.ckpt");
+        GameCheckpoint.save(game, file);
+        GameMap saved = GameCheckpoint.load(file).getGameMap();
+        map.setState(0, CellState.PLAYER_1);
+
+        // Act - a crash while the log itself was being written
+        GameCheckpoint.writeLog(game, file);
+        Path log = directory.resolve("game.ckpt.log");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        OctaGameLogic loaded = GameCheckpoint.load(file);
+
+        // Assert
+        assertTrue(loaded.getGameMap().contentEquals(saved));
+        assertFalse(loaded.getGameMap().contentEquals(map));
+        assertFalse(Files.exists(log));
+    }
+
+    @Test
+    void load_ShouldRejectForeignFiles() throws IOException {
+        Path file = directory.resolve("not-a-checkpoint");
+        Files.write(file, new byte[8192]);
+
+        assertThrows(IOException.class, () -> GameCheckpoint.load(file));
+    }
+
+    @Test
+    void load_ShouldRejectVersionOneFilesWithoutASeed() throws IOException {
+        Path file = directory.resolve("game.ckpt");
+        GameCheckpoint.save(new OctaGameLogic(new GameMap(5), Player.PLAYER_1), file);
+        overwrite(file, 7, (byte) 1); // Low byte of the big-endian version
+
+        IOException error = assertThrows(IOException.class, () -> GameCheckpoint.load(file));
+        assertTrue(error.getMessage().contains("Unsupported checkpoint version 1"), error.getMessage());
+    }
+
+    @Test
+    void load_ShouldRejectCellsThatDoNotMatchTheHeader() throws IOException {
+        GameMap map = new GameMap(10);
+        OctaGameLogic game = new OctaGameLogic(map, Player.PLAYER_1);
+        map.getCell(0, 0).setState(CellState.PLAYER_1);
+        Path file = directory.resolve("game.ckpt");
+        GameCheckpoint.save(game, file);
+
+        // Cells changed behind the header's back, with no log to explain them
+        map.getCell(1, 1).setState(CellState.PLAYER_2);
+        overwrite(file, 4096 + map.indexOf(1, 1), (byte) map.getPacked(map.indexOf(1, 1)));
+
+        IOException error = assertThrows(IOException.class, () -> GameCheckpoint.load(file));
+        assertTrue(error.getMessage().contains("does not match its header"), error.getMessage());
+    }
+
+    @Test
+    void load_ShouldRejectCorruptHeaderAndCellBytes() throws IOException {
+        OctaGameLogic game = new OctaGameLogic(new GameMap(5), Player.PLAYER_1);
+        Path file = directory.resolve("game.ckpt");
+        // Header offsets of the grid type, win condition and player to move, then the first cell
+        for (int offset : new int[] {20, 21, 23, 4096}) {
+            GameCheckpoint.save(game, file);
+            overwrite(file, offset, (byte) 0x7F);
+            assertThrows(IOException.class, () -> GameCheckpoint.load(file), "Corrupt byte at " + offset);
+        }
+    }
+
+    private static void overwrite(Path file, long position, byte value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {value}), position);
+        }
+    }
+
+    private void playRandomMoves(OctaGameLogic game, int moves) {
+        java.util.SplittableRandom random = new java.util.SplittableRandom(5);
+        for (int i = 0; i < moves && !game.isGameOver(); i++) {
+            Player player = game.getCurrentPlayer();
+            int move = game.getLegalMoves(player).sample(random);
+            if (move == GameMap.NO_CELL) {
+                return;
+            }
+            game.makeMove(move, player);
+            game.switchPlayer();
+        }
+    }
+}
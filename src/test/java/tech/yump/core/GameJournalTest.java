@@ -0,0 +1,112 @@
+package tech.yump.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.yump.model.CellState;
+import tech.yump.model.Player;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replay_ShouldReconstructEveryTurn() throws IOException {
+        // Arrange - record a game, remembering the board hash after every turn
+        GameMap map = new GameMap(10);
+        OctaGameLogic game = new OctaGameLogic(map, Player.PLAYER_1, true);
+        map.getCell(-5, -5).setState(CellState.PLAYER_1);
+        map.getCell(5, 5).setState(CellState.PLAYER_2);
+        Path file = directory.resolve("game.octj");
+        List<Long> hashes = new ArrayList<>();
+        hashes.add(map.getHash());
+        try (GameJournal journal = new GameJournal(file, game, 64)) {
+            SplittableRandom random = new SplittableRandom(11);
+            for (int i = 0; i < 500; i++) {
+                Player player = game.getCurrentPlayer();
+                int move = game.getLegalMoves(player).sample(random);
+                if (move == GameMap.NO_CELL) {
+                    break;
+                }
+                game.makeMove(move, player);
+                game.switchPlayer();
+                journal.recordMove(move, player);
+                hashes.add(map.getHash());
+            }
+        }
+
+        // Act & Assert
+        try (GameReplay replay = new GameReplay(file)) {
+            int lastTurn = hashes.size() - 1;
+            assertEquals(lastTurn, replay.getLastTurn());
+            assertEquals(1 + lastTurn / 64, replay.getKeyframeCount());
+
+            OctaGameLogic replayed = replay.seek(lastTurn);
+            assertTrue(replayed.getGameMap().contentEquals(map));
+            assertEquals(game.getCurrentPlayer(), replayed.getCurrentPlayer());
+            assertEquals(game.getConfig().getSeed(), replayed.getConfig().getSeed());
+            assertTrue(replayed.getGameMap().verifyStateCounts());
+
+            // Backward, forward within a keyframe span, and across keyframes
+            for (int turn : new int[] {0, 1, 63, 64, 65, 200, 130, lastTurn / 2, 5, lastTurn}) {
+                replayed = replay.seek(turn);
+                assertEquals(turn, replayed.getTurnCount());
+                assertEquals(hashes.get(turn), replayed.getGameMap().getHash(), "Turn " + turn);
+                assertEquals(replayed.getGameMap().computeHash(), replayed.getGameMap().getHash());
+                assertEquals(turn % 2 == 0 ? Player.PLAYER_1 : Player.PLAYER_2, replayed.getCurrentPlayer());
+            }
+            assertThrows(IllegalArgumentException.class, () -> replay.seek(lastTurn + 1));
+        }
+    }
+
+    @Test
+    void replay_ShouldIgnoreATruncatedLastRecord() throws IOException {
+        // Arrange
+        GameMap map = new GameMap(4);
+        OctaGameLogic game = new OctaGameLogic(map, Player.PLAYER_1);
+        map.getCell(0, 0).setState(CellState.PLAYER_1);
+        Path file = directory.resolve("game.octj");
+        try (GameJournal journal = new GameJournal(file, game, 1)) {
+            game.makeMove(map.getCell(0, 0).getIndex(), Player.PLAYER_1);
+            journal.recordMove(map.getCell(0, 0).getIndex(), Player.PLAYER_1);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+
+        // Act - cut the file in the middle of the keyframe that follows the move
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+
+        // Assert
+        try (GameReplay replay = new GameReplay(file)) {
+            assertEquals(1, replay.getLastTurn());
+            assertTrue(replay.seek(1).getGameMap().contentEquals(map));
+        }
+    }
+
+    @Test
+    void replay_ShouldRejectCorruptEnumBytes() throws IOException {
+        GameMap map = new GameMap(4);
+        OctaGameLogic game = new OctaGameLogic(map, Player.PLAYER_1);
+        Path file = directory.resolve("game.octj");
+        new GameJournal(file, game, 1).close();
+        byte[] bytes = Files.readAllBytes(file);
+
+        // Grid type and win condition in the header, then the player to move of the first keyframe
+        for (int offset : new int[] {12, 13, 37}) {
+            byte[] corrupt = bytes.clone();
+            corrupt[offset] = (byte) 0x7F;
+            Files.write(file, corrupt);
+            IOException error = assertThrows(IOException.class, () -> new GameReplay(file).close(), "Offset " + offset);
+            assertTrue(error.getMessage().contains("invalid value 127 at offset " + offset), error.getMessage());
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package tech.yump.core;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tech.yump.engine.GameConfig;
+import tech.yump.model.CellState;
 import tech.yump.model.Direction;
 import tech.yump.model.GridType;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+import tech.yump.util.Coordinate;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class GameMapTest {
 
@@ -207,4 +219,448 @@ class GameMapTest {
         assertEquals(map.getTotalCellCount(), map.getAllCells().size(),
                      "getAllCells size should match total cell count");
     }
-}
\ No newline at end of file
+
+    /** Test Objective: Verify that board indices round-trip to the coordinates they were computed from. */
+    @Test
+    void indexOf_ShouldRoundTripCoordinates() {
+        GameMap map = new GameMap(3);
+        for (int y = -3; y <= 3; y++) {
+            for (int x = -3; x <= 3; x++) {
+                int index = map.indexOf(x, y);
+                assertEquals(x, map.getX(index), "X should round-trip for (" + x + "," + y + ")");
+                assertEquals(y, map.getY(index), "Y should round-trip for (" + x + "," + y + ")");
+            }
+        }
+        assertEquals(GameMap.NO_CELL, map.indexOf(4, 0), "Off-board coordinate should have no index");
+    }
+
+    /** Test Objective: Verify that neighbor index arithmetic does not wrap around row edges. */
+    @Test
+    void getNeighborIndex_AtEdges_ShouldReturnNoCell() {
+        GameMap map = new GameMap(2);
+        int eastEdge = map.indexOf(2, 0);
+        assertEquals(GameMap.NO_CELL, map.getNeighborIndex(eastEdge, Direction.EAST), "EAST of the east edge is off the board");
+        assertEquals(GameMap.NO_CELL, map.getNeighborIndex(eastEdge, Direction.NORTHEAST), "NORTHEAST of the east edge is off the board");
+        int westEdge = map.indexOf(-2, 1);
+        assertEquals(GameMap.NO_CELL, map.getNeighborIndex(westEdge, Direction.WEST), "WEST of the west edge is off the board");
+        assertEquals(map.indexOf(-1, 2), map.getNeighborIndex(westEdge, Direction.NORTHEAST));
+    }
+
+    /** Test Objective: Verify that state and arrow are stored independently in the packed cell. */
+    @Test
+    void packedCell_StateAndArrowShouldNotInterfere() {
+        GameMap map = new GameMap(1);
+        int index = map.indexOf(0, 0);
+        map.setArrowDirection(index, Direction.NORTHWEST);
+        map.setState(index, CellState.BLOCKED);
+        assertEquals(Direction.NORTHWEST, map.getArrowDirection(index));
+        assertEquals(CellState.BLOCKED, map.getState(index));
+
+        map.setState(index, CellState.PLAYER_2);
+        assertEquals(Direction.NORTH, map.rotateArrow(index), "NORTHWEST should wrap around to NORTH");
+        assertEquals(CellState.PLAYER_2, map.getState(index), "Rotating must keep the state");
+    }
+
+    /** Test Objective: Verify that cell views of the same index are equal and share storage. */
+    @Test
+    void cellViews_ShouldShareState() {
+        GameMap map = new GameMap(1);
+        GameCell first = map.getCell(1, 0);
+        GameCell second = map.getCell(new Coordinate(1, 0));
+        assertEquals(first, second, "Views of the same cell should be equal");
+
+        first.setState(CellState.PLAYER_1);
+        assertEquals(CellState.PLAYER_1, second.getState(), "A change through one view should be visible in the other");
+        assertNotEquals(first, new GameMap(1).getCell(1, 0), "Views of different maps should not be equal");
+    }
+
+    /** Test Objective: Verify that the live state counters follow setState calls made through cell views. */
+    @Test
+    void stateCounts_ShouldTrackSetupChanges() {
+        GameMap map = new GameMap(2);
+        assertEquals(25, map.getStateCount(CellState.NEUTRAL), "All cells start neutral");
+
+        map.getCell(0, 0).setState(CellState.PLAYER_1);
+        map.getCell(1, 0).setState(CellState.PLAYER_2);
+        map.getCell(1, 0).setState(CellState.PLAYER_2); // Same state again must not double count
+        map.getCell(2, 2).setState(CellState.BLOCKED);
+
+        assertEquals(1, map.getStateCount(CellState.PLAYER_1));
+        assertEquals(1, map.getStateCount(CellState.PLAYER_2));
+        assertEquals(1, map.getStateCount(CellState.BLOCKED));
+        assertEquals(22, map.getStateCount(CellState.NEUTRAL));
+        assertTrue(map.verifyStateCounts(), "Live counters should match a full recount");
+    }
+
+    /** Test Objective: Verify that a copied board is independent and that copyFrom restores it in place. */
+    @Test
+    void copy_ShouldBeIndependentAndRestorable() {
+        GameMap map = new GameMap(2);
+        map.getCell(0, 0).setState(CellState.PLAYER_1);
+        GameMap copy = map.copy();
+        assertTrue(copy.contentEquals(map));
+
+        copy.getCell(1, 1).setState(CellState.PLAYER_2);
+        assertEquals(CellState.NEUTRAL, map.getCell(1, 1).getState(), "Changes to the copy must not leak back");
+        assertFalse(copy.contentEquals(map));
+
+        copy.copyFrom(map);
+        assertTrue(copy.contentEquals(map));
+        assertEquals(0, copy.getStateCount(CellState.PLAYER_2), "Counters should be restored with the cells");
+        assertThrows(IllegalArgumentException.class, () -> copy.copyFrom(new GameMap(3)));
+    }
+
+    /** Test Objective: Verify that the incremental hash tracks every write and returns to its old value when a change is undone. */
+    @Test
+    void hash_ShouldBeMaintainedIncrementally() {
+        GameMap map = new GameMap(2);
+        long initial = map.getHash();
+        assertEquals(map.computeHash(), initial);
+
+        int index = map.indexOf(1, -1);
+        Direction arrow = map.getArrowDirection(index);
+        map.setState(index, CellState.PLAYER_1);
+        map.setArrowDirection(index, Direction.SOUTH);
+        assertNotEquals(initial, map.getHash());
+        assertEquals(map.computeHash(), map.getHash());
+
+        // Eight rotations bring the arrow back to where it started
+        for (int i = 0; i < 8; i++) {
+            map.rotateArrow(index);
+            assertEquals(map.computeHash(), map.getHash());
+        }
+        map.setState(index, CellState.NEUTRAL);
+        map.setArrowDirection(index, arrow);
+        assertEquals(initial, map.getHash(), "Undoing every change should restore the hash");
+        assertEquals(initial, map.copy().getHash(), "A copy should carry the hash over");
+    }
+
+    /** Test Objective: Verify that a snapshot is immutable, forks an identical board and restores a board in place. */
+    @Test
+    void snapshot_ShouldForkAndRestoreBoards() {
+        GameMap map = new GameMap(3);
+        map.getCell(0, 0).setState(CellState.PLAYER_1);
+        BoardSnapshot snapshot = map.snapshot();
+
+        map.getCell(0, 0).setState(CellState.PLAYER_2);
+        GameMap fork = new GameMap(snapshot);
+        assertEquals(CellState.PLAYER_1, fork.getCell(0, 0).getState(), "The snapshot must not follow later changes");
+        assertEquals(snapshot.getHash(), fork.getHash());
+        assertEquals(1, fork.getStateCount(CellState.PLAYER_1));
+
+        map.restoreFrom(snapshot);
+        assertTrue(map.contentEquals(fork));
+        assertEquals(fork.getHash(), map.getHash());
+        assertTrue(map.verifyStateCounts());
+        assertThrows(IllegalArgumentException.class, () -> new GameMap(2).restoreFrom(snapshot));
+    }
+
+    /** Test Objective: Verify that the owned-cell index follows ownership changes and survives copies and snapshots. */
+    @Test
+    void ownedCells_ShouldTrackOwnershipChanges() {
+        GameMap map = new GameMap(2);
+        OwnedCells player1 = map.getOwnedCells(Player.PLAYER_1);
+        int a = map.indexOf(0, 0);
+        int b = map.indexOf(1, 1);
+        int c = map.indexOf(-2, 2);
+
+        map.setState(a, CellState.PLAYER_1);
+        map.setState(b, CellState.PLAYER_1);
+        map.setState(c, CellState.PLAYER_1);
+        map.setState(a, CellState.PLAYER_2); // Captured by the opponent
+        map.setState(b, CellState.BLOCKED);
+
+        assertEquals(1, player1.size());
+        assertEquals(c, player1.get(0));
+        assertTrue(player1.contains(c));
+        assertFalse(player1.contains(a));
+        assertEquals(a, map.getOwnedCells(Player.PLAYER_2).sample(new java.util.SplittableRandom(1)));
+        assertEquals(GameMap.NO_CELL, new GameMap(1).getOwnedCells(Player.PLAYER_1).sample(new java.util.SplittableRandom(1)));
+        assertThrows(IndexOutOfBoundsException.class, () -> player1.get(1));
+        assertTrue(map.verifyStateCounts(), "Owned-cell lists should match a full recount");
+
+        GameMap copy = map.copy();
+        BoardSnapshot snapshot = map.snapshot();
+        map.setState(c, CellState.NEUTRAL);
+        assertTrue(player1.isEmpty());
+        assertEquals(1, copy.getOwnedCells(Player.PLAYER_1).size());
+        map.restoreFrom(snapshot);
+        assertEquals(c, player1.get(0));
+        assertTrue(map.verifyStateCounts());
+    }
+
+    /** Test Objective: Verify that boards of the same shape share one cached topology and that its masks match the board edges. */
+    @Test
+    void topology_ShouldBeSharedPerShape() {
+        GameMap first = new GameMap(3, GridType.OCTAGONAL);
+        GameMap second = new GameMap(3, GridType.OCTAGONAL);
+
+        assertSame(first.getTopology(), second.getTopology());
+        assertNotSame(first.getTopology(), new GameMap(3, GridType.SQUARE).getTopology());
+        assertNotSame(first.getTopology(), new GameMap(4).getTopology());
+
+        Topology topology = first.getTopology();
+        assertEquals(0xFF, topology.getNeighborMask(first.indexOf(0, 0)), "An inner cell has all eight neighbors");
+        int corner = first.indexOf(3, 3);
+        assertEquals(3, Integer.bitCount(topology.getNeighborMask(corner)));
+        assertEquals(first.indexOf(2, 2), topology.getNeighborIndex(corner, Direction.SOUTHWEST.getValue()));
+        assertEquals(GameMap.NO_CELL, topology.getNeighborIndex(corner, Direction.NORTH.getValue()));
+    }
+
+    /** Test Objective: Verify that a huge sparse board only materializes what is written and stays consistent. */
+    @Test
+    void sparseBoard_ShouldMaterializeTilesOnWrite(@TempDir Path spillDirectory) {
+        GameMap map = GameMap.sparse(10_000, GridType.OCTAGONAL, 42L, 4, spillDirectory);
+        assertTrue(map.isSparse());
+        assertEquals(20_001 * 20_001, map.getTotalCellCount());
+        assertEquals(0L, map.getHash(), "An untouched sparse board hashes to zero");
+        Direction untouched = map.getCell(5_000, -5_000).getArrowDirection();
+        assertEquals(untouched, GameMap.sparse(10_000, GridType.OCTAGONAL, 42L).getCell(5_000, -5_000).getArrowDirection(),
+                "Untouched arrows derive from the seed");
+
+        // Write into more tiles than may stay resident, so some are spilled and read back
+        for (int i = 0; i < 10; i++) {
+            map.getCell(i * 100, i * 100).setState(CellState.PLAYER_1);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(CellState.PLAYER_1, map.getCell(i * 100, i * 100).getState());
+        }
+        assertEquals(10, map.getOwnedCells(Player.PLAYER_1).size());
+        assertEquals(20_001 * 20_001 - 10, map.getStateCount(CellState.NEUTRAL));
+        assertEquals(map.computeHash(), map.getHash());
+        assertTrue(map.verifyStateCounts());
+
+        GameMap copy = map.copy();
+        copy.getCell(0, 0).setState(CellState.PLAYER_2);
+        assertEquals(CellState.PLAYER_1, map.getCell(0, 0).getState(), "Changes to the copy must not leak back");
+        assertTrue(copy.verifyStateCounts());
+        assertThrows(UnsupportedOperationException.class, map::snapshot);
+    }
+
+    /** Test Objective: Verify that releasing a sparse board closes its spill file, and its copy's separately. */
+    @Test
+    void sparseBoard_Release_ShouldCloseTheSpillFile(@TempDir Path spillDirectory) throws IOException {
+        // Spill files are unlinked while open, so only the process's descriptors still show them
+        Path descriptors = Path.of("/proc/self/fd");
+        assumeTrue(Files.isDirectory(descriptors), "Needs /proc to list open files");
+        GameMap map = GameMap.sparse(1_000, GridType.OCTAGONAL, 5L, 2, spillDirectory);
+        for (int i = 0; i < 5; i++) {
+            map.getCell(i * 100, 0).setState(CellState.PLAYER_1);
+        }
+        GameMap copy = map.copy();
+        for (int i = 1; i < 5; i++) {
+            copy.getCell(0, i * 100).setState(CellState.PLAYER_2);
+        }
+        assertEquals(2, countOpenFiles(descriptors, spillDirectory), "The board and its copy each spill to their own file");
+
+        map.release();
+        assertEquals(1, countOpenFiles(descriptors, spillDirectory));
+        assertEquals(CellState.PLAYER_1, copy.getCell(0, 0).getState(), "The copy keeps its own tiles");
+        assertThrows(IllegalStateException.class, () -> map.getCell(100, 0).getState());
+        copy.release();
+        assertEquals(0, countOpenFiles(descriptors, spillDirectory));
+    }
+
+    private static long countOpenFiles(Path descriptors, Path directory) throws IOException {
+        String prefix = directory.toRealPath().toString();
+        try (Stream<Path> files = Files.list(descriptors)) {
+            return files.filter(fd -> {
+                try {
+                    return Files.readSymbolicLink(fd).toString().startsWith(prefix);
+                } catch (IOException e) {
+                    return false; // Closed while listing
+                }
+            }).count();
+        }
+    }
+
+    /** Test Objective: Verify that chains play out the same on sparse and dense storage, across tile boundaries. */
+    @Test
+    void sparseBoard_ShouldPlayLikeDenseBoard(@TempDir Path spillDirectory) {
+        GameMap sparse = GameMap.sparse(100, GridType.OCTAGONAL, 7L, 3, spillDirectory);
+        GameMap dense = new GameMap(100);
+        for (int i = 0; i < dense.getTotalCellCount(); i++) {
+            dense.setArrowDirection(i, sparse.getArrowDirection(i));
+        }
+        OctaGameLogic sparseGame = new OctaGameLogic(sparse, Player.PLAYER_1, new GameConfig(WinCondition.TURN_LIMIT_MAJORITY, 400));
+        OctaGameLogic denseGame = new OctaGameLogic(dense, Player.PLAYER_1, new GameConfig(WinCondition.TURN_LIMIT_MAJORITY, 400));
+        for (GameMap map : new GameMap[] {sparse, dense}) {
+            map.getCell(-60, -60).setState(CellState.PLAYER_1);
+            map.getCell(60, 60).setState(CellState.PLAYER_2);
+        }
+
+        java.util.SplittableRandom random = new java.util.SplittableRandom(11);
+        while (!denseGame.isGameOver()) {
+            assertFalse(sparseGame.isGameOver());
+            Player player = denseGame.getCurrentPlayer();
+            int move = denseGame.getLegalMoves(player).sample(random);
+            if (move == GameMap.NO_CELL) {
+                break;
+            }
+            denseGame.makeMove(move, player);
+            sparseGame.makeMove(move, player);
+            denseGame.switchPlayer();
+            sparseGame.switchPlayer();
+        }
+
+        assertTrue(sparse.contentEquals(dense));
+        assertEquals(dense.getStateCount(CellState.PLAYER_1), sparse.getStateCount(CellState.PLAYER_1));
+        assertEquals(dense.getStateCount(CellState.PLAYER_2), sparse.getStateCount(CellState.PLAYER_2));
+        assertTrue(sparse.verifyStateCounts());
+    }
+
+    @Test
+    void seededBoard_ShouldNotDependOnThreadCount() throws Exception {
+        // 601 x 601 cells, large enough to be filled in parallel
+        GameMap parallel = new GameMap(300, GridType.OCTAGONAL, 42L);
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+        GameMap sequential;
+        try {
+            sequential = singleThread.submit(() -> new GameMap(300, GridType.OCTAGONAL, 42L)).get();
+        } finally {
+            singleThread.shutdown();
+        }
+
+        assertTrue(parallel.contentEquals(sequential));
+        assertEquals(parallel.computeHash(), parallel.getHash());
+        assertEquals(parallel.getHash(), sequential.getHash());
+        assertFalse(parallel.contentEquals(new GameMap(300, GridType.OCTAGONAL, 43L)));
+        assertTrue(parallel.contentEquals(GameMap.sparse(300, GridType.OCTAGONAL, 42L)),
+                "A sparse board with the same seed should start identical");
+    }
+
+    /** Test Objective: Verify that a hex board stores exactly the hexagon and links its six axial neighbors. */
+    @Test
+    void hexBoard_ShouldStoreOnlyTheHexagon() {
+        assertEquals(61, new GameMap(4, GridType.HEXAGONAL).getTotalCellCount());
+        assertEquals(127, new GameMap(6, GridType.HEXAGONAL).getTotalCellCount());
+        assertEquals(271, new GameMap(9, GridType.HEXAGONAL).getTotalCellCount());
+
+        GameMap map = new GameMap(4, GridType.HEXAGONAL, 9L);
+        assertEquals(GameMap.NO_CELL, map.indexOf(4, 1), "|q + r| > size is outside the hexagon");
+        assertNotEquals(GameMap.NO_CELL, map.indexOf(4, -4));
+        int[][] offsets = {{0, 0}, {0, 1}, {1, 0}, {1, -1}, {0, 0}, {0, -1}, {-1, 0}, {-1, 1}};
+        for (int index = 0; index < map.getTotalCellCount(); index++) {
+            int x = map.getX(index);
+            int y = map.getY(index);
+            assertEquals(index, map.indexOf(x, y), "Coordinates should round-trip");
+            assertNotEquals(Direction.NORTH, map.getArrowDirection(index), "Hex arrows never point NORTH");
+            assertNotEquals(Direction.SOUTH, map.getArrowDirection(index), "Hex arrows never point SOUTH");
+            for (Direction direction : Direction.values()) {
+                int[] offset = offsets[direction.getValue()];
+                boolean exists = direction != Direction.NORTH && direction != Direction.SOUTH
+                        && map.contains(x + offset[0], y + offset[1]);
+                int expected = exists ? map.indexOf(x + offset[0], y + offset[1]) : GameMap.NO_CELL;
+                assertEquals(expected, map.getNeighborIndex(index, direction), direction + " of (" + x + "," + y + ")");
+            }
+        }
+        assertEquals(6, map.getCell(0, 0).getValidNeighbors().size());
+        assertTrue(map.contentEquals(GameMap.sparse(4, GridType.HEXAGONAL, 9L)),
+                "A sparse hex board with the same seed should start identical");
+    }
+
+    /** Test Objective: Verify that hex arrows rotate through the six hex directions only. */
+    @Test
+    void hexBoard_ArrowsShouldSkipNorthAndSouth() {
+        GameMap map = new GameMap(2, GridType.HEXAGONAL);
+        int index = map.indexOf(0, 0);
+        map.setArrowDirection(index, Direction.NORTHWEST);
+
+        assertEquals(Direction.NORTHEAST, map.rotateArrow(index), "NORTHWEST should wrap around to NORTHEAST");
+        map.setArrowDirection(index, Direction.SOUTHEAST);
+        assertEquals(Direction.SOUTHWEST, map.rotateArrow(index), "SOUTHEAST should skip SOUTH");
+        assertEquals(map.computeHash(), map.getHash());
+        assertThrows(IllegalArgumentException.class, () -> map.setArrowDirection(index, Direction.NORTH));
+    }
+
+    /** Test Objective: Verify that hex boards too large for a neighbor table compute the same neighbors. */
+    @Test
+    void hexBoard_WithoutNeighborTable_ShouldUseTheSameLayout(@TempDir Path spillDirectory) {
+        // Radius 2400 has about 17.3 million cells, above Topology.MAX_TABLE_CELLS
+        GameMap map = GameMap.sparse(2400, GridType.HEXAGONAL, 1L, 4, spillDirectory);
+        assertTrue(map.getTotalCellCount() > Topology.MAX_TABLE_CELLS);
+        assertEquals(3 * 2400 * 2401 + 1, map.getTotalCellCount());
+
+        int[][] coordinates = {{0, 0}, {-2400, 2400}, {2400, -2400}, {-100, -2300}, {1234, 5}, {0, 2400}};
+        for (int[] c : coordinates) {
+            int index = map.indexOf(c[0], c[1]);
+            assertEquals(c[0], map.getX(index));
+            assertEquals(c[1], map.getY(index));
+        }
+        int center = map.indexOf(0, 0);
+        assertEquals(map.indexOf(-1, 1), map.getNeighborIndex(center, Direction.NORTHWEST));
+        assertEquals(map.indexOf(1, -1), map.getNeighborIndex(center, Direction.SOUTHEAST));
+        assertEquals(GameMap.NO_CELL, map.getNeighborIndex(center, Direction.NORTH));
+        int corner = map.indexOf(2400, -2400);
+        assertEquals(3, Integer.bitCount(map.getTopology().getNeighborMask(corner)), "A hexagon corner has three neighbors");
+    }
+
+    /** Test Objective: Verify that packed coordinates round-trip and board-range coordinates are interned. */
+    @Test
+    void packedCoordinates_ShouldRoundTripWithoutObjects() {
+        GameMap map = new GameMap(3);
+        for (int index = 0; index < map.getTotalCellCount(); index++) {
+            long packed = map.getPackedCoordinate(index);
+            assertEquals(index, map.indexOfPacked(packed));
+            assertEquals(map.getX(index), Coordinate.packedX(packed));
+            assertEquals(map.getY(index), Coordinate.packedY(packed));
+        }
+        assertEquals(GameMap.NO_CELL, map.indexOfPacked(Coordinate.pack(4, -1)));
+        assertEquals(-7, Coordinate.packedY(Coordinate.pack(-3, -7)), "Negative y must not leak into x");
+        assertEquals(-3, Coordinate.packedX(Coordinate.pack(-3, -7)));
+
+        assertSame(Coordinate.of(2, -3), map.getCell(2, -3).getCoordinate(), "Board-range coordinates should be shared");
+        assertEquals(new Coordinate(1000, 0), Coordinate.of(1000, 0));
+        assertEquals(new Coordinate(2, -3).hashCode(), Coordinate.unpack(Coordinate.pack(2, -3)).hashCode());
+    }
+
+    /** Test Objective: Verify that neighbor iteration matches the neighbor mask and does not allocate. */
+    @Test
+    void forEachNeighbor_ShouldFollowTheMaskWithoutAllocating() {
+        GameMap map = new GameMap(20);
+        GameCell corner = map.getCell(20, 20);
+        assertEquals(0b0111_0000, corner.getNeighborMask(), "Only S, SW and W lie inward of the NE corner");
+        List<Integer> visited = new java.util.ArrayList<>();
+        corner.forEachNeighbor(visited::add);
+        assertEquals(List.of(map.indexOf(20, 19), map.indexOf(19, 19), map.indexOf(19, 20)), visited);
+
+        long[] sum = new long[1];
+        java.util.function.IntConsumer accumulate = neighbor -> sum[0] += neighbor;
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        // Warm up so class loading and JIT compilation do not count
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < map.getTotalCellCount(); i++) {
+                map.forEachNeighbor(i, accumulate);
+            }
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < map.getTotalCellCount(); i++) {
+                map.forEachNeighbor(i, accumulate);
+            }
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(sum[0] > 0);
+        assertTrue(allocated < 1_024, "Walking every neighborhood should not allocate, but allocated " + allocated + " bytes");
+    }
+
+    /** Test Objective: Verify the table-driven direction algebra. */
+    @Test
+    void directionAlgebra_ShouldBeConsistent() {
+        for (Direction direction : Direction.values()) {
+            assertEquals(direction, Direction.fromValue(direction.getValue()));
+            assertEquals(direction, direction.rotateClockwise().rotateCounterClockwise());
+            assertEquals(direction, direction.opposite().opposite());
+            assertEquals(-direction.getDx(), direction.opposite().getDx());
+            assertEquals(-direction.getDy(), direction.opposite().getDy());
+        }
+        assertEquals(Direction.NORTH, Direction.NORTHWEST.rotateClockwise());
+        assertEquals(Direction.SOUTHWEST, Direction.NORTHEAST.opposite());
+        assertEquals(1, Direction.NORTHEAST.getDx());
+        assertEquals(1, Direction.NORTHEAST.getDy());
+    }
+}
@@ -2,6 +2,7 @@ package tech.yump.core;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import tech.yump.model.GridType;
 import tech.yump.model.Player;
 import tech.yump.model.CellState;
 import tech.yump.model.Direction;
@@ -168,6 +169,36 @@ class OctaGameLogicTest {
         assertEquals(Direction.SOUTHEAST, cellC.getArrowDirection());
     }
 
+    @Test
+    void makeMove_OnHexBoard_ShouldPropagateAlongHexDirections() {
+        // Arrange
+        GameMap hexMap = new GameMap(2, GridType.HEXAGONAL);
+        OctaGameLogic hexLogic = new OctaGameLogic(hexMap, Player.PLAYER_1);
+        GameCell source = hexMap.getCell(0, 0);
+        GameCell cellB = hexMap.getCell(0, 1);
+        GameCell cellC = hexMap.getCell(1, 0);
+        GameCell end = hexMap.getCell(1, -1);
+
+        source.setState(CellState.PLAYER_1);
+        source.setArrowDirection(Direction.NORTHWEST); // Will rotate to NORTHEAST, pointing to cellB
+        cellB.setState(CellState.NEUTRAL);
+        cellB.setArrowDirection(Direction.EAST); // Will rotate to SOUTHEAST, pointing to cellC
+        cellC.setState(CellState.NEUTRAL);
+        cellC.setArrowDirection(Direction.SOUTHEAST); // Will skip SOUTH and rotate to SOUTHWEST, pointing to end
+        end.setState(CellState.PLAYER_1); // Already owned: the chain stops here
+
+        // Act
+        hexLogic.makeMove(source, Player.PLAYER_1);
+
+        // Assert
+        assertEquals(Direction.NORTHEAST, source.getArrowDirection());
+        assertEquals(CellState.PLAYER_1, cellB.getState());
+        assertEquals(Direction.SOUTHEAST, cellB.getArrowDirection());
+        assertEquals(CellState.PLAYER_1, cellC.getState());
+        assertEquals(Direction.SOUTHWEST, cellC.getArrowDirection());
+        assertEquals(4, hexMap.getStateCount(CellState.PLAYER_1));
+    }
+
     // ========== PHASE 3: TESTING ALL STOPPING CONDITIONS ==========
 
     @Test
@@ -314,6 +345,73 @@ class OctaGameLogicTest {
         assertEquals(CellState.PLAYER_1, cellB.getState()); // cellB should be captured from PLAYER_2
     }
 
+    @Test
+    void makeMove_ShouldReturnTheChangedCellsInOrder() {
+        GameMap largerMap = new GameMap(3);
+        OctaGameLogic largerGameLogic = new OctaGameLogic(largerMap, Player.PLAYER_1);
+        GameCell cellA = largerMap.getCell(0, 0);
+        GameCell cellB = largerMap.getCell(1, 1);
+        GameCell cellC = largerMap.getCell(2, 1);
+        cellA.setState(CellState.PLAYER_1);
+        cellA.setArrowDirection(Direction.NORTH); // Will rotate to NORTHEAST, pointing to cellB
+        cellB.setState(CellState.PLAYER_2);
+        cellB.setArrowDirection(Direction.NORTHEAST); // Will rotate to EAST, pointing to cellC
+        cellC.setState(CellState.PLAYER_1);
+
+        ChangeSet changes = largerGameLogic.makeMove(cellA, Player.PLAYER_1);
+
+        assertSame(largerGameLogic.getLastChanges(), changes);
+        assertEquals(Player.PLAYER_1, changes.getPlayer());
+        assertEquals(2, changes.size());
+        assertEquals(1, changes.getChainLength());
+        assertEquals(ChangeSet.Termination.OWN_CELL, changes.getTermination());
+        assertEquals(cellA.getIndex(), changes.getIndex(0));
+        assertEquals(CellState.PLAYER_1, changes.getStateBefore(0));
+        assertEquals(CellState.PLAYER_1, changes.getStateAfter(0));
+        assertEquals(Direction.NORTH, changes.getArrowBefore(0));
+        assertEquals(Direction.NORTHEAST, changes.getArrowAfter(0));
+        assertEquals(cellB.getIndex(), changes.getIndex(1));
+        assertEquals(CellState.PLAYER_2, changes.getStateBefore(1));
+        assertEquals(CellState.PLAYER_1, changes.getStateAfter(1));
+        assertEquals(Direction.NORTHEAST, changes.getArrowBefore(1));
+        assertEquals(Direction.EAST, changes.getArrowAfter(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> changes.getIndex(2));
+    }
+
+    @Test
+    void makeMove_ShouldReportWhyTheChainStopped() {
+        GameMap largerMap = new GameMap(3);
+        GameCell cellA = largerMap.getCell(0, 0);
+        GameCell cellB = largerMap.getCell(1, 1);
+        GameCell cellC = largerMap.getCell(2, 0);
+
+        // Loop: A -> B -> C -> back to B
+        cellA.setState(CellState.PLAYER_1);
+        cellA.setArrowDirection(Direction.NORTH);
+        cellB.setArrowDirection(Direction.EAST);
+        cellC.setArrowDirection(Direction.WEST);
+        OctaGameLogic logic = new OctaGameLogic(largerMap, Player.PLAYER_1);
+        ChangeSet changes = logic.makeMove(cellA, Player.PLAYER_1);
+        assertEquals(ChangeSet.Termination.LOOP, changes.getTermination());
+        assertEquals(2, changes.getChainLength());
+
+        // Enemy: B now belongs to PLAYER_2 and the rule stops the chain there
+        cellA.setArrowDirection(Direction.NORTH);
+        cellB.setState(CellState.PLAYER_2);
+        OctaGameLogic stopping = new OctaGameLogic(largerMap, Player.PLAYER_1, true);
+        changes = stopping.makeMove(cellA, Player.PLAYER_1);
+        assertEquals(ChangeSet.Termination.ENEMY, changes.getTermination());
+        assertEquals(0, changes.getChainLength());
+
+        // Edge: the corner's rotated arrow points off the board
+        GameCell corner = largerMap.getCell(3, 3);
+        corner.setState(CellState.PLAYER_1);
+        corner.setArrowDirection(Direction.NORTH);
+        changes = logic.makeMove(corner, Player.PLAYER_1);
+        assertEquals(ChangeSet.Termination.EDGE, changes.getTermination());
+        assertEquals(1, changes.size());
+    }
+
     // ========== WIN CONDITION TESTS ==========
 
     @Test
@@ -421,4 +519,240 @@ class OctaGameLogicTest {
         gameLogic.makeMove(smallMap.getCell(0, 1), Player.PLAYER_2);
         assertEquals(2, gameLogic.getTurnCount()); // After second move
     }
-} 
\ No newline at end of file
+
+    @Test
+    void stateCounts_ShouldFollowChainCaptures() {
+        // Arrange - P1 -> neutral -> P2 chain along the EAST row
+        GameMap largerMap = new GameMap(3);
+        OctaGameLogic largerGameLogic = new OctaGameLogic(largerMap, Player.PLAYER_1);
+
+        GameCell cellA = largerMap.getCell(0, 0);
+        GameCell cellB = largerMap.getCell(1, 0);
+        GameCell cellC = largerMap.getCell(2, 0);
+        cellA.setState(CellState.PLAYER_1);
+        cellA.setArrowDirection(Direction.NORTHEAST); // Will rotate to EAST
+        cellB.setArrowDirection(Direction.NORTHEAST); // Will rotate to EAST
+        cellC.setState(CellState.PLAYER_2);
+        cellC.setArrowDirection(Direction.SOUTHWEST); // Will rotate to WEST, back into P1's cell
+
+        // Act
+        largerGameLogic.makeMove(cellA, Player.PLAYER_1);
+
+        // Assert
+        assertEquals(3, largerMap.getStateCount(CellState.PLAYER_1));
+        assertEquals(0, largerMap.getStateCount(CellState.PLAYER_2));
+        assertEquals(46, largerMap.getStateCount(CellState.NEUTRAL));
+        assertTrue(largerMap.verifyStateCounts());
+        assertTrue(largerGameLogic.isGameOver(), "P2 has been eliminated");
+        assertEquals(Player.PLAYER_1, largerGameLogic.getGameResult().getWinner());
+    }
+
+    @Test
+    void makeMove_ShouldNotAllocateInSteadyState() {
+        // Arrange - stopOnEnemy keeps both origin cells owned, so every scripted move stays valid
+        GameMap largerMap = new GameMap(30);
+        OctaGameLogic largerGameLogic = new OctaGameLogic(largerMap, Player.PLAYER_1, true);
+        int p1Origin = largerMap.indexOf(-10, -10);
+        int p2Origin = largerMap.indexOf(10, 10);
+        largerMap.setState(p1Origin, CellState.PLAYER_1);
+        largerMap.setState(p2Origin, CellState.PLAYER_2);
+        GameCell p1Cell = largerMap.getCellAt(p1Origin);
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        // Warm up so class loading and JIT compilation do not count
+        playAlternatingMoves(largerGameLogic, p1Cell, p2Origin, 2_000);
+
+        // Act
+        long before = threads.getThreadAllocatedBytes(threadId);
+        playAlternatingMoves(largerGameLogic, p1Cell, p2Origin, 10_000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // Assert - a small allowance covers the measurement itself
+        assertEquals(12_000, largerGameLogic.getTurnCount());
+        assertTrue(allocated < 1_024, "10,000 moves should not allocate, but allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void gameOver_ShouldEndOnRepeatedPosition_WhenRepetitionLimitSet() {
+        // Arrange - a board with no neutral cells; with stopOnEnemy every move only rotates its own arrow,
+        // so the position after any move comes back every 16 moves
+        GameMap tinyMap = new GameMap(1);
+        GameConfig config = new GameConfig(WinCondition.ELIMINATION, 50, 3);
+        OctaGameLogic repeatingLogic = new OctaGameLogic(tinyMap, Player.PLAYER_1, config, true);
+        for (int i = 0; i < tinyMap.getTotalCellCount(); i++) {
+            tinyMap.setState(i, i < 5 ? CellState.PLAYER_1 : CellState.PLAYER_2);
+        }
+        int p1Index = 0;
+        int p2Index = tinyMap.getTotalCellCount() - 1;
+
+        // Act
+        while (!repeatingLogic.isGameOver() && repeatingLogic.getTurnCount() < 100) {
+            Player player = repeatingLogic.getCurrentPlayer();
+            repeatingLogic.makeMove(player == Player.PLAYER_1 ? p1Index : p2Index, player);
+            repeatingLogic.switchPlayer();
+        }
+
+        // Assert - the position after move 1 occurs again after moves 17 and 33
+        assertEquals(33, repeatingLogic.getTurnCount());
+        GameResult result = repeatingLogic.getGameResult();
+        assertEquals(Player.PLAYER_1, result.getWinner(), "P1 has the majority of cells (5 vs 4)");
+        assertTrue(result.getReason().contains("repeated 3 times"));
+    }
+
+    @Test
+    void positionHash_ShouldIncludeSideToMove() {
+        long player1ToMove = gameLogic.getPositionHash();
+        gameLogic.switchPlayer();
+        long player2ToMove = gameLogic.getPositionHash();
+
+        assertNotEquals(player1ToMove, player2ToMove);
+        assertEquals(gameMap.getHash(), player1ToMove);
+    }
+
+    @Test
+    void unmakeMove_ShouldRestoreNestedMovesExactly() {
+        // Arrange
+        GameMap largerMap = new GameMap(6);
+        OctaGameLogic largerGameLogic = new OctaGameLogic(largerMap, Player.PLAYER_1);
+        largerMap.setState(largerMap.indexOf(-3, -3), CellState.PLAYER_1);
+        largerMap.setState(largerMap.indexOf(3, 3), CellState.PLAYER_2);
+        largerGameLogic.setUndoEnabled(true);
+        java.util.Random random = new java.util.Random(7);
+        int[] moves = new int[largerMap.getTotalCellCount()];
+        GameMap[] boards = new GameMap[20];
+        int[] turnCounts = new int[20];
+
+        // Act - play up to 20 random moves, remembering every intermediate position
+        int depth = 0;
+        while (depth < boards.length && !largerGameLogic.isGameOver()) {
+            boards[depth] = largerMap.copy();
+            turnCounts[depth] = largerGameLogic.getTurnCount();
+            Player player = largerGameLogic.getCurrentPlayer();
+            int count = largerGameLogic.collectValidMoves(player, moves);
+            largerGameLogic.makeMove(moves[random.nextInt(count)], player);
+            largerGameLogic.switchPlayer();
+            depth++;
+        }
+
+        // Assert - taking the moves back passes through the same positions in reverse
+        assertEquals(depth, largerGameLogic.getUndoDepth());
+        for (int d = depth - 1; d >= 0; d--) {
+            largerGameLogic.unmakeMove();
+            assertTrue(largerMap.contentEquals(boards[d]), "Board should match the position before move " + d);
+            assertEquals(boards[d].getHash(), largerMap.getHash());
+            assertEquals(turnCounts[d], largerGameLogic.getTurnCount());
+            assertEquals(d % 2 == 0 ? Player.PLAYER_1 : Player.PLAYER_2, largerGameLogic.getCurrentPlayer());
+            assertNull(largerGameLogic.getGameResult());
+        }
+        assertTrue(largerMap.verifyStateCounts());
+        assertThrows(IllegalStateException.class, largerGameLogic::unmakeMove);
+    }
+
+    @Test
+    void unmakeMove_WithoutUndoEnabled_ShouldThrowException() {
+        gameMap.getCell(0, 0).setState(CellState.PLAYER_1);
+        gameLogic.makeMove(gameMap.getCell(0, 0), Player.PLAYER_1);
+
+        assertThrows(IllegalStateException.class, gameLogic::unmakeMove);
+    }
+
+    @Test
+    void makeAndUnmakeMove_ShouldNotAllocateAfterWarmUp() {
+        // Arrange
+        GameMap largerMap = new GameMap(30);
+        OctaGameLogic largerGameLogic = new OctaGameLogic(largerMap, Player.PLAYER_1);
+        int origin = largerMap.indexOf(0, 0);
+        largerMap.setState(origin, CellState.PLAYER_1);
+        largerGameLogic.setUndoEnabled(true);
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        makeAndUnmake(largerGameLogic, origin, 2_000);
+
+        // Act
+        long before = threads.getThreadAllocatedBytes(threadId);
+        makeAndUnmake(largerGameLogic, origin, 10_000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // Assert
+        assertEquals(0, largerGameLogic.getUndoDepth());
+        assertEquals(1, largerMap.getStateCount(CellState.PLAYER_1));
+        assertTrue(allocated < 1_024, "10,000 make/unmake pairs should not allocate, but allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void snapshot_ShouldForkAndRestoreGames() {
+        // Arrange - arrows pointing south, so P1's chain runs away from P2's only cell
+        for (int index = 0; index < gameMap.getTotalCellCount(); index++) {
+            gameMap.setArrowDirection(index, Direction.SOUTH);
+        }
+        gameMap.getCell(0, 0).setState(CellState.PLAYER_1);
+        gameMap.getCell(1, 1).setState(CellState.PLAYER_2);
+        gameLogic.makeMove(gameMap.getCell(0, 0), Player.PLAYER_1);
+        gameLogic.switchPlayer();
+        assertEquals(CellState.PLAYER_2, gameMap.getCell(1, 1).getState());
+        GameSnapshot snapshot = gameLogic.snapshot();
+
+        // Act
+        OctaGameLogic fork = new OctaGameLogic(snapshot);
+        gameLogic.makeMove(gameMap.getCell(1, 1), Player.PLAYER_2);
+        gameLogic.switchPlayer();
+
+        // Assert - the fork is independent of the original
+        assertNotSame(gameMap, fork.getGameMap());
+        assertEquals(1, fork.getTurnCount());
+        assertEquals(Player.PLAYER_2, fork.getCurrentPlayer());
+        assertEquals(snapshot.getBoard().getHash(), fork.getGameMap().getHash());
+
+        gameLogic.restoreFrom(snapshot);
+        assertEquals(1, gameLogic.getTurnCount());
+        assertEquals(Player.PLAYER_2, gameLogic.getCurrentPlayer());
+        assertTrue(gameMap.contentEquals(fork.getGameMap()));
+        assertEquals(fork.getPositionHash(), gameLogic.getPositionHash());
+    }
+
+    @Test
+    void legalMoves_ShouldFollowChainCapturesAndUndo() {
+        // Arrange - P1 -> neutral -> P2 chain along the EAST row
+        GameMap largerMap = new GameMap(3);
+        OctaGameLogic largerGameLogic = new OctaGameLogic(largerMap, Player.PLAYER_1);
+        largerGameLogic.setUndoEnabled(true);
+        largerMap.getCell(0, 0).setState(CellState.PLAYER_1);
+        largerMap.getCell(0, 0).setArrowDirection(Direction.NORTHEAST);
+        largerMap.getCell(1, 0).setArrowDirection(Direction.NORTHEAST);
+        largerMap.getCell(2, 0).setState(CellState.PLAYER_2);
+        largerMap.getCell(2, 0).setArrowDirection(Direction.SOUTHWEST);
+        OwnedCells player1Moves = largerGameLogic.getLegalMoves(Player.PLAYER_1);
+        OwnedCells player2Moves = largerGameLogic.getLegalMoves(Player.PLAYER_2);
+
+        // Act
+        largerGameLogic.makeMove(largerMap.indexOf(0, 0), Player.PLAYER_1);
+
+        // Assert
+        assertEquals(3, player1Moves.size());
+        assertTrue(player1Moves.contains(largerMap.indexOf(2, 0)));
+        assertTrue(player2Moves.isEmpty());
+        largerGameLogic.unmakeMove();
+        assertEquals(1, player1Moves.size());
+        assertEquals(largerMap.indexOf(2, 0), player2Moves.get(0));
+        assertTrue(largerMap.verifyStateCounts());
+    }
+
+    private void makeAndUnmake(OctaGameLogic logic, int index, int times) {
+        for (int i = 0; i < times; i++) {
+            logic.makeMove(index, Player.PLAYER_1);
+            logic.unmakeMove();
+        }
+    }
+
+    private void playAlternatingMoves(OctaGameLogic logic, GameCell p1Cell, int p2Index, int moves) {
+        for (int i = 0; i < moves; i += 2) {
+            logic.makeMove(p1Cell, Player.PLAYER_1);
+            logic.makeMove(p2Index, Player.PLAYER_2);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package tech.yump.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.model.CellState;
+import tech.yump.model.GridType;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+import tech.yump.sim.RandomMoveProvider;
+import tech.yump.util.Coordinate;
+import tech.yump.view.GameView;
+import tech.yump.view.NullView;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSchedulerTest {
+
+    private final GameScheduler scheduler = new GameScheduler(1);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    private static OctaGameLogic newGame(WinCondition winCondition, int turnLimit, long seed) {
+        GameMap map = new GameMap(3, GridType.OCTAGONAL, seed);
+        map.setState(map.indexOf(1, 1), CellState.PLAYER_1);
+        map.setState(map.indexOf(-1, -1), CellState.PLAYER_2);
+        return new OctaGameLogic(map, Player.PLAYER_1, new GameConfig(winCondition, turnLimit, 0, seed));
+    }
+
+    // Answers at once with a random owned cell, or resigns with none left
+    private static AsyncMoveProvider random(OctaGameLogic logic, Player player, long seed) {
+        RandomMoveProvider provider = new RandomMoveProvider(logic.getGameMap(), player, new SplittableRandom(seed));
+        return (mover, deadline) -> CompletableFuture.completedFuture(provider.getNextMove());
+    }
+
+    /** Never answers on its own and keeps every request it was given. */
+    private static final class StalledProvider implements AsyncMoveProvider {
+        final List<CompletableFuture<Coordinate>> requests = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<Coordinate> requestMove(Player player, long deadline) {
+            CompletableFuture<Coordinate> move = new CompletableFuture<>();
+            requests.add(move);
+            return move;
+        }
+    }
+
+    /** Records the scheduler's messages, which arrive on its threads. */
+    private static final class RecordingView implements GameView {
+        final List<String> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void printBoard(GameMap map) {
+        }
+
+        @Override
+        public void displayMessage(String message) {
+            messages.add(message);
+        }
+    }
+
+    @Test
+    void stalledProvider_ShouldForfeitOnMoveTimeAndBeCancelled() throws Exception {
+        OctaGameLogic logic = newGame(WinCondition.ELIMINATION, 50, 1L);
+        StalledProvider stalled = new StalledProvider();
+
+        GameResult result = scheduler.play(logic, NullView.INSTANCE, stalled, random(logic, Player.PLAYER_2, 2L),
+                TimeControl.perMove(Duration.ofMillis(50), TimeControl.TimeoutAction.FORFEIT)).get(10, TimeUnit.SECONDS);
+
+        assertEquals(Player.PLAYER_2, result.getWinner());
+        assertEquals("on move time", result.getReason());
+        assertEquals(1, stalled.requests.size());
+        assertTrue(stalled.requests.get(0).isCancelled(), "The timed-out request should be cancelled");
+        assertEquals(0, scheduler.getActiveGameCount());
+    }
+
+    @Test
+    void suddenDeath_ShouldFlagThePlayerWhoseClockRunsOut() throws Exception {
+        OctaGameLogic logic = newGame(WinCondition.TURN_LIMIT_MAJORITY, 1000, 3L);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AsyncMoveProvider sleeper = AsyncMoveProvider.fromBlocking(() -> {
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+
+        GameResult result = scheduler.play(logic, NullView.INSTANCE, random(logic, Player.PLAYER_1, 4L), sleeper,
+                TimeControl.suddenDeath(Duration.ofMillis(100))).get(10, TimeUnit.SECONDS);
+
+        assertEquals(Player.PLAYER_1, result.getWinner());
+        assertEquals("on time", result.getReason());
+        assertEquals(1, logic.getTurnCount());
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS), "The blocking provider should be interrupted");
+    }
+
+    @Test
+    void defaultMoveAction_ShouldKeepPlayingForStalledPlayers() throws Exception {
+        OctaGameLogic logic = newGame(WinCondition.TURN_LIMIT_MAJORITY, 6, 5L);
+        StalledProvider stalled = new StalledProvider();
+        RecordingView view = new RecordingView();
+
+        GameResult result = scheduler.play(logic, view, stalled, stalled,
+                TimeControl.perMove(Duration.ofMillis(10), TimeControl.TimeoutAction.DEFAULT_MOVE)).get(10, TimeUnit.SECONDS);
+
+        assertNotNull(result);
+        assertEquals(6, logic.getTurnCount());
+        assertEquals(6, stalled.requests.size());
+        assertTrue(stalled.requests.stream().allMatch(CompletableFuture::isCancelled));
+        assertEquals(6, view.messages.stream().filter(message -> message.contains("default move")).count());
+    }
+
+    @Test
+    void invalidMove_ShouldBeRequestedAgainWithinTheSameTurn() throws Exception {
+        OctaGameLogic logic = newGame(WinCondition.TURN_LIMIT_MAJORITY, 2, 6L);
+        List<Coordinate> answers = new ArrayList<>(List.of(Coordinate.of(0, 3), Coordinate.of(-1, -1), Coordinate.of(1, 1)));
+        AsyncMoveProvider scripted = (player, deadline) -> CompletableFuture.completedFuture(answers.remove(0));
+        RecordingView view = new RecordingView();
+
+        scheduler.play(logic, view, scripted, random(logic, Player.PLAYER_2, 7L), TimeControl.UNLIMITED)
+                .get(10, TimeUnit.SECONDS);
+
+        assertTrue(answers.isEmpty(), "Both invalid moves should have been retried");
+        assertEquals(2, view.messages.stream().filter(message -> message.startsWith("Invalid move")).count());
+        assertEquals(2, logic.getTurnCount());
+    }
+
+    @Test
+    void cancellingAGame_ShouldCancelItsPendingRequest() throws Exception {
+        OctaGameLogic logic = newGame(WinCondition.ELIMINATION, 50, 8L);
+        StalledProvider stalled = new StalledProvider();
+
+        CompletableFuture<GameResult> game = scheduler.play(logic, NullView.INSTANCE, stalled, stalled, TimeControl.UNLIMITED);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (stalled.requests.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, stalled.requests.size());
+        assertEquals(1, scheduler.getActiveGameCount());
+
+        game.cancel(false);
+        assertTrue(stalled.requests.get(0).isCancelled());
+        assertEquals(0, scheduler.getActiveGameCount());
+        assertNull(logic.getGameResult());
+    }
+
+    @Test
+    void cancellingAGameDuringARequest_ShouldCancelThatRequest() throws Exception {
+        OctaGameLogic logic = newGame(WinCondition.ELIMINATION, 50, 9L);
+        CompletableFuture<CompletableFuture<GameResult>> game = new CompletableFuture<>();
+        StalledProvider stalled = new StalledProvider();
+        // The game is cancelled after the request was made but before the scheduler has seen it
+        AsyncMoveProvider cancelling = (player, deadline) -> {
+            CompletableFuture<Coordinate> move = stalled.requestMove(player, deadline);
+            game.join().cancel(false);
+            return move;
+        };
+
+        game.complete(scheduler.play(logic, NullView.INSTANCE, cancelling, cancelling, TimeControl.UNLIMITED));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((stalled.requests.isEmpty() || !stalled.requests.get(0).isCancelled()) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertEquals(1, stalled.requests.size());
+        assertTrue(stalled.requests.get(0).isCancelled(), "The request made while cancelling should be cancelled");
+        assertEquals(0, scheduler.getActiveGameCount());
+    }
+
+    @Test
+    void oneThread_ShouldKeepManyWaitingGamesMoving() throws Exception {
+        // Every move arrives 20ms after it is requested; one game at a time would take 500 * 10 * 20ms
+        int games = 500;
+        List<CompletableFuture<GameResult>> results = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            OctaGameLogic logic = newGame(WinCondition.TURN_LIMIT_MAJORITY, 10, i);
+            AsyncMoveProvider[] slow = new AsyncMoveProvider[2];
+            for (Player player : Player.values()) {
+                AsyncMoveProvider instant = random(logic, player, 31L * i + player.ordinal());
+                slow[player.ordinal()] = (mover, deadline) -> instant.requestMove(mover, deadline)
+                        .thenApplyAsync(move -> move, CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS));
+            }
+            results.add(scheduler.play(logic, NullView.INSTANCE, slow[0], slow[1],
+                    TimeControl.withIncrement(Duration.ofSeconds(30), Duration.ofMillis(100))));
+        }
+
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        for (CompletableFuture<GameResult> result : results) {
+            assertNotNull(result.get());
+        }
+        assertEquals(0, scheduler.getActiveGameCount());
+    }
+
+    @Test
+    void gameClock_ShouldChargeTurnsAndAddTheIncrement() {
+        GameClock clock = new GameClock(TimeControl.withIncrement(Duration.ofMillis(100), Duration.ofMillis(10)));
+        long ms = 1_000_000L;
+
+        assertEquals(1_000 + 100 * ms, clock.deadline(Player.PLAYER_1, 1_000));
+        assertTrue(clock.punch(Player.PLAYER_1, 30 * ms));
+        assertEquals(Duration.ofMillis(80), clock.getRemaining(Player.PLAYER_1));
+        assertEquals(Duration.ofMillis(100), clock.getRemaining(Player.PLAYER_2));
+
+        assertFalse(clock.punch(Player.PLAYER_1, 80 * ms));
+        assertEquals(Duration.ZERO, clock.getRemaining(Player.PLAYER_1));
+
+        GameClock limited = new GameClock(new TimeControl(Duration.ofSeconds(1), Duration.ZERO, Duration.ofMillis(50),
+                TimeControl.TimeoutAction.DEFAULT_MOVE));
+        assertEquals(50 * ms, limited.deadline(Player.PLAYER_2, 0));
+        assertEquals(Long.MAX_VALUE, new GameClock(TimeControl.UNLIMITED).deadline(Player.PLAYER_1, 0));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeControl(Duration.ZERO, Duration.ofMillis(1), Duration.ZERO, TimeControl.TimeoutAction.FORFEIT));
+    }
+}
@@ -0,0 +1,178 @@
+package tech.yump.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.yump.model.Player;
+import tech.yump.util.Coordinate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameServerTest {
+
+    // Every game is generated from this seed, on whose boards the scripted opening moves end no game
+    private static final long SEED = 1L;
+
+    private GameServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = GameServer.start(0, () -> SEED);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    /** A loopback client that reads protocol lines, skipping MSG, TURN and MOVED lines unless asked for them. */
+    private static final class Client implements AutoCloseable {
+        final Socket socket;
+        final BufferedReader in;
+        final PrintWriter out;
+
+        Client(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setSoTimeout(5000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        }
+
+        void send(String line) {
+            out.println(line);
+        }
+
+        String expect(String prefix) throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(prefix)) {
+                    return line;
+                }
+                if (!line.startsWith("MSG ") && !line.startsWith("TURN ") && !line.startsWith("MOVED ")) {
+                    fail("Expected " + prefix + " but got " + line);
+                }
+            }
+            return fail("Connection closed while waiting for " + prefix);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    /** A seat that only queues what it is sent. */
+    private static final class QueueSeat implements Seat {
+        final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(String line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void sessionEnded(GameSession session) {
+        }
+    }
+
+    @Test
+    void loopbackClients_ShouldPlayAndAbortAGame() throws IOException {
+        try (Client first = new Client(server.getPort()); Client second = new Client(server.getPort())) {
+            first.send("NEW 2");
+            String game = first.expect("GAME ");
+            String[] parts = game.split(" ");
+            assertEquals("PLAYER_1", parts[2]);
+            assertEquals("2", parts[3]);
+            assertEquals(Long.toString(SEED), parts[4]);
+            second.send("JOIN " + parts[1]);
+            assertEquals("GAME " + parts[1] + " PLAYER_2 2 " + SEED, second.expect("GAME "));
+            assertEquals("TURN PLAYER_1", first.expect("TURN "));
+            assertEquals("TURN PLAYER_1", second.expect("TURN "));
+
+            // PLAYER_2 may queue one move ahead of its turn, but not two
+            second.send("MOVE -1 -1");
+            second.send("MOVE -1 -1");
+            assertEquals("ERR A move is already pending", second.expect("ERR "));
+
+            first.send("MOVE 1 1");
+            assertEquals("MOVED PLAYER_1 1 1", first.expect("MOVED "));
+            assertEquals("MOVED PLAYER_1 1 1", second.expect("MOVED "));
+            assertEquals("TURN PLAYER_2", first.expect("TURN "));
+            // The queued move is played as soon as it is PLAYER_2's turn
+            assertEquals("MOVED PLAYER_2 -1 -1", first.expect("MOVED "));
+
+            first.send("QUIT");
+            assertEquals("END ABORTED", second.expect("END "));
+        }
+        assertNull(server.getSession(1));
+        assertEquals(0, server.getSessionCount());
+    }
+
+    @Test
+    void commands_ShouldBeValidated() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            client.send("MOVE 0 0");
+            assertEquals("ERR Not in a game", client.expect("ERR "));
+            client.send("JOIN 99");
+            assertEquals("ERR No game 99", client.expect("ERR "));
+            client.send("NEW 1000");
+            assertTrue(client.expect("ERR ").startsWith("ERR Board size"));
+            client.send("NEW");
+            client.expect("GAME ");
+            client.send("NEW");
+            assertTrue(client.expect("ERR ").startsWith("ERR Already in game"));
+            client.send("DANCE");
+            assertEquals("ERR Unknown command DANCE", client.expect("ERR "));
+        }
+    }
+
+    @Test
+    void thousandsOfIdleGames_ShouldEachWaitOnAVirtualThread() throws InterruptedException, IOException {
+        int games = 10_000;
+        List<QueueSeat> firstSeats = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            GameSession session = server.createSession(GameServer.DEFAULT_BOARD_SIZE);
+            QueueSeat first = new QueueSeat();
+            assertTrue(session.seat(Player.PLAYER_1, first));
+            assertTrue(session.seat(Player.PLAYER_2, new QueueSeat()));
+            firstSeats.add(first);
+        }
+        for (QueueSeat seat : firstSeats) {
+            assertEquals("TURN PLAYER_1", pollUntil(seat, "TURN "));
+        }
+        assertEquals(games, server.getSessionCount());
+
+        // Every game is parked waiting for a move; one of them still plays when asked
+        GameSession last = server.getSession(games);
+        assertTrue(last.isStarted());
+        assertTrue(last.submitMove(Player.PLAYER_1, Coordinate.pack(1, 1)));
+        assertEquals("TURN PLAYER_2", pollUntil(firstSeats.get(games - 1), "TURN "));
+
+        server.close();
+        assertEquals(0, server.getSessionCount());
+        assertEquals("END ABORTED", pollUntil(firstSeats.get(0), "END "));
+    }
+
+    private static String pollUntil(QueueSeat seat, String prefix) throws InterruptedException {
+        String line;
+        while ((line = seat.lines.poll(5, TimeUnit.SECONDS)) != null) {
+            if (line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        return fail("Timed out waiting for " + prefix);
+    }
+}
@@ -0,0 +1,253 @@
+package tech.yump.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.yump.core.ChangeSet;
+import tech.yump.core.GameMap;
+import tech.yump.core.OctaGameLogic;
+import tech.yump.engine.GameConfig;
+import tech.yump.model.CellState;
+import tech.yump.model.Direction;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NioGameServerTest {
+
+    // Every game is generated from this seed, on whose boards the opening move (1, 1) ends no game
+    private static final long SEED = 1L;
+
+    private NioGameServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = NioGameServer.start(0, () -> SEED);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    /** A blocking loopback client speaking the binary protocol. */
+    private static final class Client implements AutoCloseable {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(1 << 12).flip();
+        final ByteBuffer out = ByteBuffer.allocate(64);
+
+        Client(int port) throws IOException {
+            channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        }
+
+        void join(long gameId, int size) throws IOException {
+            out.clear();
+            out.put((byte) 0); // Length, patched below
+            out.put(BinaryProtocol.JOIN);
+            BinaryProtocol.putVarint(out, gameId);
+            if (gameId == 0) {
+                BinaryProtocol.putVarint(out, size);
+            }
+            sendFrame();
+        }
+
+        void move(int x, int y) throws IOException {
+            out.clear();
+            out.put((byte) 0);
+            out.put(BinaryProtocol.MOVE);
+            BinaryProtocol.putVarint(out, BinaryProtocol.zigzag(x));
+            BinaryProtocol.putVarint(out, BinaryProtocol.zigzag(y));
+            sendFrame();
+        }
+
+        void sendRaw(byte... bytes) throws IOException {
+            channel.write(ByteBuffer.wrap(bytes));
+        }
+
+        private void sendFrame() throws IOException {
+            out.put(0, (byte) (out.position() - 1));
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+
+        /** Reads the next frame and returns its body, positioned after the type byte. */
+        ByteBuffer expect(byte type) throws IOException {
+            int length;
+            while ((length = BinaryProtocol.frameLength(in, Integer.MAX_VALUE)) == BinaryProtocol.INCOMPLETE
+                    || in.remaining() < BinaryProtocol.varintSize(length) + length) {
+                fill();
+            }
+            BinaryProtocol.getVarint(in);
+            ByteBuffer body = in.slice(in.position(), length);
+            in.position(in.position() + length);
+            assertEquals(type, body.get(), "frame type");
+            return body;
+        }
+
+        byte expectError() throws IOException {
+            return expect(BinaryProtocol.ERROR).get();
+        }
+
+        private void fill() throws IOException {
+            in.compact();
+            int read = channel.read(in);
+            in.flip();
+            if (read < 0) {
+                throw new EOFException("Server closed the connection");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /** The JOINED payload. */
+    private record Joined(long gameId, int player, int size, long seed) {
+        static Joined read(ByteBuffer body) {
+            return new Joined(BinaryProtocol.getVarint(body), body.get(), (int) BinaryProtocol.getVarint(body), body.getLong());
+        }
+    }
+
+    // Applies a DELTA body to a client-side board and returns the number of changes
+    private static int applyDelta(ByteBuffer body, GameMap board, Player mover, ChangeSet expected) {
+        assertEquals(mover.ordinal(), body.get());
+        BinaryProtocol.getVarint(body); // Turn count
+        assertEquals(expected.getTermination().ordinal(), body.get());
+        int count = (int) BinaryProtocol.getVarint(body);
+        assertEquals(expected.size(), count);
+        for (int i = 0; i < count; i++) {
+            int index = (int) BinaryProtocol.getVarint(body);
+            int packed = body.get();
+            assertEquals(expected.getIndex(i), index);
+            board.setState(index, CellState.values()[packed >>> 3]);
+            board.setArrowDirection(index, Direction.fromValue(packed & 7));
+        }
+        assertFalse(body.hasRemaining());
+        return count;
+    }
+
+    @Test
+    void twoClients_ShouldPlayOverTheBinaryProtocol() throws IOException {
+        try (Client first = new Client(server.getPort()); Client second = new Client(server.getPort())) {
+            first.join(0, 3);
+            Joined created = Joined.read(first.expect(BinaryProtocol.JOINED));
+            assertEquals(Player.PLAYER_1.ordinal(), created.player());
+            assertEquals(3, created.size());
+            first.move(1, 1);
+            assertEquals(BinaryProtocol.NOT_STARTED, first.expectError());
+
+            second.join(created.gameId(), 0);
+            Joined joined = Joined.read(second.expect(BinaryProtocol.JOINED));
+            assertEquals(SEED, created.seed());
+            assertEquals(new Joined(created.gameId(), Player.PLAYER_2.ordinal(), 3, SEED), joined);
+            first.expect(BinaryProtocol.START);
+            second.expect(BinaryProtocol.START);
+            assertEquals(1, server.getGameCount());
+
+            second.move(-1, -1);
+            assertEquals(BinaryProtocol.NOT_YOUR_TURN, second.expectError());
+            first.move(0, 3);
+            assertEquals(BinaryProtocol.INVALID_MOVE, first.expectError());
+
+            // Each client rebuilds the board from the seed and follows the deltas
+            GameMap firstBoard = GameServer.openingBoard(3, created.seed());
+            GameMap secondBoard = GameServer.openingBoard(3, created.seed());
+            OctaGameLogic reference = new OctaGameLogic(GameServer.openingBoard(3, created.seed()), Player.PLAYER_1,
+                    new GameConfig(WinCondition.ELIMINATION, 50, 0, created.seed()));
+
+            ChangeSet changes = reference.makeMove(reference.getGameMap().indexOf(1, 1), Player.PLAYER_1);
+            first.move(1, 1);
+            applyDelta(first.expect(BinaryProtocol.DELTA), firstBoard, Player.PLAYER_1, changes);
+            applyDelta(second.expect(BinaryProtocol.DELTA), secondBoard, Player.PLAYER_1, changes);
+            assertEquals(reference.getGameMap().getHash(), firstBoard.getHash());
+            assertEquals(reference.getGameMap().getHash(), secondBoard.getHash());
+
+            first.channel.close(); // Disconnect in the middle of the game
+            assertEquals(BinaryProtocol.ABORTED, second.expect(BinaryProtocol.RESULT).get());
+            assertEquals(0, server.getGameCount());
+        }
+    }
+
+    @Test
+    void malformedFrames_ShouldBeRejected() throws IOException {
+        try (Client client = new Client(server.getPort())) {
+            client.join(0, GameServer.MAX_BOARD_SIZE + 1);
+            assertEquals(BinaryProtocol.INVALID_SIZE, client.expectError());
+            client.join(42, 0);
+            assertEquals(BinaryProtocol.NO_SUCH_GAME, client.expectError());
+            client.move(0, 0);
+            assertEquals(BinaryProtocol.NOT_IN_GAME, client.expectError());
+
+            client.sendRaw((byte) 2, (byte) 99, (byte) 0); // Unknown frame type
+            assertEquals(BinaryProtocol.MALFORMED_FRAME, client.expectError());
+            assertThrows(EOFException.class, () -> client.expect(BinaryProtocol.ERROR));
+        }
+    }
+
+    @Test
+    void malformedMove_ShouldBeRejectedWithoutBeingPlayed() throws IOException {
+        try (Client first = new Client(server.getPort()); Client second = new Client(server.getPort())) {
+            first.join(0, 3);
+            Joined created = Joined.read(first.expect(BinaryProtocol.JOINED));
+            second.join(created.gameId(), 0);
+            second.expect(BinaryProtocol.JOINED);
+            first.expect(BinaryProtocol.START);
+            second.expect(BinaryProtocol.START);
+
+            // A valid move at (1, 1) followed by a stray byte
+            first.sendRaw((byte) 4, BinaryProtocol.MOVE, (byte) BinaryProtocol.zigzag(1), (byte) BinaryProtocol.zigzag(1), (byte) 0);
+
+            assertEquals(BinaryProtocol.MALFORMED_FRAME, first.expectError());
+            assertEquals(BinaryProtocol.ABORTED, second.expect(BinaryProtocol.RESULT).get(), "No DELTA may precede the abort");
+        }
+    }
+
+    @Test
+    void oneReactor_ShouldServeThousandsOfConnections() throws IOException {
+        int games = 1000;
+        List<Client> clients = new ArrayList<>(2 * games);
+        try {
+            for (int i = 0; i < games; i++) {
+                Client first = new Client(server.getPort());
+                Client second = new Client(server.getPort());
+                clients.add(first);
+                clients.add(second);
+                first.join(0, 2);
+            }
+            for (int i = 0; i < games; i++) {
+                Joined created = Joined.read(clients.get(2 * i).expect(BinaryProtocol.JOINED));
+                clients.get(2 * i + 1).join(created.gameId(), 0);
+            }
+            for (int i = 0; i < games; i++) {
+                clients.get(2 * i + 1).expect(BinaryProtocol.JOINED);
+                clients.get(2 * i).expect(BinaryProtocol.START);
+                clients.get(2 * i).move(1, 1);
+            }
+            for (int i = 0; i < games; i++) {
+                clients.get(2 * i).expect(BinaryProtocol.DELTA);
+                clients.get(2 * i + 1).expect(BinaryProtocol.START);
+                clients.get(2 * i + 1).expect(BinaryProtocol.DELTA);
+            }
+            assertEquals(2 * games, server.getConnectionCount());
+            assertEquals(games, server.getGameCount());
+        } finally {
+            for (Client client : clients) {
+                client.close();
+            }
+        }
+    }
+}
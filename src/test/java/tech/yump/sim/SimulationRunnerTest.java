@@ -0,0 +1,114 @@
+package tech.yump.sim;
+
+import org.junit.jupiter.api.Test;
+import tech.yump.core.GameMap;
+import tech.yump.engine.GameConfig;
+import tech.yump.model.CellState;
+import tech.yump.model.GridType;
+import tech.yump.model.Player;
+import tech.yump.model.WinCondition;
+import tech.yump.util.Coordinate;
+
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationRunnerTest {
+
+    private static SimulationStats simulate(int games, long seed, int parallelism) {
+        GameConfig gameConfig = new GameConfig(WinCondition.TURN_LIMIT_MAJORITY, 40);
+        SimulationConfig config = new SimulationConfig(games, 4, gameConfig, false, seed, 40, parallelism);
+        return new SimulationRunner(config, RandomMoveProvider.factory(), RandomMoveProvider.factory()).run();
+    }
+
+    /** Test Objective: Verify that every game of the batch is played and accounted for exactly once. */
+    @Test
+    void run_ShouldAccountForEveryGame() {
+        SimulationStats stats = simulate(500, 7L, 4);
+
+        assertEquals(500, stats.getGames());
+        assertEquals(500, stats.getWins(Player.PLAYER_1) + stats.getWins(Player.PLAYER_2) + stats.getTies());
+        assertTrue(stats.getLongestGame() <= 40, "No game may exceed the turn limit");
+        assertTrue(stats.getMoves() > 0 && stats.getMoves() == stats.getTotalTurns(),
+                   "Every turn should record exactly one chain");
+        long bucketTotal = 0;
+        for (int i = 0; i < 32; i++) {
+            bucketTotal += stats.getChainHistogramBucket(i);
+        }
+        assertEquals(stats.getMoves(), bucketTotal, "The chain histogram should cover every move");
+    }
+
+    /** Test Objective: Verify that a batch is reproducible from its seed, independent of the thread count. */
+    @Test
+    void run_SameSeed_ShouldGiveSameResultsOnAnyThreadCount() {
+        SimulationStats sequential = simulate(300, 42L, 1);
+        SimulationStats parallel = simulate(300, 42L, 4);
+
+        assertEquals(sequential.getWins(Player.PLAYER_1), parallel.getWins(Player.PLAYER_1));
+        assertEquals(sequential.getWins(Player.PLAYER_2), parallel.getWins(Player.PLAYER_2));
+        assertEquals(sequential.getTotalTurns(), parallel.getTotalTurns());
+        assertEquals(sequential.getCapturedCells(), parallel.getCapturedCells());
+        assertEquals(sequential.getLongestChain(), parallel.getLongestChain());
+    }
+
+    /** Test Objective: Verify that a side offering no valid move loses by forfeit. */
+    @Test
+    void run_ProviderWithoutMoves_ShouldForfeit() {
+        SimulationConfig config = new SimulationConfig(10, 3,
+                new GameConfig(WinCondition.ELIMINATION, 50), false, 1L, 100, 2);
+        MoveProviderFactory passive = (map, logic, player, random) -> () -> null;
+
+        SimulationStats stats = new SimulationRunner(config, passive, RandomMoveProvider.factory()).run();
+
+        assertEquals(10, stats.getForfeits());
+        assertEquals(10, stats.getWins(Player.PLAYER_2));
+        assertEquals(0, stats.getTotalTurns());
+    }
+
+    /** Test Objective: Verify that every game reports the seed its board was generated from. */
+    @Test
+    void run_ShouldGiveEachGameTheSeedOfItsBoard() {
+        SimulationConfig config = new SimulationConfig(20, 3,
+                new GameConfig(WinCondition.TURN_LIMIT_MAJORITY, 10), false, 9L, 10, 2);
+        Set<Long> seeds = ConcurrentHashMap.newKeySet();
+        MoveProviderFactory checking = (map, logic, player, random) -> {
+            long seed = logic.getConfig().getSeed();
+            GameMap fresh = new GameMap(3, GridType.OCTAGONAL, seed);
+            for (int index = 0; index < map.getTotalCellCount(); index++) {
+                assertEquals(fresh.getArrowDirection(index), map.getArrowDirection(index), "Arrow of cell " + index);
+            }
+            seeds.add(seed);
+            return RandomMoveProvider.factory().create(map, logic, player, random);
+        };
+
+        new SimulationRunner(config, checking, checking).run();
+
+        assertEquals(20, seeds.size(), "Every game should have its own board");
+    }
+
+    /** Test Objective: Verify that the random bot picks each owned cell equally often, however the cells are spread. */
+    @Test
+    void randomMoveProvider_ShouldChooseOwnedCellsUniformly() {
+        GameMap map = new GameMap(4);
+        // Owned cells separated by gaps of very different lengths; a scan from a random start would favour cells after long gaps
+        int[] owned = {0, 1, 2, 40, 80};
+        for (int index : owned) {
+            map.setState(index, CellState.PLAYER_1);
+        }
+        RandomMoveProvider provider = new RandomMoveProvider(map, Player.PLAYER_1, new SplittableRandom(11L));
+
+        int samples = 50_000;
+        int[] counts = new int[map.getTotalCellCount()];
+        for (int i = 0; i < samples; i++) {
+            Coordinate move = provider.getNextMove();
+            counts[map.indexOf(move.getX(), move.getY())]++;
+        }
+        int expected = samples / owned.length;
+        for (int index : owned) {
+            assertTrue(Math.abs(counts[index] - expected) < expected / 10,
+                       "Cell " + index + " was chosen " + counts[index] + " times, expected about " + expected);
+        }
+    }
+}
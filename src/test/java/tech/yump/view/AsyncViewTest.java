@@ -0,0 +1,98 @@
+package tech.yump.view;
+
+import org.junit.jupiter.api.Test;
+import tech.yump.core.GameMap;
+import tech.yump.model.CellState;
+import tech.yump.model.GridType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncViewTest {
+
+    /** Records what it is asked to show; the first board blocks until released. */
+    private static final class RecordingView implements GameView {
+        final CountDownLatch drawing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> events = new ArrayList<>();
+        final List<GameMap> boards = new ArrayList<>();
+        boolean closed;
+
+        @Override
+        public void printBoard(GameMap map) {
+            events.add("board " + Long.toHexString(map.getHash()));
+            boards.add(map);
+            drawing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void displayMessage(String message) {
+            events.add(message);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Test
+    void slowTarget_ShouldDropIntermediateFramesButKeepEveryMessage() throws InterruptedException {
+        GameMap map = new GameMap(3, GridType.OCTAGONAL, 7L);
+        RecordingView target = new RecordingView();
+        AsyncView view = new AsyncView(target);
+
+        view.printBoard(map);
+        long firstHash = map.getHash();
+        target.drawing.await();
+        // The target is stuck on the first board; none of this may wait for it
+        for (int i = 0; i < map.getTotalCellCount(); i++) {
+            map.setState(i, CellState.PLAYER_1);
+            view.displayMessage("move " + i);
+            view.printBoard(map);
+        }
+        target.release.countDown();
+        view.close();
+
+        int cells = map.getTotalCellCount();
+        List<String> expected = new ArrayList<>();
+        expected.add("board " + Long.toHexString(firstHash));
+        for (int i = 0; i < cells; i++) {
+            expected.add("move " + i);
+        }
+        expected.add("board " + Long.toHexString(map.getHash()));
+        assertEquals(expected, target.events);
+        assertEquals(cells - 1, view.getDroppedFrameCount());
+        assertEquals(cells, target.boards.get(1).getStateCount(CellState.PLAYER_1));
+        assertSame(target.boards.get(0), target.boards.get(1), "Frames should be drawn on one reused board");
+        assertTrue(target.closed);
+        assertThrows(IllegalStateException.class, () -> view.displayMessage("late"));
+    }
+
+    @Test
+    void failingTarget_ShouldBeReportedToTheGameThread() {
+        AsyncView view = new AsyncView(new GameView() {
+            @Override
+            public void printBoard(GameMap map) {
+                throw new IllegalStateException("terminal gone");
+            }
+
+            @Override
+            public void displayMessage(String message) {
+            }
+        });
+
+        view.printBoard(new GameMap(1, GridType.OCTAGONAL, 1L));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, view::close);
+        assertEquals("terminal gone", e.getCause().getMessage());
+    }
+}
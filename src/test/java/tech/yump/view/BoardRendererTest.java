@@ -0,0 +1,110 @@
+package tech.yump.view;
+
+import org.junit.jupiter.api.Test;
+import tech.yump.core.GameMap;
+import tech.yump.model.CellState;
+import tech.yump.model.Direction;
+import tech.yump.model.GridType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardRendererTest {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8);
+
+    private String takeOutput() {
+        String text = bytes.toString(StandardCharsets.UTF_8);
+        bytes.reset();
+        return text;
+    }
+
+    @Test
+    void render_WithoutAnsi_ShouldDrawFullFrames() {
+        GameMap map = new GameMap(1, GridType.OCTAGONAL, 1L);
+        for (int i = 0; i < map.getTotalCellCount(); i++) {
+            map.setArrowDirection(i, Direction.EAST);
+        }
+        map.setState(map.indexOf(-1, 1), CellState.PLAYER_1);
+        BoardRenderer renderer = new BoardRenderer(out, false, 24);
+
+        renderer.render(map);
+        String first = takeOutput();
+        renderer.render(map);
+
+        assertEquals("--- Game Board ---\n"
+                + " 1 1→  →  → \n"
+                + " 0  →  →  → \n"
+                + "-1  →  →  → \n"
+                + "   -1  0  1 \n"
+                + "----------------------\n", first);
+        assertEquals(first, takeOutput(), "Without ANSI every frame is drawn in full");
+        assertFalse(first.contains("\u001B"));
+    }
+
+    @Test
+    void render_WithAnsi_ShouldOnlyRepaintChangedCells() {
+        GameMap map = new GameMap(10, GridType.OCTAGONAL, 1L);
+        BoardRenderer renderer = new BoardRenderer(out, true, 40);
+        renderer.render(map);
+        assertTrue(takeOutput().startsWith("\u001B[H\u001B[2J"), "The first frame clears the screen");
+
+        // Act - change two cells
+        map.setState(map.indexOf(-10, 10), CellState.PLAYER_2);
+        map.setArrowDirection(map.indexOf(3, -2), Direction.WEST);
+        renderer.render(map);
+        String diff = takeOutput();
+
+        // Assert - changes are painted in index order (bottom row first). The title is on
+        // row 1 and y = 10 on row 2; a label width of 3 puts x = -10 at column 5.
+        String moved = "\u001B[14;44H ←";
+        String topLeft = "\u001B[2;5H2" + BoardRenderer.arrowGlyph(map.getArrowDirection(map.indexOf(-10, 10)));
+        assertEquals("\u001B7" + moved + topLeft + "\u001B8", diff, "The cursor goes back under the messages");
+
+        renderer.render(map);
+        assertEquals("", takeOutput(), "An unchanged board repaints nothing");
+    }
+
+    @Test
+    void render_WithAnsi_ShouldDrawFullFramesWhenTheBoardIsTallerThanTheTerminal() {
+        // 2 * 10 + 4 rows of board do not leave a free row on a 25-row terminal
+        GameMap map = new GameMap(10, GridType.OCTAGONAL, 1L);
+        BoardRenderer renderer = new BoardRenderer(out, true, 25);
+        renderer.render(map);
+        String first = takeOutput();
+
+        map.setState(map.indexOf(0, 0), CellState.PLAYER_1);
+        renderer.render(map);
+        String second = takeOutput();
+
+        assertFalse(first.contains("\u001B"), "A board that scrolls cannot be repainted in place");
+        assertFalse(second.contains("\u001B"));
+        assertTrue(second.startsWith("--- Game Board ---\n"));
+    }
+
+    @Test
+    void reserveLines_ShouldClearOldMessagesOnlyWhenTheScreenIsFull() {
+        // A 10-row board on 14 rows leaves 3 lines for messages, from row 11
+        GameMap map = new GameMap(3, GridType.OCTAGONAL, 1L);
+        BoardRenderer renderer = new BoardRenderer(out, true, 14);
+        renderer.render(map);
+        takeOutput();
+
+        renderer.reserveLines(1);
+        renderer.reserveLines(2);
+        renderer.render(map);
+        assertEquals("", takeOutput(), "Messages that fit are left alone, even by a new frame");
+
+        renderer.reserveLines(1);
+        assertEquals("\u001B[11;1H\u001B[J", takeOutput(), "The old messages make room for the new one");
+
+        renderer.reserveLines(4);
+        takeOutput();
+        renderer.render(map);
+        assertTrue(takeOutput().startsWith("\u001B[H\u001B[2J"), "Output that scrolled forces a full redraw");
+    }
+}